@@ -1,12 +1,10 @@
 package appDomain;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import shapes.*;
+import java.util.function.IntFunction;
 
 /**
  * Complexity and Sorting - Assignemnt 1
@@ -56,6 +54,8 @@ public class AppDriver
      * Parses command line arguments, loads shapes, performs sorting, and displays results.
      *
      * @param args command line arguments: -f<filename> -t<compare_type> -s<sort_algorithm>
+     *             [-w<warmup_iterations>] [-i<measured_iterations>] [-p<threads>] [-c[storage]]
+     *             [-m<memory_budget>] [-d<temp_dir>] [-o<output>] [-k<count>] [-x] [-a<append_file>]
      */
         try {
             CommandLineArgs cmdArgs = parseArguments(args);
@@ -66,7 +66,33 @@ public class AppDriver
                 return;
             }
             
-            Shape[] shapes = loadShapesFromFile(cmdArgs.filename);
+            // Size the worker pools of the parallel loader and algorithms
+            if (cmdArgs.threads > 0) {
+                Sorts.setParallelism(cmdArgs.threads);
+            }
+            
+            if (cmdArgs.topK != 0) {
+                runTopK(cmdArgs);
+                return;
+            }
+            if (cmdArgs.appendFilename != null) {
+                runIndexed(cmdArgs);
+                return;
+            }
+            if (cmdArgs.memoryBudget != 0) {
+                runExternal(cmdArgs);
+                return;
+            }
+            if ("table".equals(cmdArgs.storage)) {
+                runColumnar(cmdArgs);
+                return;
+            }
+            if ("offheap".equals(cmdArgs.storage)) {
+                runOffHeap(cmdArgs);
+                return;
+            }
+            
+            Shape[] shapes = loadShapesFromFile(cmdArgs.filename, Sorts.getParallelism());
             
             if (shapes == null || shapes.length == 0) {
                 System.out.println("No shapes loaded from file.");
@@ -78,12 +104,17 @@ public class AppDriver
             // Get the appropriate comparator based on user selection
             Comparator<Shape> comparator = getComparator(cmdArgs.compareType);
             
+            if (cmdArgs.checkpointsOnly) {
+                runCheckpointSelection(cmdArgs, shapes, comparator);
+                return;
+            }
+            
             // Perform sorting and measure execution time
-            long timeNanos = Sorts.benchmarkSort(shapes, comparator, cmdArgs.sortType);
-            double timeMillis = timeNanos / 1_000_000.0;
+            SortStatistics statistics = Sorts.benchmarkSort(shapes, comparator, cmdArgs.sortType,
+                cmdArgs.warmupIterations, cmdArgs.measuredIterations);
             
             // Display sorting results and performance metrics
-            displayResults(cmdArgs, timeMillis);
+            displayResults(cmdArgs, statistics);
             
             // Print checkpoint shapes for verification
             printCheckpoints(shapes);
@@ -95,6 +126,197 @@ public class AppDriver
         }
     }
     
+    /**
+     * Loads, sorts and prints the shapes as a columnar table. Shape objects are
+     * only created for the checkpoints that are printed.
+     *
+     * @param cmdArgs the validated command line arguments
+     */
+    private static void runColumnar(CommandLineArgs cmdArgs) {
+        ShapeTable table = loadTableFromFile(cmdArgs.filename, Sorts.getParallelism());
+        
+        if (table == null || table.size() == 0) {
+            System.out.println("No shapes loaded from file.");
+            return;
+        }
+        
+        System.out.println("Loaded " + table.size() + " shapes from " + cmdArgs.filename + " into a columnar table");
+        
+        MetricComparator comparator = (MetricComparator) getComparator(cmdArgs.compareType);
+        
+        SortStatistics statistics = Sorts.benchmarkSort(table, comparator, cmdArgs.sortType,
+            cmdArgs.warmupIterations, cmdArgs.measuredIterations);
+        
+        displayResults(cmdArgs, statistics);
+        
+        printCheckpoints(table.size(), table::get);
+    }
+    
+    /**
+     * Loads, sorts and prints the shapes held in off-heap storage. Binary files
+     * are read straight into the store; text files are parsed in chunks that
+     * are moved off the heap as they are finished.
+     *
+     * @param cmdArgs the validated command line arguments
+     */
+    private static void runOffHeap(CommandLineArgs cmdArgs) {
+        OffHeapShapeStore store = BinaryShapeFile.isBinary(cmdArgs.filename)
+            ? BinaryShapeFile.loadStore(cmdArgs.filename)
+            : MappedShapeLoader.loadStore(cmdArgs.filename, Sorts.getParallelism());
+        
+        if (store == null || store.size() == 0) {
+            System.out.println("No shapes loaded from file.");
+            return;
+        }
+        
+        System.out.println("Loaded " + store.size() + " shapes from " + cmdArgs.filename + " into off-heap storage");
+        
+        Comparator<Shape> comparator = getComparator(cmdArgs.compareType);
+        
+        SortStatistics statistics = Sorts.benchmarkSort(store, comparator, cmdArgs.sortType,
+            cmdArgs.warmupIterations, cmdArgs.measuredIterations);
+        
+        displayResults(cmdArgs, statistics);
+        
+        // One flyweight view is moved to every printed position
+        printCheckpoints(store.size(), store.view()::moveTo);
+    }
+    
+    /**
+     * Sorts the file in memory-bounded runs that are merged into a sorted
+     * binary shape file. The checkpoints are printed as the merged shapes are
+     * written, so the sorted data is never held in memory as a whole.
+     *
+     * @param cmdArgs the validated command line arguments
+     * @throws IOException if a file cannot be read or written
+     */
+    private static void runExternal(CommandLineArgs cmdArgs) throws IOException {
+        String output = cmdArgs.output != null ? cmdArgs.output : defaultSortedOutput(cmdArgs.filename);
+        Comparator<Shape> comparator = getComparator(cmdArgs.compareType);
+        
+        if (cmdArgs.warmupIterations != 0 || cmdArgs.measuredIterations != 1) {
+            System.err.println("Warning: -w and -i are ignored by the external sort");
+        }
+        
+        System.out.println("Sorting " + cmdArgs.filename + " externally with a memory budget of "
+            + formatBytes(cmdArgs.memoryBudget));
+        
+        ExternalShapeSorter.Result result = ExternalShapeSorter.sort(cmdArgs.filename, output, comparator,
+            cmdArgs.sortType, cmdArgs.memoryBudget, cmdArgs.tempDir, AppDriver::printCheckpoint);
+        
+        if (result.getShapes() == 0) {
+            System.out.println("No shapes loaded from file.");
+            return;
+        }
+        
+        System.out.println("\nSorting completed using external merge with " + cmdArgs.sortType + " sort runs");
+        System.out.println("Sorted by: " + getCompareTypeDescription(cmdArgs.compareType));
+        System.out.println("Runs: " + result.getRuns() + ", merge passes: " + result.getMergePasses());
+        System.out.printf("Run sorting time: %.2f milliseconds%n", toMillis(result.getRunSortNanos()));
+        System.out.printf("Total time: %.2f milliseconds%n", toMillis(result.getTotalNanos()));
+        System.out.println("Wrote " + result.getShapes() + " sorted shapes to " + output);
+    }
+    
+    /**
+     * Places only the checkpoint shapes at their sorted indices and prints
+     * them. The output is the same as after a stable sort of the whole array.
+     *
+     * @param cmdArgs the validated command line arguments
+     * @param shapes the loaded shapes
+     * @param comparator the comparator to order them by
+     */
+    private static void runCheckpointSelection(CommandLineArgs cmdArgs, Shape[] shapes, Comparator<Shape> comparator) {
+        int[] ranks = MultiSelect.checkpointRanks(shapes.length);
+        
+        SortStatistics statistics = MultiSelect.benchmarkSelect(shapes, comparator, ranks,
+            cmdArgs.warmupIterations, cmdArgs.measuredIterations);
+        
+        System.out.println("\nSelected " + ranks.length + " checkpoint shapes using multi-quickselect");
+        System.out.println("Sorted by: " + getCompareTypeDescription(cmdArgs.compareType));
+        printStatistics(statistics);
+        
+        printCheckpoints(shapes);
+    }
+    
+    /**
+     * Streams the file through a bounded heap and prints the K largest shapes
+     * under the compare type, largest first, without loading or sorting the
+     * whole file.
+     *
+     * @param cmdArgs the validated command line arguments
+     * @throws IOException if the file cannot be read
+     */
+    private static void runTopK(CommandLineArgs cmdArgs) throws IOException {
+        // The sorts print the smallest shapes first under the compare types, so
+        // the reversed comparator puts the largest first
+        Comparator<Shape> comparator = getComparator(cmdArgs.compareType).reversed();
+        
+        if (cmdArgs.warmupIterations != 0 || cmdArgs.measuredIterations != 1) {
+            System.err.println("Warning: -w and -i are ignored by the top-K selection");
+        }
+        
+        long start = System.nanoTime();
+        Shape[] shapes = TopKSelector.select(cmdArgs.filename, comparator, cmdArgs.topK);
+        long nanos = System.nanoTime() - start;
+        
+        if (shapes.length == 0) {
+            System.out.println("No shapes loaded from file.");
+            return;
+        }
+        
+        System.out.println("\nSelected the " + shapes.length + " largest shapes with a bounded heap");
+        System.out.println("Sorted by: " + getCompareTypeDescription(cmdArgs.compareType));
+        System.out.printf("Time taken: %.2f milliseconds (including reading the file)%n", toMillis(nanos));
+        System.out.println();
+        
+        for (int i = 0; i < shapes.length; i++) {
+            System.out.println("Rank " + (i + 1) + ": " + shapes[i]);
+        }
+    }
+    
+    /**
+     * Builds a sorted index from the file, appends the shapes of a second file
+     * to it without sorting the whole set again, and prints the checkpoints of
+     * the combined order. They are the same as after a stable sort of the
+     * first file's shapes followed by the second's.
+     *
+     * @param cmdArgs the validated command line arguments
+     */
+    private static void runIndexed(CommandLineArgs cmdArgs) {
+        Shape[] shapes = loadShapesFromFile(cmdArgs.filename, Sorts.getParallelism());
+        if (shapes == null) {
+            System.out.println("No shapes loaded from file.");
+            return;
+        }
+        Shape[] appended = loadShapesFromFile(cmdArgs.appendFilename, Sorts.getParallelism());
+        if (appended == null) {
+            System.out.println("No shapes loaded from " + cmdArgs.appendFilename + ".");
+            return;
+        }
+        
+        if (cmdArgs.warmupIterations != 0 || cmdArgs.measuredIterations != 1) {
+            System.err.println("Warning: -w and -i are ignored by the sorted index");
+        }
+        
+        Comparator<Shape> comparator = getComparator(cmdArgs.compareType);
+        
+        long start = System.nanoTime();
+        SortedShapeIndex index = SortedShapeIndex.of(shapes, comparator);
+        long buildNanos = System.nanoTime() - start;
+        
+        start = System.nanoTime();
+        index.addAll(appended);
+        long appendNanos = System.nanoTime() - start;
+        
+        System.out.println("\nIndexed " + shapes.length + " shapes from " + cmdArgs.filename
+            + " and appended " + appended.length + " shapes from " + cmdArgs.appendFilename);
+        System.out.println("Sorted by: " + getCompareTypeDescription(cmdArgs.compareType));
+        System.out.printf("Build time: %.2f milliseconds%n", toMillis(buildNanos));
+        System.out.printf("Append time: %.2f milliseconds%n", toMillis(appendNanos));
+        
+        printCheckpoints(index.size(), index::get);
+    }
+    
     /**
      * Validates that all required command line arguments are present and valid.
      *
@@ -106,7 +328,26 @@ public class AppDriver
             System.err.println("Error: Filename is required");
             return false;
         }
-        if (cmdArgs.sortType == null || cmdArgs.sortType.trim().isEmpty()) {
+        if (cmdArgs.topK < 0) {
+            System.err.println("Error: Top-K count must be at least 1");
+            return false;
+        }
+        if (cmdArgs.topK > 0 && (cmdArgs.storage != null || cmdArgs.memoryBudget != 0)) {
+            System.err.println("Error: The top-K selection (-k) cannot be combined with -c or -m");
+            return false;
+        }
+        if (cmdArgs.checkpointsOnly && (cmdArgs.storage != null || cmdArgs.memoryBudget != 0 || cmdArgs.topK != 0)) {
+            System.err.println("Error: The checkpoint selection (-x) cannot be combined with -c, -m or -k");
+            return false;
+        }
+        if (cmdArgs.appendFilename != null && (cmdArgs.storage != null || cmdArgs.memoryBudget != 0
+                || cmdArgs.topK != 0 || cmdArgs.checkpointsOnly)) {
+            System.err.println("Error: The sorted index (-a) cannot be combined with -c, -m, -k or -x");
+            return false;
+        }
+        // The selections and the index do not sort, so they need no algorithm
+        if (cmdArgs.topK == 0 && !cmdArgs.checkpointsOnly && cmdArgs.appendFilename == null
+                && (cmdArgs.sortType == null || cmdArgs.sortType.trim().isEmpty())) {
             System.err.println("Error: Sort type is required");
             return false;
         }
@@ -114,6 +355,38 @@ public class AppDriver
             System.err.println("Error: Compare type is required");
             return false;
         }
+        if (cmdArgs.warmupIterations < 0) {
+            System.err.println("Error: Warm-up iterations cannot be negative");
+            return false;
+        }
+        if (cmdArgs.measuredIterations < 1) {
+            System.err.println("Error: Measured iterations must be at least 1");
+            return false;
+        }
+        if (cmdArgs.threads < 0) {
+            System.err.println("Error: Thread count must be at least 1");
+            return false;
+        }
+        if ("table".equals(cmdArgs.storage) && isCompositeCompareType(cmdArgs.compareType)) {
+            System.err.println("Error: The columnar table (-c) sorts by a single metric; use -coffheap or no -c for several keys");
+            return false;
+        }
+        if ("".equals(cmdArgs.storage)) {
+            System.err.println("Error: Storage must be table or offheap");
+            return false;
+        }
+        if (cmdArgs.memoryBudget < 0 || (cmdArgs.memoryBudget > 0 && cmdArgs.memoryBudget < ExternalShapeSorter.MIN_MEMORY_BUDGET)) {
+            System.err.println("Error: Memory budget must be at least " + formatBytes(ExternalShapeSorter.MIN_MEMORY_BUDGET));
+            return false;
+        }
+        if (cmdArgs.memoryBudget != 0 && cmdArgs.storage != null) {
+            System.err.println("Error: The external sort (-m) cannot be combined with -c");
+            return false;
+        }
+        if ((cmdArgs.tempDir != null || cmdArgs.output != null) && cmdArgs.memoryBudget == 0) {
+            System.err.println("Error: -d and -o require a memory budget (-m)");
+            return false;
+        }
         return true;
     }
     
@@ -147,6 +420,36 @@ public class AppDriver
                 case "-s":
                     cmdArgs.sortType = mapSortType(value.toLowerCase());
                     break;
+                case "-w":
+                    cmdArgs.warmupIterations = parseIterations(value, -1);
+                    break;
+                case "-i":
+                    cmdArgs.measuredIterations = parseIterations(value, 0);
+                    break;
+                case "-p":
+                    cmdArgs.threads = parseThreads(value);
+                    break;
+                case "-c":
+                    cmdArgs.storage = parseStorage(value);
+                    break;
+                case "-m":
+                    cmdArgs.memoryBudget = parseMemoryBudget(value);
+                    break;
+                case "-d":
+                    cmdArgs.tempDir = parseFilename(value);
+                    break;
+                case "-o":
+                    cmdArgs.output = parseFilename(value);
+                    break;
+                case "-k":
+                    cmdArgs.topK = parseTopK(value);
+                    break;
+                case "-x":
+                    cmdArgs.checkpointsOnly = true;
+                    break;
+                case "-a":
+                    cmdArgs.appendFilename = parseFilename(value);
+                    break;
                 default:
                     System.err.println("Warning: Unknown flag: " + flag);
                     break;
@@ -171,6 +474,8 @@ public class AppDriver
     
     /**
      * Parses and validates compare type value.
+     * A comma-separated list of keys such as "v,h,type", or the type key on its
+     * own, selects a composite comparator.
      *
      * @param value the compare type value from command line
      * @return validated compare type string
@@ -180,200 +485,215 @@ public class AppDriver
         if (lowerValue.matches("^(h|height|a|area|v|volume)$")) {
             return lowerValue;
         }
+        if (isCompositeCompareType(lowerValue)) {
+            try {
+                CompositeComparator.parse(lowerValue);
+                return lowerValue;
+            } catch (IllegalArgumentException e) {
+                System.err.println("Warning: " + e.getMessage());
+                return null;
+            }
+        }
         System.err.println("Warning: Invalid compare type: " + value);
         return null;
     }
     
     /**
-     * Maps single character sort flags to full sort algorithm names.
-     * Supports both single-letter and full algorithm names.
+     * @param compareType a compare type
+     * @return true if the compare type names several keys, or the type key
+     */
+    private static boolean isCompositeCompareType(String compareType) {
+        return compareType.indexOf(',') >= 0 || compareType.equalsIgnoreCase("type");
+    }
+    
+    /**
+     * Parses an iteration count value.
      *
-     * @param sortFlag the sort algorithm flag
-     * @return full algorithm name, or null if invalid
+     * @param value the iteration count from command line
+     * @param invalid the value to return when the count cannot be parsed
+     * @return the parsed count, or {@code invalid} if it is not a number
      */
-    private static String mapSortType(String sortFlag) {
-        switch (sortFlag) {
-            case "b":
-            case "bubble":
-                return "bubble";
-            case "s":
-            case "selection":
-                return "selection";
-            case "i":
-            case "insertion":
-                return "insertion";
-            case "m":
-            case "merge":
-                return "merge";
-            case "q":
-            case "quick":
-                return "quick";
-            case "h":
-            case "heap":    // heap sort as specified as the alternative
-                return "heap";
-            default:
-                System.err.println("Error: Unknown sort type '" + sortFlag + "'");
-                return null;
+    private static int parseIterations(String value, int invalid) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Warning: Invalid iteration count: " + value);
+            return invalid;
         }
     }
     
     /**
-     * Loads shapes from the specified file.
-     * File format: first line contains count, subsequent lines contain shape data.
+     * Parses the thread count for the parallel algorithms.
      *
-     * @param filename the path to the shapes data file
-     * @return array of Shape objects, or null if error occurs
+     * @param value the thread count from command line
+     * @return the parsed count, or -1 if it is not a positive number
      */
-    private static Shape[] loadShapesFromFile(String filename) {
-        List<Shape> shapeList = new ArrayList<>();
-        
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line = reader.readLine();
-            if (line == null) {
-                System.err.println("Error: File is empty");
-                return new Shape[0];
-            }
-            
-            // Parse the count of shapes from first line
-            int count = parseShapeCount(line.trim());
-            if (count <= 0) {
-                return new Shape[0];
-            }
-            
-            // Read and parse each shape line
-            for (int i = 0; i < count; i++) {
-                line = reader.readLine();
-                if (line == null) {
-                    System.err.println("Warning: Expected " + count + " shapes but reached end of file at line " + (i + 1));
-                    break;
-                }
-                
-                Shape shape = parseShape(line.trim());
-                if (shape != null) {
-                    shapeList.add(shape);
-                }
-            }
-            
-            System.out.println("Successfully loaded " + shapeList.size() + " out of " + count + " expected shapes");
-            
-        } catch (IOException e) {
-            System.err.println("Error reading file '" + filename + "': " + e.getMessage());
-            return null;
-        } catch (SecurityException e) {
-            System.err.println("Security exception accessing file '" + filename + "': " + e.getMessage());
-            return null;
+    private static int parseThreads(String value) {
+        try {
+            int threads = Integer.parseInt(value);
+            return threads > 0 ? threads : -1;
+        } catch (NumberFormatException e) {
+            System.err.println("Warning: Invalid thread count: " + value);
+            return -1;
+        }
+    }
+    
+    /**
+     * Parses the storage the shapes are sorted in.
+     *
+     * @param value the storage from command line; empty selects the columnar table
+     * @return "table" or "offheap", or an empty string if the storage is unknown
+     */
+    private static String parseStorage(String value) {
+        switch (value.toLowerCase()) {
+            case "":
+            case "t":
+            case "table":
+                return "table";
+            case "o":
+            case "offheap":
+                return "offheap";
+            default:
+                System.err.println("Warning: Invalid storage: " + value);
+                return "";
         }
-        
-        return shapeList.toArray(new Shape[0]);
     }
     
     /**
-     * Parses the shape count from the first line of the file.
+     * Parses the number of shapes the top-K selection keeps.
      *
-     * @param countLine the first line containing the shape count
-     * @return parsed count, or 0 if invalid
+     * @param value the count from command line
+     * @return the parsed count, or -1 if it is not a positive number
      */
-    private static int parseShapeCount(String countLine) {
+    private static int parseTopK(String value) {
         try {
-            int count = Integer.parseInt(countLine);
-            if (count < 0) {
-                System.err.println("Error: Shape count cannot be negative: " + count);
-                return 0;
+            int count = Integer.parseInt(value);
+            if (count > 0) {
+                return count;
             }
-            return count;
         } catch (NumberFormatException e) {
-            System.err.println("Error: Invalid shape count format: " + countLine);
-            return 0;
+            // Reported below
         }
+        System.err.println("Warning: Invalid top-K count: " + value);
+        return -1;
     }
     
     /**
-     * Parses a single line to create a Shape object.
-     * Expected format: "ShapeType height parameter"
+     * Parses a memory budget given in bytes or with a k, m or g suffix.
      *
-     * @param line the input line containing shape data
-     * @return Shape object, or null if parsing fails
+     * @param value the memory budget from command line, such as 64m
+     * @return the budget in bytes, or -1 if it is not a positive size
      */
-    private static Shape parseShape(String line) {
-        if (line == null || line.trim().isEmpty()) {
-            System.err.println("Warning: Empty shape line skipped");
-            return null;
+    private static long parseMemoryBudget(String value) {
+        String lowerValue = value.toLowerCase();
+        long unit = 1;
+        if (lowerValue.endsWith("k")) {
+            unit = 1L << 10;
+        } else if (lowerValue.endsWith("m")) {
+            unit = 1L << 20;
+        } else if (lowerValue.endsWith("g")) {
+            unit = 1L << 30;
         }
-        
-        String[] parts = line.split("\\s+");
-        if (parts.length < 3) {
-            System.err.println("Warning: Invalid shape data (expected 3 parts): " + line);
-            return null;
+        if (unit != 1) {
+            lowerValue = lowerValue.substring(0, lowerValue.length() - 1);
         }
         
         try {
-            String shapeType = parts[0];
-            double height = Double.parseDouble(parts[1]);
-            double parameter = Double.parseDouble(parts[2]);
-            
-            // Validate numerical values
-            if (height <= 0 || parameter <= 0) {
-                System.err.println("Warning: Shape dimensions must be positive: " + line);
-                return null;
+            long amount = Long.parseLong(lowerValue);
+            if (amount > 0 && amount <= Long.MAX_VALUE / unit) {
+                return amount * unit;
             }
-            
-            return createShape(shapeType, height, parameter);
-            
         } catch (NumberFormatException e) {
-            System.err.println("Error parsing numerical values in line: " + line);
+            // Reported below
+        }
+        System.err.println("Warning: Invalid memory budget: " + value);
+        return -1;
+    }
+    
+    /**
+     * Maps sort flags to full sort algorithm names through the
+     * {@link SortAlgorithms} registry, which knows every name and alias.
+     *
+     * @param sortFlag the sort algorithm flag
+     * @return full algorithm name, or null if invalid
+     */
+    private static String mapSortType(String sortFlag) {
+        SortAlgorithm algorithm = SortAlgorithms.find(sortFlag);
+        if (algorithm == null) {
+            System.err.println("Error: Unknown sort type '" + sortFlag + "'");
             return null;
         }
+        return algorithm.getName();
     }
     
     /**
-     * Creates a specific Shape subclass instance based on type string.
+     * Loads shapes from the specified file.
+     * Text file format: first line contains count, subsequent lines contain shape data.
+     * Large text files are parsed in parallel. Binary shape files written by
+     * ShapeFileConverter are recognized by their header and loaded directly.
      *
-     * @param shapeType the type of shape to create
-     * @param height the height dimension
-     * @param parameter the shape-specific parameter (radius, side length, etc.)
-     * @return concrete Shape instance, or null if type is unknown
-     */
-    private static Shape createShape(String shapeType, double height, double parameter) {
-        switch (shapeType.toLowerCase()) {
-            case "cone":
-                return new Cone(height, parameter);
-            case "cylinder":
-                return new Cylinder(height, parameter);
-            case "octagonalprism":
-                return new OctagonalPrism(height, parameter);
-            case "pentagonalprism":
-                return new PentagonalPrism(height, parameter);
-            case "squareprism":
-                return new SquarePrism(height, parameter);
-            case "triangularprism":
-                return new TriangularPrism(height, parameter);
-            case "pyramid":
-                return new Pyramid(height, parameter);
-            default:
-                System.err.println("Unknown shape type: " + shapeType);
-                return null;
+     * @param filename the path to the shapes data file
+     * @param threads the number of threads to parse with
+     * @return array of Shape objects, or null if error occurs
+     */
+    private static Shape[] loadShapesFromFile(String filename, int threads) {
+        if (BinaryShapeFile.isBinary(filename)) {
+            return BinaryShapeFile.load(filename);
+        }
+        return MappedShapeLoader.load(filename, threads);
+    }
+    
+    /**
+     * Loads shapes from the specified file into a columnar table, recognizing
+     * the same text and binary formats as {@link #loadShapesFromFile}.
+     *
+     * @param filename the path to the shapes data file
+     * @param threads the number of threads to parse with
+     * @return the table of shapes, or null if error occurs
+     */
+    private static ShapeTable loadTableFromFile(String filename, int threads) {
+        if (BinaryShapeFile.isBinary(filename)) {
+            return BinaryShapeFile.loadTable(filename);
         }
+        return MappedShapeLoader.loadTable(filename, threads);
+    }
+    
+    /**
+     * Names the sorted output of a file after it, replacing its extension
+     * with ".sorted.bin".
+     *
+     * @param filename the path to the shapes data file
+     * @return the path of the sorted binary shape file
+     */
+    private static String defaultSortedOutput(String filename) {
+        int dot = filename.lastIndexOf('.');
+        int separator = Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\'));
+        String base = dot > separator ? filename.substring(0, dot) : filename;
+        return base + ".sorted.bin";
     }
     
     /**
      * Gets the appropriate comparator based on the compare type.
      * All comparisons are in descending order as specified.
      *
-     * @param compareType the type of comparison (h/height, a/area, v/volume)
+     * @param compareType the type of comparison (h/height, a/area, v/volume, or a key list such as v,h,type)
      * @return Comparator for Shape objects
      * @throws IllegalArgumentException for invalid compare types
      */
     private static Comparator<Shape> getComparator(String compareType) {
+        if (isCompositeCompareType(compareType)) {
+            return CompositeComparator.parse(compareType);
+        }
         switch (compareType.toLowerCase()) {
             case "h":
             case "height":
-                return Comparator.<Shape>naturalOrder().reversed(); // Height descending
+                return ShapeComparator.HEIGHT_DESCENDING; // Height descending
             case "a":
             case "area":
-                return Comparator.comparingDouble(Shape::getBaseArea).reversed(); // Area descending
+                return ShapeComparator.BASE_AREA_DESCENDING; // Area descending
             case "v":
             case "volume":
-                return Comparator.comparingDouble(Shape::getVolume).reversed(); // Volume descending
+                return ShapeComparator.VOLUME_DESCENDING; // Volume descending
             default:
                 throw new IllegalArgumentException("Invalid compare type: " + compareType + 
                     ". Valid options are: h/height, a/area, v/volume");
@@ -387,6 +707,9 @@ public class AppDriver
      * @return descriptive string for display
      */
     private static String getCompareTypeDescription(String compareType) {
+        if (isCompositeCompareType(compareType)) {
+            return CompositeComparator.parse(compareType).toString();
+        }
         switch (compareType.toLowerCase()) {
             case "h":
             case "height":
@@ -404,44 +727,127 @@ public class AppDriver
     
     /**
      * Displays sorting results and performance metrics.
+     * A single measured run prints its time; repeated runs print a statistics table.
      *
      * @param cmdArgs the command line arguments
-     * @param timeMillis the sorting time in milliseconds
+     * @param statistics the timing statistics of the measured runs
      */
-    private static void displayResults(CommandLineArgs cmdArgs, double timeMillis) {
+    private static void displayResults(CommandLineArgs cmdArgs, SortStatistics statistics) {
         System.out.println("\nSorting completed using " + cmdArgs.sortType + " sort");
         System.out.println("Sorted by: " + getCompareTypeDescription(cmdArgs.compareType));
-        System.out.printf("Time taken: %.2f milliseconds%n", timeMillis);
+        printStatistics(statistics);
+    }
+    
+    /**
+     * Prints the time of a single measured run, or a statistics table for
+     * repeated runs, followed by the allocation per run when it is known.
+     *
+     * @param statistics the timing statistics of the measured runs
+     */
+    private static void printStatistics(SortStatistics statistics) {
+        if (statistics.getIterations() == 1) {
+            System.out.printf("Time taken: %.2f milliseconds%n", toMillis(statistics.getMin()));
+        } else {
+            System.out.printf("Iterations: %d warm-up, %d measured%n",
+                statistics.getWarmupIterations(), statistics.getIterations());
+            System.out.println("+-----------+----------------+");
+            System.out.println("| Statistic | Time (ms)      |");
+            System.out.println("+-----------+----------------+");
+            System.out.printf("| min       | %14.3f |%n", toMillis(statistics.getMin()));
+            System.out.printf("| median    | %14.3f |%n", toMillis(statistics.getMedian()));
+            System.out.printf("| p90       | %14.3f |%n", toMillis(statistics.getP90()));
+            System.out.printf("| p99       | %14.3f |%n", toMillis(statistics.getP99()));
+            System.out.printf("| max       | %14.3f |%n", toMillis(statistics.getMax()));
+            System.out.printf("| mean      | %14.3f |%n", toMillis(statistics.getMean()));
+            System.out.printf("| std dev   | %14.3f |%n", toMillis(statistics.getStandardDeviation()));
+            System.out.println("+-----------+----------------+");
+        }
+        
+        if (statistics.hasAllocationData()) {
+            System.out.printf("Allocated per sort: %.1f KB%n", statistics.getMeanAllocatedBytes() / 1024.0);
+        }
         System.out.println();
     }
     
+    /**
+     * Converts nanoseconds to milliseconds.
+     *
+     * @param nanos the duration in nanoseconds
+     * @return the duration in milliseconds
+     */
+    private static double toMillis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+    
+    /**
+     * Formats a byte count with the largest binary unit that keeps it at least 1.
+     *
+     * @param bytes the number of bytes
+     * @return the formatted size, such as "64.0 MB"
+     */
+    private static String formatBytes(long bytes) {
+        if (bytes >= 1L << 30) return String.format("%.1f GB", bytes / (double) (1L << 30));
+        if (bytes >= 1L << 20) return String.format("%.1f MB", bytes / (double) (1L << 20));
+        if (bytes >= 1L << 10) return String.format("%.1f KB", bytes / (double) (1L << 10));
+        return bytes + " bytes";
+    }
+    
     /**
      * Prints checkpoint shapes (first, every 1000th, and last) for verification.
      *
      * @param shapes the sorted array of shapes
      */
     private static void printCheckpoints(Shape[] shapes) {
-        if (shapes.length == 0) {
+        printCheckpoints(shapes.length, i -> shapes[i]);
+    }
+    
+    /**
+     * Prints checkpoint shapes of a sorted order held in any storage, reading
+     * only the printed positions.
+     *
+     * @param size the number of shapes
+     * @param at returns the shape at a position of the sorted order
+     */
+    private static void printCheckpoints(int size, IntFunction<?> at) {
+        if (size == 0) {
             System.out.println("No shapes to display");
             return;
         }
         
-        System.out.println("First shape: " + shapes[0]);
+        System.out.println("First shape: " + at.apply(0));
         
         // Print every 1000th shape
-        for (int i = 1000; i < shapes.length; i += 1000) {
-            System.out.println("Shape at index " + i + ": " + shapes[i]);
+        for (int i = 1000; i < size; i += 1000) {
+            System.out.println("Shape at index " + i + ": " + at.apply(i));
         }
         
         // Print last shape if different from last checkpoint
-        if (shapes.length > 1) {
-            int lastIndex = shapes.length - 1;
+        if (size > 1) {
+            int lastIndex = size - 1;
             if (lastIndex % 1000 != 0) { // Avoid duplicate if last index is a multiple of 1000
-                System.out.println("Last shape: " + shapes[lastIndex]);
+                System.out.println("Last shape: " + at.apply(lastIndex));
             }
         }
     }
     
+    /**
+     * Prints a shape of a sorted stream if it is a checkpoint, in the same
+     * format as {@link #printCheckpoints(Shape[])}.
+     *
+     * @param index the position of the shape in the sorted stream
+     * @param total the number of shapes in the stream
+     * @param shape the shape
+     */
+    private static void printCheckpoint(int index, int total, Shape shape) {
+        if (index == 0) {
+            System.out.println("First shape: " + shape);
+        } else if (index % 1000 == 0) {
+            System.out.println("Shape at index " + index + ": " + shape);
+        } else if (index == total - 1) {
+            System.out.println("Last shape: " + shape);
+        }
+    }
+    
     /**
      * Prints comprehensive usage information.
      */
@@ -449,42 +855,87 @@ public class AppDriver
         System.out.println("Shape Sorter - Geometric Shape Sorting Application");
         System.out.println("==================================================");
         System.out.println();
-        System.out.println("Usage: java -jar Sort.jar -f<filename> -t<compare_type> -s<sort_algorithm>");
+        System.out.println("Usage: java -jar Sort.jar -f<filename> -t<compare_type> -s<sort_algorithm> [-w<n>] [-i<n>] [-p<n>] [-c[storage]]");
+        System.out.println("                            [-m<budget> [-d<temp_dir>] [-o<output>]] [-k<count>] [-x] [-a<append_file>]");
         System.out.println();
         System.out.println("Arguments (case-insensitive, order-insensitive, no spaces between flag and value):");
         System.out.println();
         System.out.println("  -f<filename>       : Path to the shapes data file");
         System.out.println("                       Supports quoted filenames: -f\"filename with spaces.txt\"");
+        System.out.println("                       Text files and binary files from ShapeFileConverter are detected automatically");
         System.out.println();
         System.out.println("  -t<compare_type>   : Comparison criteria:");
         System.out.println("                       h or height  - Sort by height (descending)");
         System.out.println("                       a or area    - Sort by base area (descending)");
         System.out.println("                       v or volume  - Sort by volume (descending)");
+        System.out.println("                       k1,k2,...    - Sort by several keys in turn, each breaking the ties of");
+        System.out.println("                                      the ones before it; keys are h, a, v and type (the type");
+        System.out.println("                                      name), e.g. -tv,h,type. Equal shapes are then fully");
+        System.out.println("                                      ordered, so unstable algorithms print deterministically");
         System.out.println();
         System.out.println("  -s<sort_algorithm> : Sorting algorithm:");
-        System.out.println("                       b or bubble     - Bubble sort");
-        System.out.println("                       s or selection  - Selection sort");
-        System.out.println("                       i or insertion  - Insertion sort");
-        System.out.println("                       m or merge      - Merge sort");
-        System.out.println("                       q or quick      - Quick sort");
-        System.out.println("                       h or heap       - Heap sort");
-        System.out.println("                       z               - Heap sort (alternative)");
+        for (SortAlgorithm algorithm : SortAlgorithms.all()) {
+            // The short alias first, as in "m or merge"
+            List<String> names = new ArrayList<>(algorithm.getAliases());
+            names.add(Math.min(1, names.size()), algorithm.getName());
+            System.out.printf("                       %-15s - %s (%s%s)%n", String.join(" or ", names), algorithm.getDescription(),
+                algorithm.getComplexity().getNotation(), algorithm.isStable() ? ", stable" : "");
+        }
+        System.out.println();
+        System.out.println("  -w<n>              : Warm-up iterations run before measuring (default 0)");
+        System.out.println("  -i<n>              : Measured iterations, each on a fresh copy of the input (default 1)");
+        System.out.println("                       More than one prints min/median/p90/p99/max and standard deviation");
+        System.out.println("  -p<threads>        : Worker threads for file loading and parallel algorithms (default: available cores)");
+        System.out.println("  -c[storage]        : Sort the shape data without Shape objects:");
+        System.out.println("                       -c or -ctable   - Columnar table on the heap");
+        System.out.println("                       -coffheap       - Fixed-size records in direct memory; raise");
+        System.out.println("                                         -XX:MaxDirectMemorySize for data larger than the heap");
+        System.out.println("                       Supports every algorithm except tim, parallelMerge and bufferedMerge");
+        System.out.println("  -m<budget>         : Sort externally within a memory budget, such as 512k, 64m or 2g (at least 1m):");
+        System.out.println("                       the file is sorted in runs that are spilled to temp files and merged");
+        System.out.println("                       into a sorted binary shape file; use a stable algorithm such as merge");
+        System.out.println("                       to keep equal shapes in file order");
+        System.out.println("  -d<temp_dir>       : Directory for the runs of the external sort (default: the system temp directory)");
+        System.out.println("  -o<output>         : Sorted output of the external sort (default: the input path ending in .sorted.bin)");
+        System.out.println("  -k<count>          : Print only the <count> largest shapes by the compare type, largest first,");
+        System.out.println("                       selected while the file is read with a heap of <count> shapes; -s is not needed");
+        System.out.println("  -x                 : Place only the printed checkpoint shapes with multi-quickselect instead of");
+        System.out.println("                       sorting; prints what a stable sort prints; -s is not needed");
+        System.out.println("  -a<append_file>    : Keep the shapes of -f in a sorted index and append the shapes of <append_file>");
+        System.out.println("                       without sorting again; prints what a stable sort of both files prints;");
+        System.out.println("                       -s is not needed");
         System.out.println();
         System.out.println("Examples:");
         System.out.println("  java -jar Sort.jar -fshapes1.txt -tv -sb");
         System.out.println("  java -jar Sort.jar -ta -sq -f\"res\\\\shapes1.txt\"");
         System.out.println("  java -jar Sort.jar -th -f\"C:\\\\temp\\\\shapes1.txt\" -sb");
         System.out.println("  java -jar Sort.jar -fdata.txt -tarea -smerge");
+        System.out.println("  java -jar Sort.jar -fdata.txt -tv -sq -w5 -i20");
+        System.out.println("  java -jar Sort.jar -fdata.txt -tv,h,type -sq");
+        System.out.println("  java -jar Sort.jar -fhuge.txt -tv -sm -m256m -d/scratch");
+        System.out.println("  java -jar Sort.jar -fhuge.txt -tv -k10");
+        System.out.println("  java -jar Sort.jar -fdata.txt -tv -x -w5 -i20");
+        System.out.println("  java -jar Sort.jar -fdata.txt -tv -anew.txt");
     }
     
     /**
      * Inner class to hold parsed command line arguments.
-     * Uses immutable fields with validation.
+     * Fields are filled in by parseArguments as flags are encountered.
      */
     private static class CommandLineArgs {
-        private final String filename;
-        private final String compareType;
-        private final String sortType;
+        private String filename;
+        private String compareType;
+        private String sortType;
+        private int warmupIterations = 0;
+        private int measuredIterations = 1;
+        private int threads = 0;
+        private String storage;
+        private long memoryBudget = 0;
+        private String tempDir;
+        private String output;
+        private int topK = 0;
+        private boolean checkpointsOnly;
+        private String appendFilename;
         
         /**
          * Default constructor for cases where parsing fails.
@@ -0,0 +1,437 @@
+package appDomain;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.IntFunction;
+
+/**
+ * Reads and writes the compact binary shape file format.
+ * A file starts with a 12-byte header: the magic bytes "SHPB", the format
+ * version and the shape count, both as little-endian ints. Each shape follows
+ * as a 17-byte record: the one-byte {@link ShapeType} tag, then the height and
+ * the type-specific parameter as little-endian doubles. The records map
+ * directly onto the columns of a {@link ShapeTable}, and shapes are rebuilt
+ * through the same constructors as when parsing text, so a converted file
+ * loads exactly the shapes the text file does.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class BinaryShapeFile {
+
+    /**
+     * The magic bytes that start every binary shape file.
+     */
+    private static final byte[] MAGIC = {'S', 'H', 'P', 'B'};
+
+    /**
+     * The format version written by this class.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Size of the header in bytes.
+     */
+    public static final int HEADER_BYTES = 12;
+
+    /**
+     * Size of a shape record in bytes.
+     */
+    public static final int RECORD_BYTES = 17;
+
+    /**
+     * Most records mapped at a time, keeping every window below 2 GB.
+     */
+    private static final int RECORDS_PER_WINDOW = Integer.MAX_VALUE / RECORD_BYTES;
+
+    /**
+     * Records buffered per write.
+     */
+    private static final int RECORDS_PER_WRITE = 1 << 16;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private BinaryShapeFile() {
+        throw new AssertionError("BinaryShapeFile is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Checks whether a file starts with the binary shape file magic bytes.
+     *
+     * @param filename the path of the file
+     * @return true if the file is a binary shape file, false otherwise or if it cannot be read
+     */
+    public static boolean isBinary(String filename) {
+        try (FileInputStream in = new FileInputStream(filename)) {
+            byte[] magic = new byte[MAGIC.length];
+            int read = 0;
+            while (read < magic.length) {
+                int n = in.read(magic, read, magic.length - read);
+                if (n < 0) return false;
+                read += n;
+            }
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (magic[i] != MAGIC[i]) return false;
+            }
+            return true;
+        } catch (IOException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Loads shapes from a binary shape file.
+     *
+     * @param filename the path to the binary shape file
+     * @return array of Shape objects, or null if error occurs
+     */
+    public static Shape[] load(String filename) {
+        ShapeList shapes = read(filename, ShapeList::new);
+        return shapes != null ? shapes.toArray() : null;
+    }
+
+    /**
+     * Loads shapes from a binary shape file into a columnar table. The records
+     * are mapped into memory in one piece (in 2 GB windows for very large
+     * files) and decoded in place.
+     *
+     * @param filename the path to the binary shape file
+     * @return the table of shapes, or null if error occurs
+     */
+    public static ShapeTable loadTable(String filename) {
+        ShapeTable table = read(filename, ShapeTable::new);
+        if (table != null) {
+            table.trimToSize();
+        }
+        return table;
+    }
+
+    /**
+     * Loads shapes from a binary shape file into off-heap storage. The records
+     * go from the mapped file to the store without passing through the heap.
+     *
+     * @param filename the path to the binary shape file
+     * @return the store of shapes, or null if error occurs
+     */
+    public static OffHeapShapeStore loadStore(String filename) {
+        return read(filename, OffHeapShapeStore::new);
+    }
+
+    /**
+     * Reads the records of a binary shape file into a sink.
+     *
+     * @param filename the path to the binary shape file
+     * @param newSink creates the sink for an expected number of shapes
+     * @return the filled sink, or null if error occurs
+     */
+    private static <T extends ShapeSink> T read(String filename, IntFunction<T> newSink) {
+        try (BinaryReader reader = new BinaryReader(filename)) {
+            T shapes = newSink.apply(reader.records);
+            reader.read(shapes, Integer.MAX_VALUE);
+            return shapes;
+
+        } catch (IOException e) {
+            System.err.println("Error reading file '" + filename + "': " + e.getMessage());
+            return null;
+        } catch (SecurityException e) {
+            System.err.println("Security exception accessing file '" + filename + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Opens a binary shape file for reading its shapes a piece at a time.
+     *
+     * @param filename the path to the binary shape file
+     * @return the reader, positioned at the first shape
+     * @throws IOException if the file cannot be opened
+     */
+    static ShapeReader openReader(String filename) throws IOException {
+        return new BinaryReader(filename);
+    }
+
+    /**
+     * Writes shapes to a binary shape file, replacing any existing file.
+     *
+     * @param shapes the shapes to write
+     * @param filename the path of the file to write
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a shape is not one of the known types
+     */
+    public static void write(Shape[] shapes, String filename) throws IOException {
+        try (Writer writer = new Writer(filename, shapes.length, RECORDS_PER_WRITE)) {
+            for (Shape shape : shapes) {
+                writer.write(shape);
+            }
+        }
+    }
+
+    /**
+     * Writes a table of shapes to a binary shape file, replacing any existing
+     * file. The columns are copied into the records without creating shapes.
+     *
+     * @param shapes the shapes to write
+     * @param filename the path of the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(ShapeTable shapes, String filename) throws IOException {
+        try (Writer writer = new Writer(filename, shapes.size(), RECORDS_PER_WRITE)) {
+            for (int i = 0; i < shapes.size(); i++) {
+                writer.write(shapes.getType(i), shapes.getHeight(i), shapes.getParameter(i));
+            }
+        }
+    }
+
+    /**
+     * Reads the records of a binary shape file sequentially, a piece at a time.
+     * The records are mapped into memory in windows of up to 2 GB and decoded
+     * in place.
+     */
+    private static final class BinaryReader implements ShapeReader {
+
+        private final FileInputStream in;
+        private final FileChannel channel;
+
+        /** Whether the header is valid; the summary is only printed for valid files. */
+        private final boolean valid;
+
+        /** Number of shapes the header announces. */
+        private final int count;
+
+        /** Number of records present in the file. */
+        private final long available;
+
+        /** Number of records to read: the count, or fewer if the file is cut short. */
+        private final int records;
+
+        private MappedByteBuffer window;
+        private int windowFirst;
+        private int windowRecords;
+
+        /** Index of the next record to read. */
+        private int next;
+
+        private int loaded;
+        private boolean reported;
+
+        /**
+         * Opens the file and validates its header.
+         *
+         * @param filename the path to the binary shape file
+         * @throws IOException if the file cannot be opened
+         */
+        BinaryReader(String filename) throws IOException {
+            in = new FileInputStream(filename);
+            channel = in.getChannel();
+            try {
+                int headerCount = readHeader(filename);
+                valid = headerCount >= 0;
+                count = Math.max(headerCount, 0);
+                available = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+                records = (int) Math.min(count, available);
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Reads and checks the header.
+         *
+         * @return the shape count, or -1 if the header is not valid
+         */
+        private int readHeader(String filename) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    System.err.println("Error: Binary shape file header is incomplete");
+                    return -1;
+                }
+            }
+            header.flip();
+
+            for (byte b : MAGIC) {
+                if (header.get() != b) {
+                    System.err.println("Error: Not a binary shape file: " + filename);
+                    return -1;
+                }
+            }
+
+            int version = header.getInt();
+            if (version != VERSION) {
+                System.err.println("Error: Unsupported binary shape file version: " + version);
+                return -1;
+            }
+
+            int headerCount = header.getInt();
+            if (headerCount < 0) {
+                System.err.println("Error: Shape count cannot be negative: " + headerCount);
+                return -1;
+            }
+            return headerCount;
+        }
+
+        @Override
+        public int read(ShapeSink shapes, int max) throws IOException {
+            int added = 0;
+            while (added < max && next < records) {
+                if (window == null || next == windowFirst + windowRecords) {
+                    windowFirst = next;
+                    windowRecords = Math.min(RECORDS_PER_WINDOW, records - next);
+                    window = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + (long) windowFirst * RECORD_BYTES, (long) windowRecords * RECORD_BYTES);
+                    window.order(ByteOrder.LITTLE_ENDIAN);
+                }
+
+                int offset = (next - windowFirst) * RECORD_BYTES;
+                byte tag = window.get(offset);
+                double height = window.getDouble(offset + 1);
+                double parameter = window.getDouble(offset + 9);
+                next++;
+
+                if (addShape(shapes, tag, height, parameter)) {
+                    added++;
+                }
+            }
+            loaded += added;
+
+            if (valid && next == records && !reported) {
+                if (available < count) {
+                    System.err.println("Warning: Expected " + count + " shapes but reached end of file at record " + (available + 1));
+                }
+                System.out.println("Successfully loaded " + loaded + " out of " + count + " expected shapes");
+                reported = true;
+            }
+            return added;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes a binary shape file one shape at a time. The shape count is part
+     * of the header, so it must be known before the first shape is written.
+     */
+    static final class Writer implements Closeable {
+
+        private final FileOutputStream out;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int count;
+        private int written;
+
+        /**
+         * Creates the file, replacing any existing one, and writes the header.
+         *
+         * @param filename the path of the file to write
+         * @param count the number of shapes that will be written
+         * @param bufferRecords the number of records buffered per write, at least 1
+         * @throws IOException if the file cannot be written
+         */
+        Writer(String filename, int count, int bufferRecords) throws IOException {
+            out = new FileOutputStream(filename);
+            channel = out.getChannel();
+            this.count = count;
+            buffer = ByteBuffer.allocate(Math.max(HEADER_BYTES,
+                Math.min(count, bufferRecords) * RECORD_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+
+            try {
+                buffer.put(MAGIC).putInt(VERSION).putInt(count);
+                flush();
+            } catch (IOException e) {
+                out.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Writes a shape.
+         *
+         * @param type the type of the shape
+         * @param height the height of the shape
+         * @param parameter the type-specific parameter (radius or side length)
+         * @throws IOException if the file cannot be written
+         */
+        void write(ShapeType type, double height, double parameter) throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                flush();
+            }
+            buffer.put(type.getTag()).putDouble(height).putDouble(parameter);
+            written++;
+        }
+
+        /**
+         * Writes a shape.
+         *
+         * @param shape the shape
+         * @throws IOException if the file cannot be written
+         * @throws IllegalArgumentException if the shape is not one of the known types
+         */
+        void write(Shape shape) throws IOException {
+            ShapeType type = ShapeType.of(shape);
+            write(type, shape.getHeight(), type.parameterOf(shape));
+        }
+
+        /**
+         * Writes out the buffered bytes and clears the buffer.
+         */
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Writes out the remaining records and closes the file.
+         *
+         * @throws IOException if the file cannot be written, or fewer or more
+         *         shapes were written than the header announces
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                out.close();
+            }
+            if (written != count) {
+                throw new IOException("Wrote " + written + " shapes but the header announces " + count);
+            }
+        }
+    }
+
+    /**
+     * Appends the shape described by a record to a sink, applying the same
+     * checks as the text loader.
+     *
+     * @return true if the shape was appended, false if the record is skipped
+     */
+    private static boolean addShape(ShapeSink shapes, byte tag, double height, double parameter) {
+        ShapeType type = ShapeType.fromTag(tag);
+        if (type == null) {
+            System.err.println("Unknown shape type tag: " + (tag & 0xFF));
+            return false;
+        }
+
+        if (height <= 0 || parameter <= 0) {
+            System.err.println("Warning: Shape dimensions must be positive: " +
+                type.getFileName() + " " + height + " " + parameter);
+            return false;
+        }
+
+        shapes.add(type, height, parameter);
+        return true;
+    }
+}
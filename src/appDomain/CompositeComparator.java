@@ -0,0 +1,330 @@
+package appDomain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Comparator that orders shapes by several keys in turn, each key deciding
+ * only between shapes that all keys before it rank equal. Like the single
+ * metric comparators {@link AppDriver} uses, every key orders descending.
+ *
+ * The keys are compared in one loop instead of through a chain of
+ * thenComparing wrappers. {@link Sorts} goes further and folds all the keys of
+ * a shape into one primitive, its dense rank in ascending key order: shapes
+ * that tie on every key share a rank, and a shape ranks above every shape
+ * whose keys are smaller. Comparing ranks in reverse then gives exactly the
+ * order of this comparator, so the key kernels sort composite orders as they
+ * sort a single descending metric. The ranks come from a radix pass over the
+ * first key, after which only the runs that tie on it are compared on the
+ * other keys.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class CompositeComparator implements Comparator<Shape> {
+
+    /**
+     * The keys a composite comparator orders by.
+     */
+    public enum Key {
+
+        /** The height of the shape. */
+        HEIGHT("Height") {
+            @Override
+            public double of(Shape shape) {
+                return ShapeMetric.HEIGHT.of(shape);
+            }
+        },
+
+        /** The area of the base of the shape. */
+        BASE_AREA("Base Area") {
+            @Override
+            public double of(Shape shape) {
+                return ShapeMetric.BASE_AREA.of(shape);
+            }
+        },
+
+        /** The volume of the shape. */
+        VOLUME("Volume") {
+            @Override
+            public double of(Shape shape) {
+                return ShapeMetric.VOLUME.of(shape);
+            }
+        },
+
+        /** The type of the shape, ordered by its name. */
+        TYPE("Type") {
+            @Override
+            public double of(Shape shape) {
+                return TYPE_RANKS[ShapeType.of(shape).ordinal()];
+            }
+        };
+
+        /**
+         * The position of every type, by ordinal, when the types are sorted by
+         * their names.
+         */
+        private static final int[] TYPE_RANKS = new int[ShapeType.values().length];
+
+        static {
+            ShapeType[] byName = ShapeType.values();
+            Arrays.sort(byName, Comparator.comparing(ShapeType::getFileName));
+            for (int i = 0; i < byName.length; i++) {
+                TYPE_RANKS[byName[i].ordinal()] = i;
+            }
+        }
+
+        private final String displayName;
+
+        /**
+         * @param displayName the human-readable name of the key
+         */
+        Key(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /**
+         * Returns the value of this key for a shape; larger values order first.
+         *
+         * @param shape the shape
+         * @return the key value
+         */
+        public abstract double of(Shape shape);
+
+        /**
+         * @return the human-readable name of the key
+         */
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * Looks up a key by the name used on the command line, ignoring case.
+         *
+         * @param name h/height, a/area, v/volume or type
+         * @return the matching key, or null if there is none
+         */
+        public static Key fromName(String name) {
+            switch (name.toLowerCase()) {
+                case "h":
+                case "height":
+                    return HEIGHT;
+                case "a":
+                case "area":
+                    return BASE_AREA;
+                case "v":
+                case "volume":
+                    return VOLUME;
+                case "type":
+                    return TYPE;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Tie runs at most this long are sorted by insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final Key[] keys;
+
+    /**
+     * Creates a comparator for the given keys, the most significant first.
+     *
+     * @param keys the keys to compare by
+     * @throws IllegalArgumentException if there are no keys, a key is null or
+     *         a key is repeated
+     */
+    public CompositeComparator(Key... keys) {
+        if (keys == null || keys.length == 0) {
+            throw new IllegalArgumentException("At least one key is required");
+        }
+        Set<Key> seen = EnumSet.noneOf(Key.class);
+        for (Key key : keys) {
+            if (key == null) {
+                throw new IllegalArgumentException("Key cannot be null");
+            }
+            if (!seen.add(key)) {
+                throw new IllegalArgumentException("Key is repeated: " + key.getDisplayName());
+            }
+        }
+        this.keys = keys.clone();
+    }
+
+    /**
+     * Parses a comma-separated list of keys such as "v,h,type".
+     *
+     * @param spec the keys, the most significant first
+     * @return the comparator
+     * @throws IllegalArgumentException if a key is unknown or repeated
+     */
+    public static CompositeComparator parse(String spec) {
+        String[] names = spec.split(",", -1);
+        Key[] keys = new Key[names.length];
+        for (int i = 0; i < names.length; i++) {
+            keys[i] = Key.fromName(names[i].trim());
+            if (keys[i] == null) {
+                throw new IllegalArgumentException("Invalid sort key: " + names[i]
+                    + ". Valid options are: h/height, a/area, v/volume, type");
+            }
+        }
+        return new CompositeComparator(keys);
+    }
+
+    /**
+     * Compares two shapes key by key until one differs, each in descending order.
+     *
+     * @param s1 the first shape
+     * @param s2 the second shape
+     * @return a negative integer, zero, or a positive integer as the first shape
+     *         orders before, equal to, or after the second
+     */
+    @Override
+    public int compare(Shape s1, Shape s2) {
+        for (Key key : keys) {
+            int c = Double.compare(key.of(s2), key.of(s1));
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the keys compared by, the most significant first
+     */
+    public List<Key> getKeys() {
+        return Collections.unmodifiableList(Arrays.asList(keys));
+    }
+
+    /**
+     * Computes the dense rank of every shape under this comparator, as
+     * described in the class documentation. Ranks grow with the key values,
+     * so this comparator orders them in reverse.
+     *
+     * @param arr the shapes
+     * @return the ranks by position, each exactly representable as a double
+     */
+    double[] rankKeys(Shape[] arr) {
+        return rankKeys(arr.length, i -> arr[i], i -> arr[i]);
+    }
+
+    /**
+     * Computes the dense rank of every shape of an off-heap store, as
+     * {@link #rankKeys(Shape[])} does, reading the rows through two flyweight
+     * views.
+     *
+     * @param store the shapes
+     * @return the ranks by row, each exactly representable as a double
+     */
+    double[] rankKeys(OffHeapShapeStore store) {
+        return rankKeys(store.size(), store.view()::moveTo, store.view()::moveTo);
+    }
+
+    /**
+     * Computes the dense ranks of n shapes. Two shapes compared with each
+     * other are taken one from each accessor, so the accessors may return
+     * flyweights that are only valid until their next call.
+     */
+    private double[] rankKeys(int n, IntFunction<Shape> first, IntFunction<Shape> second) {
+        double[] values = new double[n];
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = keys[0].of(first.apply(i));
+            idx[i] = i;
+        }
+        // Direction -1 sorts ascending, so ranks can be handed out in order
+        KeySorts.radixSort(values, idx, -1);
+
+        int[] buffer = null;
+        double[] ranks = new double[n];
+        int rank = 0;
+        for (int start = 0; start < n; ) {
+            int end = start + 1;
+            while (end < n && Double.compare(values[end], values[start]) == 0) {
+                end++;
+            }
+
+            if (end - start > 1 && keys.length > 1) {
+                if (end - start > INSERTION_SORT_THRESHOLD && buffer == null) {
+                    buffer = new int[(n + 1) / 2];
+                }
+                sortTies(first, second, idx, start, end - 1, buffer);
+            }
+
+            for (int k = start; k < end; k++) {
+                if (k > start && compareTail(first.apply(idx[k - 1]), second.apply(idx[k])) != 0) {
+                    rank++;
+                }
+                ranks[idx[k]] = rank;
+            }
+            rank++;
+            start = end;
+        }
+        return ranks;
+    }
+
+    /**
+     * Compares two shapes on every key but the first, in ascending order.
+     */
+    private int compareTail(Shape s1, Shape s2) {
+        for (int k = 1; k < keys.length; k++) {
+            int c = Double.compare(keys[k].of(s1), keys[k].of(s2));
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sorts the indices idx[lo..hi] of shapes that tie on the first key
+     * ascending on the other keys, merging through the buffer.
+     */
+    private void sortTies(IntFunction<Shape> first, IntFunction<Shape> second, int[] idx, int lo, int hi,
+            int[] buffer) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            for (int i = lo + 1; i <= hi; i++) {
+                int index = idx[i];
+                int j = i - 1;
+                while (j >= lo && compareTail(first.apply(idx[j]), second.apply(index)) > 0) {
+                    idx[j + 1] = idx[j];
+                    j--;
+                }
+                idx[j + 1] = index;
+            }
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        sortTies(first, second, idx, lo, mid, buffer);
+        sortTies(first, second, idx, mid + 1, hi, buffer);
+
+        int n = mid - lo + 1;
+        System.arraycopy(idx, lo, buffer, 0, n);
+        int i = 0, j = mid + 1, k = lo;
+        while (i < n && j <= hi) {
+            idx[k++] = compareTail(first.apply(idx[j]), second.apply(buffer[i])) < 0 ? idx[j++] : buffer[i++];
+        }
+        System.arraycopy(buffer, i, idx, k, n - i);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Key key : keys) {
+            if (sb.length() > 0) {
+                sb.append(", then ");
+            }
+            sb.append(key.getDisplayName());
+        }
+        return sb.append(" (descending)").toString();
+    }
+}
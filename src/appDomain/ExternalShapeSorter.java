@@ -0,0 +1,442 @@
+package appDomain;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorts shape files that do not fit in memory (external merge sort).
+ *
+ * The input is read in chunks that fit the memory budget. Each chunk is sorted
+ * with one of the in-memory algorithms of {@link Sorts} and spilled to a temp
+ * file in the binary shape format, giving a sorted run. The runs are then
+ * merged through a heap that holds the current shape of every run, and the
+ * merged stream is written to the output as a binary shape file. When there
+ * are more runs than can be merged at once within the budget, consecutive
+ * groups of runs are first merged into longer runs.
+ *
+ * Runs hold consecutive pieces of the input and ties between runs go to the
+ * earlier run, so with a stable in-memory algorithm the output is in the same
+ * order as sorting the whole file in memory.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class ExternalShapeSorter {
+
+    /**
+     * The smallest memory budget accepted, in bytes.
+     */
+    public static final long MIN_MEMORY_BUDGET = 1L << 20;
+
+    /**
+     * Estimated heap bytes per shape while a run is sorted: the Shape object,
+     * the reference to it and the scratch space of the merge-based algorithms.
+     */
+    private static final int BYTES_PER_SHAPE = 96;
+
+    /**
+     * The smallest read buffer given to a run while merging. It limits how
+     * many runs one merge pass takes at once.
+     */
+    private static final int MIN_MERGE_BUFFER_BYTES = 16 * 1024;
+
+    /**
+     * The most runs merged at once, however large the budget.
+     */
+    private static final int MAX_FAN_IN = 256;
+
+    /**
+     * The most records buffered by a run reader or writer; larger buffers do
+     * not make sequential file access noticeably faster.
+     */
+    private static final int MAX_BUFFER_RECORDS = 1 << 16;
+
+    /**
+     * Receives every shape of the merged output in order.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * Called for each shape as it is written to the output.
+         *
+         * @param index the position of the shape in the output
+         * @param total the number of shapes in the output
+         * @param shape the shape
+         */
+        void shapeWritten(int index, int total, Shape shape);
+    }
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ExternalShapeSorter() {
+        throw new AssertionError("ExternalShapeSorter is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Sorts a shape file into a binary shape file.
+     *
+     * @param input the text or binary shape file to sort
+     * @param output the binary shape file to write, replaced if it exists
+     * @param comp the comparator to determine the order of elements
+     * @param sortType the in-memory algorithm that sorts each run
+     * @param memoryBudget the heap bytes the sort may use, at least {@link #MIN_MEMORY_BUDGET}
+     * @param tempDir the directory for the runs, or null for the system temp directory
+     * @param listener receives the merged shapes, or null
+     * @return the statistics of the sort
+     * @throws IOException if a file cannot be read or written
+     * @throws IllegalArgumentException if the comparator, sort type or budget is invalid
+     */
+    public static Result sort(String input, String output, Comparator<Shape> comp, String sortType,
+            long memoryBudget, String tempDir, Listener listener) throws IOException {
+        if (comp == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (memoryBudget < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("Memory budget must be at least " + MIN_MEMORY_BUDGET
+                + " bytes: " + memoryBudget);
+        }
+        Path dir = Paths.get(tempDir != null ? tempDir : System.getProperty("java.io.tmpdir"));
+
+        long start = System.nanoTime();
+        List<Run> runs = new ArrayList<>();
+        try {
+            long runSortNanos = writeRuns(input, comp, sortType, memoryBudget, dir, runs);
+            int shapes = 0;
+            for (Run run : runs) {
+                shapes += run.count;
+            }
+            int initialRuns = runs.size();
+
+            int fanIn = (int) Math.min(MAX_FAN_IN, Math.max(2, memoryBudget / MIN_MERGE_BUFFER_BYTES - 1));
+            int passes = 0;
+            while (runs.size() > fanIn) {
+                runs = mergePass(runs, fanIn, comp, memoryBudget, dir);
+                passes++;
+            }
+            merge(runs, output, comp, memoryBudget, listener);
+            passes++;
+
+            return new Result(shapes, initialRuns, passes, runSortNanos, System.nanoTime() - start);
+
+        } finally {
+            for (Run run : runs) {
+                Files.deleteIfExists(run.file);
+            }
+        }
+    }
+
+    /**
+     * Reads the input a chunk at a time, sorts every chunk and spills it to a run.
+     *
+     * @param runs receives the runs written, so they are deleted even on failure
+     * @return the total nanoseconds spent sorting chunks
+     */
+    private static long writeRuns(String input, Comparator<Shape> comp, String sortType,
+            long memoryBudget, Path dir, List<Run> runs) throws IOException {
+        Chunk chunk = new Chunk((int) Math.min(Integer.MAX_VALUE - 8, memoryBudget / BYTES_PER_SHAPE));
+        long runSortNanos = 0;
+
+        try (ShapeReader reader = ShapeReader.open(input)) {
+            while (reader.read(chunk, chunk.shapes.length - chunk.size) > 0) {
+                if (chunk.size < chunk.shapes.length) {
+                    continue;
+                }
+                runSortNanos += spill(chunk, comp, sortType, dir, runs);
+            }
+        }
+        if (chunk.size > 0) {
+            runSortNanos += spill(chunk, comp, sortType, dir, runs);
+        }
+        return runSortNanos;
+    }
+
+    /**
+     * Sorts the shapes of a chunk, writes them to a new run and empties the chunk.
+     *
+     * @return the nanoseconds spent sorting
+     */
+    private static long spill(Chunk chunk, Comparator<Shape> comp, String sortType,
+            Path dir, List<Run> runs) throws IOException {
+        Shape[] shapes = chunk.size == chunk.shapes.length ? chunk.shapes : Arrays.copyOf(chunk.shapes, chunk.size);
+        long nanos = Sorts.benchmarkSort(shapes, comp, sortType);
+
+        Run run = new Run(Files.createTempFile(dir, "shapes-run-", ".bin"), shapes.length);
+        runs.add(run);
+        try (BinaryShapeFile.Writer writer = new BinaryShapeFile.Writer(run.file.toString(), shapes.length,
+                MAX_BUFFER_RECORDS)) {
+            for (Shape shape : shapes) {
+                writer.write(shape);
+            }
+        }
+
+        chunk.size = 0;
+        return nanos;
+    }
+
+    /**
+     * Merges consecutive groups of runs into longer runs.
+     *
+     * @return the merged runs, in input order
+     */
+    private static List<Run> mergePass(List<Run> runs, int fanIn, Comparator<Shape> comp,
+            long memoryBudget, Path dir) throws IOException {
+        List<Run> merged = new ArrayList<>();
+        try {
+            for (int from = 0; from < runs.size(); from += fanIn) {
+                List<Run> group = runs.subList(from, Math.min(runs.size(), from + fanIn));
+                int count = 0;
+                for (Run run : group) {
+                    count += run.count;
+                }
+
+                Run run = new Run(Files.createTempFile(dir, "shapes-run-", ".bin"), count);
+                merged.add(run);
+                merge(group, run.file.toString(), comp, memoryBudget, null);
+                for (Run done : group) {
+                    Files.deleteIfExists(done.file);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // The caller only knows about the runs of the previous pass
+            for (Run run : merged) {
+                Files.deleteIfExists(run.file);
+            }
+            throw e;
+        }
+        return merged;
+    }
+
+    /**
+     * Merges sorted runs into one binary shape file. The budget is shared
+     * evenly between the read buffers of the runs and the write buffer.
+     */
+    private static void merge(List<Run> runs, String output, Comparator<Shape> comp,
+            long memoryBudget, Listener listener) throws IOException {
+        int total = 0;
+        for (Run run : runs) {
+            total += run.count;
+        }
+        int bufferRecords = (int) Math.max(1, Math.min(MAX_BUFFER_RECORDS,
+            memoryBudget / (runs.size() + 1) / BinaryShapeFile.RECORD_BYTES));
+
+        RunCursor[] heap = new RunCursor[runs.size()];
+        int heapSize = 0;
+        try (BinaryShapeFile.Writer writer = new BinaryShapeFile.Writer(output, total, bufferRecords)) {
+            for (int r = 0; r < runs.size(); r++) {
+                RunCursor cursor = new RunCursor(runs.get(r), r, bufferRecords);
+                heap[heapSize++] = cursor;
+                if (!cursor.advance()) {
+                    cursor.close();
+                    heapSize--;
+                }
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(heap, heapSize, i, comp);
+            }
+
+            for (int index = 0; heapSize > 0; index++) {
+                RunCursor top = heap[0];
+                writer.write(top.current);
+                if (listener != null) {
+                    listener.shapeWritten(index, total, top.current);
+                }
+
+                if (!top.advance()) {
+                    top.close();
+                    heap[0] = heap[--heapSize];
+                    heap[heapSize] = null;
+                }
+                siftDown(heap, heapSize, 0, comp);
+            }
+        } finally {
+            for (int i = 0; i < heapSize; i++) {
+                heap[i].close();
+            }
+        }
+    }
+
+    /**
+     * Restores the heap property below position i. The top of the heap is the
+     * cursor whose shape comes first: the largest under the comparator, as in
+     * the in-memory algorithms, and of the earliest run on ties.
+     */
+    private static void siftDown(RunCursor[] heap, int size, int i, Comparator<Shape> comp) {
+        RunCursor item = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child], comp)) {
+                child++;
+            }
+            if (!before(heap[child], item, comp)) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = item;
+    }
+
+    /**
+     * @return true if the current shape of a belongs before that of b in the output
+     */
+    private static boolean before(RunCursor a, RunCursor b, Comparator<Shape> comp) {
+        int c = comp.compare(a.current, b.current);
+        return c > 0 || (c == 0 && a.run < b.run);
+    }
+
+    /**
+     * The shapes of the chunk being filled.
+     */
+    private static final class Chunk implements ShapeSink {
+        private final Shape[] shapes;
+        private int size;
+
+        Chunk(int capacity) {
+            shapes = new Shape[capacity];
+        }
+
+        @Override
+        public void add(ShapeType type, double height, double parameter) {
+            shapes[size++] = type.create(height, parameter);
+        }
+    }
+
+    /**
+     * A sorted run in a temp file.
+     */
+    private static final class Run {
+        private final Path file;
+        private final int count;
+
+        Run(Path file, int count) {
+            this.file = file;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Reads the shapes of a run in order through a fixed buffer.
+     */
+    private static final class RunCursor {
+        private final FileInputStream in;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        /** Position of the run in the merge, used to break ties. */
+        private final int run;
+
+        /** Shapes of the run not yet read into current. */
+        private int remaining;
+
+        /** The shape of the run that is next in the merge. */
+        private Shape current;
+
+        RunCursor(Run run, int index, int bufferRecords) throws IOException {
+            in = new FileInputStream(run.file.toFile());
+            channel = in.getChannel();
+            channel.position(BinaryShapeFile.HEADER_BYTES);
+            buffer = ByteBuffer.allocate(Math.min(run.count, bufferRecords) * BinaryShapeFile.RECORD_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.limit(0);
+            this.run = index;
+            remaining = run.count;
+        }
+
+        /**
+         * Moves to the next shape of the run.
+         *
+         * @return false if the run is exhausted
+         */
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                current = null;
+                return false;
+            }
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+                if (buffer.remaining() < BinaryShapeFile.RECORD_BYTES) {
+                    throw new IOException("Run file ended early: " + remaining + " shapes missing");
+                }
+            }
+            ShapeType type = ShapeType.fromTag(buffer.get());
+            current = type.create(buffer.getDouble(), buffer.getDouble());
+            remaining--;
+            return true;
+        }
+
+        void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * The outcome of an external sort.
+     */
+    public static final class Result {
+        private final int shapes;
+        private final int runs;
+        private final int mergePasses;
+        private final long runSortNanos;
+        private final long totalNanos;
+
+        private Result(int shapes, int runs, int mergePasses, long runSortNanos, long totalNanos) {
+            this.shapes = shapes;
+            this.runs = runs;
+            this.mergePasses = mergePasses;
+            this.runSortNanos = runSortNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        /**
+         * @return the number of shapes sorted
+         */
+        public int getShapes() {
+            return shapes;
+        }
+
+        /**
+         * @return the number of sorted runs the input was split into
+         */
+        public int getRuns() {
+            return runs;
+        }
+
+        /**
+         * @return the number of merge passes, including the final one
+         */
+        public int getMergePasses() {
+            return mergePasses;
+        }
+
+        /**
+         * @return the nanoseconds spent sorting runs in memory
+         */
+        public long getRunSortNanos() {
+            return runSortNanos;
+        }
+
+        /**
+         * @return the nanoseconds the whole sort took, including reading and writing
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+    }
+}
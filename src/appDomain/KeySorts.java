@@ -0,0 +1,550 @@
+package appDomain;
+
+import java.util.Arrays;
+
+/**
+ * Sorting kernels over precomputed primitive keys.
+ * Each kernel mirrors the algorithm of the same name in {@link Sorts}, but
+ * compares doubles from a key array instead of calling a comparator, and
+ * moves a parallel index array along with the keys. Comparisons yield the
+ * same results as the comparator the keys were extracted for, so every kernel
+ * produces exactly the permutation its Shape counterpart would.
+ *
+ * The direction argument is 1 when keys order naturally and -1 when the
+ * comparator reverses them.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+final class KeySorts {
+
+    /**
+     * Subarray size at or below which quick sort switches to insertion sort;
+     * matches the threshold in {@link Sorts}.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Ranges at least this long pick the quick sort pivot with Tukey's ninther.
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * Number of bits sorted per radix pass; 11 bits cover a 64-bit key in six
+     * passes while the bucket counts still fit comfortably in cache.
+     */
+    private static final int RADIX_BITS = 11;
+
+    /**
+     * Number of buckets per radix pass.
+     */
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /**
+     * Number of radix passes needed to cover a 64-bit key.
+     */
+    private static final int RADIX_PASSES = (Long.SIZE + RADIX_BITS - 1) / RADIX_BITS;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private KeySorts() {
+        throw new AssertionError("KeySorts is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Bubble sort over keys; see {@link Sorts#bubbleSort}.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param dir 1 for natural key order, -1 for reversed
+     */
+    static void bubbleSort(double[] keys, int[] idx, int dir) {
+        int n = keys.length;
+        boolean swapped;
+
+        for (int i = 0; i < n - 1; i++) {
+            swapped = false;
+
+            for (int j = 0; j < n - i - 1; j++) {
+                if (compare(keys[j], keys[j + 1], dir) < 0) {
+                    swap(keys, idx, j, j + 1);
+                    swapped = true;
+                }
+            }
+
+            if (!swapped) break;
+        }
+    }
+
+    /**
+     * Selection sort over keys; see {@link Sorts#selectionSort}.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param dir 1 for natural key order, -1 for reversed
+     */
+    static void selectionSort(double[] keys, int[] idx, int dir) {
+        int n = keys.length;
+
+        for (int i = 0; i < n - 1; i++) {
+            int maxIdx = i;
+
+            for (int j = i + 1; j < n; j++) {
+                if (compare(keys[j], keys[maxIdx], dir) > 0) {
+                    maxIdx = j;
+                }
+            }
+
+            swap(keys, idx, maxIdx, i);
+        }
+    }
+
+    /**
+     * Insertion sort over keys; see {@link Sorts#insertionSort}.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param dir 1 for natural key order, -1 for reversed
+     */
+    static void insertionSort(double[] keys, int[] idx, int dir) {
+        int n = keys.length;
+
+        for (int i = 1; i < n; i++) {
+            double key = keys[i];
+            int index = idx[i];
+            int j = i - 1;
+
+            while (j >= 0 && compare(keys[j], key, dir) < 0) {
+                keys[j + 1] = keys[j];
+                idx[j + 1] = idx[j];
+                j--;
+            }
+
+            keys[j + 1] = key;
+            idx[j + 1] = index;
+        }
+    }
+
+    /**
+     * Merge sort over keys; see {@link Sorts#mergeSort}.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param dir 1 for natural key order, -1 for reversed
+     */
+    static void mergeSort(double[] keys, int[] idx, int dir) {
+        if (keys.length < 2) return;
+
+        mergeSortHelper(keys, idx, 0, keys.length - 1, dir);
+    }
+
+    private static void mergeSortHelper(double[] keys, int[] idx, int left, int right, int dir) {
+        if (left < right) {
+            int mid = left + (right - left) / 2;
+
+            mergeSortHelper(keys, idx, left, mid, dir);
+            mergeSortHelper(keys, idx, mid + 1, right, dir);
+
+            merge(keys, idx, left, mid, right, dir);
+        }
+    }
+
+    private static void merge(double[] keys, int[] idx, int left, int mid, int right, int dir) {
+        int n1 = mid - left + 1;
+        int n2 = right - mid;
+
+        double[] leftKeys = new double[n1];
+        double[] rightKeys = new double[n2];
+        int[] leftIdx = new int[n1];
+        int[] rightIdx = new int[n2];
+
+        System.arraycopy(keys, left, leftKeys, 0, n1);
+        System.arraycopy(keys, mid + 1, rightKeys, 0, n2);
+        System.arraycopy(idx, left, leftIdx, 0, n1);
+        System.arraycopy(idx, mid + 1, rightIdx, 0, n2);
+
+        int i = 0, j = 0, k = left;
+
+        while (i < n1 && j < n2) {
+            if (compare(leftKeys[i], rightKeys[j], dir) >= 0) {
+                keys[k] = leftKeys[i];
+                idx[k++] = leftIdx[i++];
+            } else {
+                keys[k] = rightKeys[j];
+                idx[k++] = rightIdx[j++];
+            }
+        }
+
+        while (i < n1) {
+            keys[k] = leftKeys[i];
+            idx[k++] = leftIdx[i++];
+        }
+
+        while (j < n2) {
+            keys[k] = rightKeys[j];
+            idx[k++] = rightIdx[j++];
+        }
+    }
+
+    /**
+     * Introsort over keys; see {@link Sorts#quickSort}.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param dir 1 for natural key order, -1 for reversed
+     */
+    static void quickSort(double[] keys, int[] idx, int dir) {
+        if (keys.length < 2) return;
+
+        quickSortHelper(keys, idx, 0, keys.length - 1, 2 * Sorts.floorLog2(keys.length), dir);
+    }
+
+    private static void quickSortHelper(double[] keys, int[] idx, int low, int high, int depthLimit, int dir) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(keys, idx, low, high, dir);
+                return;
+            }
+
+            long bounds = partition(keys, idx, low, high, dir);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (lessEnd - low < high - greaterStart) {
+                quickSortHelper(keys, idx, low, lessEnd, depthLimit, dir);
+                low = greaterStart;
+            } else {
+                quickSortHelper(keys, idx, greaterStart, high, depthLimit, dir);
+                high = lessEnd;
+            }
+        }
+
+        insertionSort(keys, idx, low, high, dir);
+    }
+
+    private static long partition(double[] keys, int[] idx, int low, int high, int dir) {
+        swap(keys, idx, low, choosePivot(keys, low, high, dir));
+        double pivot = keys[low];
+
+        int i = low, j = high + 1;
+        int p = low, q = high + 1;
+
+        while (true) {
+            while (compare(keys[++i], pivot, dir) > 0) {
+                if (i == high) break;
+            }
+            while (compare(keys[--j], pivot, dir) < 0) {
+                if (j == low) break;
+            }
+
+            if (i == j && compare(keys[i], pivot, dir) == 0) {
+                swap(keys, idx, ++p, i);
+            }
+            if (i >= j) break;
+
+            swap(keys, idx, i, j);
+            if (compare(keys[i], pivot, dir) == 0) swap(keys, idx, ++p, i);
+            if (compare(keys[j], pivot, dir) == 0) swap(keys, idx, --q, j);
+        }
+
+        i = j + 1;
+        for (int k = low; k <= p; k++) {
+            swap(keys, idx, k, j--);
+        }
+        for (int k = high; k >= q; k--) {
+            swap(keys, idx, k, i++);
+        }
+
+        return ((long) j << 32) | (i & 0xFFFFFFFFL);
+    }
+
+    private static int choosePivot(double[] keys, int low, int high, int dir) {
+        int mid = low + (high - low) / 2;
+
+        if (high - low < NINTHER_THRESHOLD) {
+            return medianOfThree(keys, low, mid, high, dir);
+        }
+
+        int step = (high - low) / 8;
+        int first = medianOfThree(keys, low, low + step, low + 2 * step, dir);
+        int middle = medianOfThree(keys, mid - step, mid, mid + step, dir);
+        int last = medianOfThree(keys, high - 2 * step, high - step, high, dir);
+        return medianOfThree(keys, first, middle, last, dir);
+    }
+
+    private static int medianOfThree(double[] keys, int a, int b, int c, int dir) {
+        if (compare(keys[a], keys[b], dir) > 0) {
+            if (compare(keys[b], keys[c], dir) > 0) return b;
+            return compare(keys[a], keys[c], dir) > 0 ? c : a;
+        }
+        if (compare(keys[a], keys[c], dir) > 0) return a;
+        return compare(keys[b], keys[c], dir) > 0 ? c : b;
+    }
+
+    private static void insertionSort(double[] keys, int[] idx, int left, int right, int dir) {
+        for (int i = left + 1; i <= right; i++) {
+            double key = keys[i];
+            int index = idx[i];
+            int j = i - 1;
+
+            while (j >= left && compare(keys[j], key, dir) < 0) {
+                keys[j + 1] = keys[j];
+                idx[j + 1] = idx[j];
+                j--;
+            }
+
+            keys[j + 1] = key;
+            idx[j + 1] = index;
+        }
+    }
+
+    /**
+     * Heap sort over keys; see {@link Sorts#heapSort}.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param dir 1 for natural key order, -1 for reversed
+     */
+    static void heapSort(double[] keys, int[] idx, int dir) {
+        heapSort(keys, idx, 0, keys.length - 1, dir);
+    }
+
+    private static void heapSort(double[] keys, int[] idx, int low, int high, int dir) {
+        int n = high - low + 1;
+
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(keys, idx, low, n, i, keys[low + i], idx[low + i], dir);
+        }
+
+        for (int end = n - 1; end > 0; end--) {
+            double value = keys[low + end];
+            int index = idx[low + end];
+            keys[low + end] = keys[low];
+            idx[low + end] = idx[low];
+            siftDown(keys, idx, low, end, 0, value, index, dir);
+        }
+    }
+
+    private static void siftDown(double[] keys, int[] idx, int base, int n, int hole,
+                                 double value, int index, int dir) {
+        int top = hole;
+
+        int child;
+        while ((child = 2 * hole + 1) < n) {
+            if (child + 1 < n && compare(keys[base + child + 1], keys[base + child], dir) < 0) {
+                child++;
+            }
+            keys[base + hole] = keys[base + child];
+            idx[base + hole] = idx[base + child];
+            hole = child;
+        }
+
+        while (hole > top) {
+            int parent = (hole - 1) / 2;
+            if (compare(value, keys[base + parent], dir) >= 0) break;
+
+            keys[base + hole] = keys[base + parent];
+            idx[base + hole] = idx[base + parent];
+            hole = parent;
+        }
+
+        keys[base + hole] = value;
+        idx[base + hole] = index;
+    }
+
+    /**
+     * 4-ary heap sort over keys; see {@link Sorts#quaternaryHeapSort}.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param dir 1 for natural key order, -1 for reversed
+     */
+    static void quaternaryHeapSort(double[] keys, int[] idx, int dir) {
+        int n = keys.length;
+        if (n < 2) return;
+
+        for (int i = (n - 2) / 4; i >= 0; i--) {
+            siftDownQuaternary(keys, idx, n, i, keys[i], idx[i], dir);
+        }
+
+        for (int end = n - 1; end > 0; end--) {
+            double value = keys[end];
+            int index = idx[end];
+            keys[end] = keys[0];
+            idx[end] = idx[0];
+            siftDownQuaternary(keys, idx, end, 0, value, index, dir);
+        }
+    }
+
+    private static void siftDownQuaternary(double[] keys, int[] idx, int n, int hole,
+                                           double value, int index, int dir) {
+        int top = hole;
+
+        int first;
+        while ((first = 4 * hole + 1) < n) {
+            int last = Math.min(first + 3, n - 1);
+            int child = first;
+            for (int c = first + 1; c <= last; c++) {
+                if (compare(keys[c], keys[child], dir) < 0) {
+                    child = c;
+                }
+            }
+            keys[hole] = keys[child];
+            idx[hole] = idx[child];
+            hole = child;
+        }
+
+        while (hole > top) {
+            int parent = (hole - 1) / 4;
+            if (compare(value, keys[parent], dir) >= 0) break;
+
+            keys[hole] = keys[parent];
+            idx[hole] = idx[parent];
+            hole = parent;
+        }
+
+        keys[hole] = value;
+        idx[hole] = index;
+    }
+
+    /**
+     * LSD radix sort over keys; see {@link Sorts#radixSort}.
+     * Each key is mapped to a 64-bit pattern whose unsigned order matches
+     * Double.compare, and the patterns are distributed 11 bits at a time from
+     * the least significant end together with their indices. Passes in which
+     * every key has the same digit are skipped. Being stable, it yields the
+     * same permutation as merge sort.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param dir 1 for natural key order, -1 for reversed
+     */
+    static void radixSort(double[] keys, int[] idx, int dir) {
+        radixSort(keys, idx, 0, keys.length, dir);
+    }
+
+    /**
+     * LSD radix sort over keys[from..to) and the matching indices; see
+     * {@link #radixSort(double[], int[], int)}.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param from the first position of the range, inclusive
+     * @param to the last position of the range, exclusive
+     * @param dir 1 for natural key order, -1 for reversed
+     */
+    static void radixSort(double[] keys, int[] idx, int from, int to, int dir) {
+        int n = to - from;
+        if (n < 2) return;
+
+        // Elements are ordered descending in the given direction, so the
+        // patterns are inverted unless the direction is already reversed
+        long flip = dir < 0 ? 0L : -1L;
+        long[] bits = new long[n];
+
+        // Count the digits of every pass in a single read of the keys
+        int[][] counts = new int[RADIX_PASSES][RADIX];
+        for (int i = 0; i < n; i++) {
+            long key = sortableBits(keys[from + i]) ^ flip;
+            bits[i] = key;
+            for (int pass = 0; pass < RADIX_PASSES; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        long[] bitsBuffer = new long[n];
+        int[] idxBuffer = new int[n];
+        // A range starting at 0 is distributed from idx itself; any other is copied out first
+        int[] order = from == 0 ? idx : Arrays.copyOfRange(idx, from, to);
+
+        for (int pass = 0; pass < RADIX_PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] offsets = counts[pass];
+
+            // Every key has the same digit here, so this pass would not move anything
+            if (offsets[(int) (bits[0] >>> shift) & (RADIX - 1)] == n) continue;
+
+            // Turn the counts into starting offsets
+            int offset = 0;
+            for (int b = 0; b < RADIX; b++) {
+                int count = offsets[b];
+                offsets[b] = offset;
+                offset += count;
+            }
+
+            // Distribute patterns and indices in order, which keeps the sort stable
+            for (int i = 0; i < n; i++) {
+                long key = bits[i];
+                int dest = offsets[(int) (key >>> shift) & (RADIX - 1)]++;
+                bitsBuffer[dest] = key;
+                idxBuffer[dest] = order[i];
+            }
+
+            long[] tempBits = bits;
+            bits = bitsBuffer;
+            bitsBuffer = tempBits;
+
+            int[] tempIdx = order;
+            order = idxBuffer;
+            idxBuffer = tempIdx;
+        }
+
+        if (order != idx) {
+            System.arraycopy(order, 0, idx, from, n);
+        }
+        for (int i = 0; i < n; i++) {
+            keys[from + i] = fromSortableBits(bits[i] ^ flip);
+        }
+    }
+
+    /**
+     * Parallel sample sort over keys; see {@link Sorts#parallelSampleSort}.
+     * Buckets are radix sorted, so the result is the permutation of
+     * {@link #radixSort(double[], int[], int)}.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param dir 1 for natural key order, -1 for reversed
+     */
+    static void parallelSampleSort(double[] keys, int[] idx, int dir) {
+        SampleSort.sortKeys(keys, idx, dir, Sorts.getPool());
+    }
+
+    /**
+     * Maps a double to a long whose unsigned order matches Double.compare.
+     * Positive values get their sign bit set; negative values have all bits
+     * inverted so that larger magnitudes order first.
+     */
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Inverts {@link #sortableBits(double)}.
+     */
+    private static double fromSortableBits(long bits) {
+        return Double.longBitsToDouble(bits ^ ((~bits >> 63) | Long.MIN_VALUE));
+    }
+
+    /**
+     * Compares two keys in the given direction.
+     */
+    private static int compare(double a, double b, int dir) {
+        return dir * Double.compare(a, b);
+    }
+
+    /**
+     * Swaps two keys and their indices.
+     */
+    private static void swap(double[] keys, int[] idx, int i, int j) {
+        double tempKey = keys[i];
+        keys[i] = keys[j];
+        keys[j] = tempKey;
+
+        int tempIdx = idx[i];
+        idx[i] = idx[j];
+        idx[j] = tempIdx;
+    }
+}
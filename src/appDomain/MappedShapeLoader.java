@@ -0,0 +1,906 @@
+package appDomain;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Loads shape files by scanning memory-mapped bytes directly.
+ * File format: the first line contains the count, each following line holds
+ * "ShapeType height parameter". Lines are found, trimmed and split on the
+ * mapped bytes, the type token is matched without building a String, and the
+ * doubles are parsed in place. Only error messages decode text, so the
+ * warnings and errors are the same ones the line-based reader printed.
+ *
+ * Files are mapped in windows, so files larger than 2 GB can be read, and
+ * large files can be parsed on several threads.
+ * The file is assumed to use an ASCII-compatible encoding such as UTF-8.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class MappedShapeLoader {
+
+    /**
+     * Bytes mapped at a time; a window is remapped from the start of the line
+     * that runs past its end.
+     */
+    private static final int WINDOW_SIZE = 1 << 26;
+
+    /**
+     * Files smaller than this are loaded sequentially even when threads are available.
+     */
+    private static final long PARALLEL_THRESHOLD = 1 << 22;
+
+    /**
+     * Smallest chunk handed to a worker by the parallel loader.
+     */
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Length of the shortest valid shape line ("Cone 1 1") plus its line
+     * terminator, which bounds the number of shapes the rest of a file can hold.
+     */
+    private static final int MIN_LINE_BYTES = 9;
+
+    /**
+     * Most significant digits parsed on the fast path; more could overflow a long.
+     */
+    private static final int MAX_FAST_DIGITS = 18;
+
+    /**
+     * Powers of ten that are exactly representable as doubles.
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    /**
+     * Prints the message for a skipped line straight to the error stream.
+     */
+    private static final Consumer<String> PRINT_WARNING = message -> System.err.println(message);
+
+    private static final ShapeType[] TYPES = ShapeType.values();
+
+    /**
+     * Lower-case ASCII file names of the shape types, indexed like TYPES.
+     */
+    private static final byte[][] TYPE_NAMES = new byte[TYPES.length][];
+
+    static {
+        for (int t = 0; t < TYPES.length; t++) {
+            TYPE_NAMES[t] = TYPES[t].getFileName().toLowerCase().getBytes(CHARSET);
+        }
+    }
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private MappedShapeLoader() {
+        throw new AssertionError("MappedShapeLoader is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Loads shapes from the specified file.
+     *
+     * @param filename the path to the shapes data file
+     * @return array of Shape objects, or null if error occurs
+     */
+    public static Shape[] load(String filename) {
+        ShapeList shapes = read(filename, ShapeList::new);
+        return shapes != null ? shapes.toArray() : null;
+    }
+
+    /**
+     * Loads shapes from the specified file into a columnar table, without
+     * creating Shape objects.
+     *
+     * @param filename the path to the shapes data file
+     * @return the table of shapes, or null if error occurs
+     */
+    public static ShapeTable loadTable(String filename) {
+        ShapeTable table = read(filename, ShapeTable::new);
+        if (table != null) {
+            table.trimToSize();
+        }
+        return table;
+    }
+
+    /**
+     * Reads the file sequentially into a sink.
+     *
+     * @param filename the path to the shapes data file
+     * @param newSink creates the sink for an expected number of shapes
+     * @return the filled sink, or null if error occurs
+     */
+    private static <T extends ShapeSink> T read(String filename, IntFunction<T> newSink) {
+        try (TextReader reader = new TextReader(filename)) {
+            T shapes = newSink.apply(reader.expectedShapes());
+            reader.read(shapes, Integer.MAX_VALUE);
+            return shapes;
+
+        } catch (IOException e) {
+            System.err.println("Error reading file '" + filename + "': " + e.getMessage());
+            return null;
+        } catch (SecurityException e) {
+            System.err.println("Security exception accessing file '" + filename + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Opens the specified file for reading its shapes a piece at a time.
+     *
+     * @param filename the path to the shapes data file
+     * @return the reader, positioned at the first shape
+     * @throws IOException if the file cannot be opened
+     */
+    static ShapeReader openReader(String filename) throws IOException {
+        return new TextReader(filename);
+    }
+
+    /**
+     * Loads shapes from the specified file, parsing it on several threads.
+     * The lines after the header are split into chunks at line boundaries. The
+     * workers first count the lines of every chunk, which tells each chunk the
+     * file line it starts at, and then parse the chunks into tables of their
+     * own. The tables are appended in file order as they are finished, and the
+     * messages for skipped lines are printed in file order as well, so the
+     * result and the output are the same as {@link #load(String)}. Small files
+     * and a single thread use the sequential loader.
+     *
+     * @param filename the path to the shapes data file
+     * @param threads the number of worker threads
+     * @return array of Shape objects, or null if error occurs
+     */
+    public static Shape[] load(String filename, int threads) {
+        ShapeList shapes = read(filename, threads, ShapeList::new);
+        return shapes != null ? shapes.toArray() : null;
+    }
+
+    /**
+     * Loads shapes from the specified file into a columnar table, parsing it
+     * on several threads as {@link #load(String, int)} does.
+     *
+     * @param filename the path to the shapes data file
+     * @param threads the number of worker threads
+     * @return the table of shapes, or null if error occurs
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public static ShapeTable loadTable(String filename, int threads) {
+        ShapeTable table = read(filename, threads, ShapeTable::new);
+        if (table != null) {
+            table.trimToSize();
+        }
+        return table;
+    }
+
+    /**
+     * Loads shapes from the specified file into off-heap storage, parsing it on
+     * several threads as {@link #load(String, int)} does. A chunk's shapes only
+     * stay on the heap until they are copied into the store.
+     *
+     * @param filename the path to the shapes data file
+     * @param threads the number of worker threads
+     * @return the store of shapes, or null if error occurs
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public static OffHeapShapeStore loadStore(String filename, int threads) {
+        return read(filename, threads, OffHeapShapeStore::new);
+    }
+
+    /**
+     * Reads the file into a sink, on several threads if it is large enough.
+     *
+     * @param filename the path to the shapes data file
+     * @param threads the number of worker threads
+     * @param newSink creates the sink for an expected number of shapes
+     * @return the filled sink, or null if error occurs
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    private static <T extends ShapeSink> T read(String filename, int threads, IntFunction<T> newSink) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
+        }
+
+        try (FileInputStream in = new FileInputStream(filename);
+             FileChannel channel = in.getChannel()) {
+            long size = channel.size();
+            if (threads == 1 || size < PARALLEL_THRESHOLD) {
+                return read(filename, newSink);
+            }
+
+            LineReader reader = new LineReader(channel);
+            if (!reader.nextLine()) {
+                System.err.println("Error: File is empty");
+                return newSink.apply(0);
+            }
+
+            // Parse the count of shapes from first line
+            int count = parseShapeCount(reader.lineString().trim());
+            if (count <= 0) {
+                return newSink.apply(0);
+            }
+
+            List<Chunk> chunks = split(channel, reader.nextLineOffset(), size, threads);
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                // Phase 1: count the lines of every chunk
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (Chunk chunk : chunks) {
+                    tasks.add(() -> {
+                        chunk.countLines(channel, size);
+                        return null;
+                    });
+                }
+                invokeAll(pool, tasks);
+
+                // Each chunk parses the lines it holds before the expected count is reached
+                long lines = 0;
+                int limits = 0;
+                for (Chunk chunk : chunks) {
+                    chunk.limit = (int) Math.max(0, Math.min(chunk.lines, count - lines));
+                    lines += chunk.lines;
+                    limits += chunk.limit;
+                }
+
+                // Phase 2: parse the chunks
+                List<Future<?>> parsed = new ArrayList<>();
+                for (Chunk chunk : chunks) {
+                    parsed.add(chunk.limit > 0 ? pool.submit(chunk::parse) : null);
+                }
+
+                // Append every chunk in file order as soon as it is parsed, and
+                // release it so that parsed chunks do not pile up on the heap
+                T shapes = newSink.apply(limits);
+                int loaded = 0;
+                for (int c = 0; c < chunks.size(); c++) {
+                    Chunk chunk = chunks.get(c);
+                    if (parsed.get(c) != null) {
+                        await(parsed.get(c));
+                    }
+                    for (String warning : chunk.warnings) {
+                        System.err.println(warning);
+                    }
+                    shapes.addAll(chunk.shapes);
+                    loaded += chunk.shapes.size();
+                    chunks.set(c, null);
+                }
+                if (lines < count) {
+                    System.err.println("Warning: Expected " + count + " shapes but reached end of file at line " + (lines + 1));
+                }
+
+                System.out.println("Successfully loaded " + loaded + " out of " + count + " expected shapes");
+                return shapes;
+            } finally {
+                pool.shutdownNow();
+            }
+
+        } catch (IOException e) {
+            System.err.println("Error reading file '" + filename + "': " + e.getMessage());
+            return null;
+        } catch (SecurityException e) {
+            System.err.println("Security exception accessing file '" + filename + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Runs the tasks on the pool and waits for all of them, rethrowing the
+     * first failure.
+     */
+    private static void invokeAll(ExecutorService pool, List<Callable<Void>> tasks) throws IOException {
+        try {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                await(future);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading shapes");
+        }
+    }
+
+    /**
+     * Waits for a task to finish, rethrowing its failure.
+     */
+    private static void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading shapes");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Splits file[start..size) into chunks that begin and end at line starts.
+     * There are about four chunks per thread for load balancing, and each one
+     * is small enough to map in one piece.
+     */
+    private static List<Chunk> split(FileChannel channel, long start, long size, int threads) throws IOException {
+        long chunkSize = (size - start) / (4L * threads) + 1;
+        chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(WINDOW_SIZE, chunkSize));
+
+        List<Chunk> chunks = new ArrayList<>();
+        long chunkStart = start;
+        while (chunkStart < size) {
+            long chunkEnd = chunkStart + chunkSize < size ? nextLineStart(channel, chunkStart + chunkSize, size) : size;
+            if (chunkEnd - chunkStart > Integer.MAX_VALUE) {
+                throw new IOException("Line at offset " + chunkStart + " is longer than " + Integer.MAX_VALUE + " bytes");
+            }
+            chunks.add(new Chunk(chunkStart, (int) (chunkEnd - chunkStart)));
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the offset of the first line that starts at or after the given
+     * offset, or size if there is none. A line starts after "\n", after "\r\n",
+     * and after a "\r" that is not followed by "\n".
+     *
+     * @param channel the file
+     * @param from an offset greater than zero
+     * @param size the size of the file
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(4096);
+        boolean afterCR = false;
+
+        // Start one byte early, since a terminator there makes from itself a line start
+        long position = from - 1;
+        while (position < size) {
+            buf.clear();
+            int n = channel.read(buf, position);
+            if (n <= 0) break;
+
+            for (int k = 0; k < n; k++) {
+                byte b = buf.get(k);
+                if (afterCR) {
+                    return b == '\n' ? position + k + 1 : position + k;
+                }
+                if (b == '\n') return position + k + 1;
+                if (b == '\r') afterCR = true;
+            }
+            position += n;
+        }
+        return size;
+    }
+
+    /**
+     * A range of whole lines of the file, with the results of parsing it.
+     */
+    private static final class Chunk {
+
+        private final long start;
+        private final int length;
+
+        private MappedByteBuffer buffer;
+
+        /** Number of lines in the chunk, set by countLines. */
+        private int lines;
+
+        /** Number of lines to parse before the expected count is reached. */
+        private int limit;
+
+        private ShapeTable shapes = new ShapeTable(0);
+        private final List<String> warnings = new ArrayList<>();
+
+        /**
+         * @param start the file offset of the first line
+         * @param length the number of bytes in the chunk
+         */
+        Chunk(long start, int length) {
+            this.start = start;
+            this.length = length;
+        }
+
+        /**
+         * Maps the chunk and counts its lines.
+         */
+        void countLines(FileChannel channel, long size) throws IOException {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+
+            int count = 0;
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    count++;
+                } else if (b == '\r' && (i + 1 == length || buffer.get(i + 1) != '\n')) {
+                    // A '\r' ending the chunk cannot be followed by '\n', or the chunk would end after it
+                    count++;
+                }
+            }
+
+            // Only the last line of the file can lack a terminator
+            if (length > 0 && start + length == size) {
+                byte last = buffer.get(length - 1);
+                if (last != '\n' && last != '\r') count++;
+            }
+            lines = count;
+        }
+
+        /**
+         * Parses the first limit lines of the chunk.
+         */
+        void parse() {
+            shapes = new ShapeTable(limit);
+
+            int lineStart = 0;
+            for (int line = 0; line < limit; line++) {
+                int lineEnd = lineStart;
+                while (lineEnd < length) {
+                    byte b = buffer.get(lineEnd);
+                    if (b == '\n' || b == '\r') break;
+                    lineEnd++;
+                }
+
+                parseShape(buffer, lineStart, lineEnd, warnings::add, shapes);
+
+                lineStart = lineEnd + 1;
+                if (lineEnd + 1 < length && buffer.get(lineEnd) == '\r' && buffer.get(lineEnd + 1) == '\n') {
+                    lineStart++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses the shape count from the first line of the file.
+     *
+     * @param countLine the first line containing the shape count
+     * @return parsed count, or 0 if invalid
+     */
+    static int parseShapeCount(String countLine) {
+        try {
+            int count = Integer.parseInt(countLine);
+            if (count < 0) {
+                System.err.println("Error: Shape count cannot be negative: " + count);
+                return 0;
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            System.err.println("Error: Invalid shape count format: " + countLine);
+            return 0;
+        }
+    }
+
+    /**
+     * Parses the shape line held in buf[start..end) and appends the shape to a sink.
+     * Expected format: "ShapeType height parameter"; anything after the third
+     * token is ignored.
+     *
+     * @param buf the buffer holding the line
+     * @param start the index of the first byte of the line
+     * @param end the index just past the last byte of the line, excluding the terminator
+     * @param warnings receives the message when the line is skipped
+     * @param shapes the sink to append the shape to
+     * @return true if the shape was appended, false if parsing fails
+     */
+    static boolean parseShape(ByteBuffer buf, int start, int end, Consumer<String> warnings, ShapeSink shapes) {
+        // Trim the way String.trim() does
+        while (start < end && (buf.get(start) & 0xFF) <= ' ') start++;
+        while (end > start && (buf.get(end - 1) & 0xFF) <= ' ') end--;
+
+        if (start == end) {
+            warnings.accept("Warning: Empty shape line skipped");
+            return false;
+        }
+
+        // Split on whitespace runs the way split("\\s+") does
+        int typeEnd = tokenEnd(buf, start, end);
+        int heightStart = tokenStart(buf, typeEnd, end);
+        int heightEnd = tokenEnd(buf, heightStart, end);
+        int parameterStart = tokenStart(buf, heightEnd, end);
+        int parameterEnd = tokenEnd(buf, parameterStart, end);
+
+        if (parameterStart == end) {
+            warnings.accept("Warning: Invalid shape data (expected 3 parts): " + decode(buf, start, end));
+            return false;
+        }
+
+        double height;
+        double parameter;
+        try {
+            height = parseDouble(buf, heightStart, heightEnd);
+            parameter = parseDouble(buf, parameterStart, parameterEnd);
+        } catch (NumberFormatException e) {
+            warnings.accept("Error parsing numerical values in line: " + decode(buf, start, end));
+            return false;
+        }
+
+        // Validate numerical values
+        if (height <= 0 || parameter <= 0) {
+            warnings.accept("Warning: Shape dimensions must be positive: " + decode(buf, start, end));
+            return false;
+        }
+
+        ShapeType type = matchType(buf, start, typeEnd);
+        if (type == null) {
+            warnings.accept("Unknown shape type: " + decode(buf, start, typeEnd));
+            return false;
+        }
+
+        shapes.add(type, height, parameter);
+        return true;
+    }
+
+    /**
+     * Returns the index of the first separator at or after i, or end.
+     */
+    private static int tokenEnd(ByteBuffer buf, int i, int end) {
+        while (i < end && !isSeparator(buf.get(i))) i++;
+        return i;
+    }
+
+    /**
+     * Returns the index of the first non-separator at or after i, or end.
+     */
+    private static int tokenStart(ByteBuffer buf, int i, int end) {
+        while (i < end && isSeparator(buf.get(i))) i++;
+        return i;
+    }
+
+    /**
+     * Returns true for the characters matched by the regex \s that can occur
+     * inside a line (line terminators never do).
+     */
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == 0x0B || b == '\f';
+    }
+
+    /**
+     * Matches buf[start..end) against the shape type names, ignoring ASCII case.
+     *
+     * @return the matching type, or null if there is none
+     */
+    private static ShapeType matchType(ByteBuffer buf, int start, int end) {
+        int length = end - start;
+
+        candidates:
+        for (int t = 0; t < TYPES.length; t++) {
+            byte[] name = TYPE_NAMES[t];
+            if (name.length != length) continue;
+
+            // The names are letters only, so setting bit 5 folds the case
+            for (int k = 0; k < length; k++) {
+                if ((buf.get(start + k) | 0x20) != name[k]) continue candidates;
+            }
+            return TYPES[t];
+        }
+        return null;
+    }
+
+    /**
+     * Parses the decimal number in buf[start..end) with the same result as
+     * {@link Double#parseDouble(String)}. Plain decimals whose digits fit in 53
+     * bits and whose decimal exponent is at most 22 in magnitude are converted
+     * with a single correctly rounded multiplication or division (Clinger's fast
+     * path), which is exact. Everything else, including NaN, Infinity, hex and
+     * type suffixes, is handed to Double.parseDouble.
+     *
+     * @throws NumberFormatException if the text is not a valid double
+     */
+    static double parseDouble(ByteBuffer buf, int start, int end) {
+        int i = start;
+        boolean negative = false;
+
+        byte c = buf.get(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significant = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+
+        for (; i < end; i++) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9) break;
+            seenDigit = true;
+            mantissa = mantissa * 10 + d;
+            if (mantissa != 0 && ++significant > MAX_FAST_DIGITS) return slowParseDouble(buf, start, end);
+        }
+
+        if (i < end && buf.get(i) == '.') {
+            for (i++; i < end; i++) {
+                int d = buf.get(i) - '0';
+                if (d < 0 || d > 9) break;
+                seenDigit = true;
+                mantissa = mantissa * 10 + d;
+                exponent--;
+                if (mantissa != 0 && ++significant > MAX_FAST_DIGITS) return slowParseDouble(buf, start, end);
+            }
+        }
+
+        if (!seenDigit) return slowParseDouble(buf, start, end);
+
+        if (i < end && (buf.get(i) | 0x20) == 'e') {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buf.get(i) == '-' || buf.get(i) == '+')) {
+                negativeExponent = buf.get(i) == '-';
+                i++;
+            }
+
+            int value = 0;
+            int digits = 0;
+            for (; i < end; i++) {
+                int d = buf.get(i) - '0';
+                if (d < 0 || d > 9) break;
+                value = value * 10 + d;
+                if (++digits > 3) return slowParseDouble(buf, start, end);
+            }
+            if (digits == 0) return slowParseDouble(buf, start, end);
+
+            exponent += negativeExponent ? -value : value;
+        }
+
+        if (i != end || mantissa >= 1L << 53 || exponent < -22 || exponent > 22) {
+            return slowParseDouble(buf, start, end);
+        }
+
+        double value = mantissa;
+        value = exponent < 0 ? value / POWERS_OF_TEN[-exponent] : value * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses buf[start..end) with Double.parseDouble.
+     */
+    private static double slowParseDouble(ByteBuffer buf, int start, int end) {
+        return Double.parseDouble(decode(buf, start, end));
+    }
+
+    /**
+     * Decodes buf[start..end) with the platform charset, as FileReader does.
+     */
+    static String decode(ByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int k = 0; k < bytes.length; k++) {
+            bytes[k] = buf.get(start + k);
+        }
+        return new String(bytes, CHARSET);
+    }
+
+    /**
+     * Reads the shape lines of a file sequentially, a piece at a time.
+     */
+    private static final class TextReader implements ShapeReader {
+
+        private final FileInputStream in;
+        private final LineReader reader;
+
+        /** Number of shapes the header announces, or 0 if it is missing or invalid. */
+        private final int count;
+
+        /** Number of shape lines consumed so far. */
+        private int lines;
+
+        private int loaded;
+        private boolean reported;
+
+        /**
+         * Opens the file and parses its header line.
+         *
+         * @param filename the path to the shapes data file
+         * @throws IOException if the file cannot be opened
+         */
+        TextReader(String filename) throws IOException {
+            in = new FileInputStream(filename);
+            try {
+                reader = new LineReader(in.getChannel());
+                if (!reader.nextLine()) {
+                    System.err.println("Error: File is empty");
+                    count = 0;
+                } else {
+                    // Parse the count of shapes from first line
+                    count = parseShapeCount(reader.lineString().trim());
+                }
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        /**
+         * @return the number of shapes the rest of the file can hold, bounded
+         *         by the header count so a bogus count does not oversize a sink
+         */
+        int expectedShapes() {
+            return count <= 0 ? 0 : (int) Math.min(count, reader.remaining() / MIN_LINE_BYTES + 1);
+        }
+
+        @Override
+        public int read(ShapeSink shapes, int max) throws IOException {
+            int added = 0;
+            while (added < max && lines < count) {
+                if (!reader.nextLine()) {
+                    System.err.println("Warning: Expected " + count + " shapes but reached end of file at line " + (lines + 1));
+                    lines = count;
+                    break;
+                }
+                lines++;
+
+                if (parseShape(reader.buffer(), reader.lineStart(), reader.lineEnd(), PRINT_WARNING, shapes)) {
+                    added++;
+                }
+            }
+            loaded += added;
+
+            if (lines == count && count > 0 && !reported) {
+                System.out.println("Successfully loaded " + loaded + " out of " + count + " expected shapes");
+                reported = true;
+            }
+            return added;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Reads lines from a file channel through a sliding memory-mapped window.
+     * Lines end at "\n", "\r" or "\r\n", exactly as for BufferedReader.readLine.
+     */
+    private static final class LineReader {
+
+        private final FileChannel channel;
+        private final long size;
+
+        private MappedByteBuffer buffer;
+        private long windowStart;
+        private int limit;
+        private int position;
+
+        private int lineStart;
+        private int lineEnd;
+        private boolean skipLF;
+
+        /**
+         * @param channel the channel to read, positioned anywhere
+         * @throws IOException if the file cannot be mapped
+         */
+        LineReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0, 0);
+        }
+
+        /**
+         * Maps the window starting at the given file offset, making it at least
+         * twice as long as the given number of bytes when the file allows.
+         */
+        private void map(long start, int minimum) throws IOException {
+            long length = Math.min(size - start, Math.max(WINDOW_SIZE, 2L * minimum));
+            length = Math.min(length, Integer.MAX_VALUE);
+            if (length <= minimum && start + minimum < size) {
+                throw new IOException("Line at offset " + start + " is longer than " + minimum + " bytes");
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            windowStart = start;
+            limit = (int) length;
+            position = 0;
+        }
+
+        /**
+         * Advances to the next line.
+         *
+         * @return false at the end of the file
+         * @throws IOException if the file cannot be mapped
+         */
+        boolean nextLine() throws IOException {
+            if (skipLF) {
+                // The previous line ended with '\r'; a following '\n' belongs to it
+                if (position == limit && windowStart + limit < size) {
+                    map(windowStart + limit, 0);
+                }
+                if (position < limit && buffer.get(position) == '\n') {
+                    position++;
+                }
+                skipLF = false;
+            }
+
+            if (windowStart + position >= size) {
+                return false;
+            }
+
+            int i = position;
+            while (true) {
+                while (i < limit) {
+                    byte b = buffer.get(i);
+                    if (b == '\n' || b == '\r') break;
+                    i++;
+                }
+                if (i < limit || windowStart + limit >= size) break;
+
+                // The line runs past the window, so remap starting at the line
+                int scanned = i - position;
+                map(windowStart + position, scanned);
+                i = scanned;
+            }
+
+            lineStart = position;
+            lineEnd = i;
+            if (i < limit) {
+                skipLF = buffer.get(i) == '\r';
+                position = i + 1;
+            } else {
+                position = i;
+            }
+            return true;
+        }
+
+        /**
+         * @return the buffer holding the current line
+         */
+        ByteBuffer buffer() {
+            return buffer;
+        }
+
+        /**
+         * @return the index of the first byte of the current line
+         */
+        int lineStart() {
+            return lineStart;
+        }
+
+        /**
+         * @return the index just past the current line, excluding its terminator
+         */
+        int lineEnd() {
+            return lineEnd;
+        }
+
+        /**
+         * @return the current line decoded to a String
+         */
+        String lineString() {
+            return decode(buffer, lineStart, lineEnd);
+        }
+
+        /**
+         * @return the file offset at which the line after the current one starts
+         * @throws IOException if the file cannot be read
+         */
+        long nextLineOffset() throws IOException {
+            long terminator = windowStart + lineEnd;
+            return terminator < size ? nextLineStart(channel, terminator + 1, size) : size;
+        }
+
+        /**
+         * @return the number of bytes after the current line
+         */
+        long remaining() {
+            return size - windowStart - position;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package appDomain;
+
+import java.util.Comparator;
+
+/**
+ * Comparator that orders shapes by a single {@link ShapeMetric}.
+ * Because the order depends only on one double per shape, {@link Sorts}
+ * recognizes this comparator and sorts on precomputed primitive keys instead
+ * of calling {@link #compare(Shape, Shape)}; the result is the same order the
+ * comparator itself would produce.
+ *
+ * There is one final implementation per metric and direction, provided by
+ * {@link ShapeComparator}, whose compare reads the cached metric fields
+ * directly; this class only holds what they have in common.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public abstract class MetricComparator implements Comparator<Shape> {
+
+    private final ShapeMetric metric;
+    private final boolean reversed;
+
+    /**
+     * @param metric the metric compared by
+     * @param reversed true if the natural (ascending) order of the metric is reversed
+     */
+    MetricComparator(ShapeMetric metric, boolean reversed) {
+        this.metric = metric;
+        this.reversed = reversed;
+    }
+
+    /**
+     * Returns a comparator ordering shapes by ascending metric value.
+     *
+     * @param metric the metric to compare by
+     * @return the comparator
+     * @throws IllegalArgumentException if the metric is null
+     */
+    public static MetricComparator comparing(ShapeMetric metric) {
+        return ShapeComparator.of(metric, false);
+    }
+
+    /**
+     * Compares two shapes by their metric values using Double.compare.
+     *
+     * @param s1 the first shape
+     * @param s2 the second shape
+     * @return a negative integer, zero, or a positive integer as the first shape
+     *         orders before, equal to, or after the second
+     */
+    @Override
+    public abstract int compare(Shape s1, Shape s2);
+
+    /**
+     * Returns the key this comparator orders a shape by.
+     *
+     * @param shape the shape
+     * @return the metric value of the shape
+     */
+    public abstract double keyOf(Shape shape);
+
+    /**
+     * @return the metric compared by
+     */
+    public ShapeMetric getMetric() {
+        return metric;
+    }
+
+    /**
+     * @return true if the natural order of the metric is reversed
+     */
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    /**
+     * Returns a comparator imposing the reverse order of this one.
+     *
+     * @return the reversed comparator, still recognized by the key-based sorts
+     */
+    @Override
+    public MetricComparator reversed() {
+        return ShapeComparator.of(metric, !reversed);
+    }
+}
@@ -0,0 +1,292 @@
+package appDomain;
+
+import java.util.Comparator;
+
+/**
+ * Places chosen order statistics of an array at their sorted positions
+ * without sorting the rest (multi-quickselect).
+ *
+ * Each step partitions the current range around a pivot, which lands at its
+ * final position, and continues only into the sides that still hold requested
+ * ranks, so the work is about O(n log m) for m ranks instead of O(n log n).
+ * Ranges that hold a requested rank and are small, or that partition badly
+ * too often (introselect), are sorted outright.
+ *
+ * As in the sorts of {@link Sorts}, a shape comes first when it is larger
+ * under the comparator. Ties are broken by the original position, so every
+ * requested index ends up holding exactly the shape a stable sort such as
+ * merge sort puts there. With a {@link MetricComparator} the metric of every
+ * shape is computed once up front and compared as a primitive.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class MultiSelect {
+
+    /**
+     * Ranges at most this long are sorted by insertion sort.
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private MultiSelect() {
+        throw new AssertionError("MultiSelect is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Returns the indices {@link AppDriver} prints from a sorted array: the
+     * first, every 1000th and the last.
+     *
+     * @param length the length of the array
+     * @return the indices in increasing order
+     */
+    public static int[] checkpointRanks(int length) {
+        if (length == 0) {
+            return new int[0];
+        }
+        int last = length - 1;
+        int[] ranks = new int[1 + last / 1000 + (last % 1000 != 0 ? 1 : 0)];
+        int r = 0;
+        for (int i = 0; i < length; i += 1000) {
+            ranks[r++] = i;
+        }
+        if (last % 1000 != 0) {
+            ranks[r] = last;
+        }
+        return ranks;
+    }
+
+    /**
+     * Reorders the array so that every requested index holds the shape a
+     * stable sort would put there. The other indices hold the remaining
+     * shapes in no particular order.
+     *
+     * @param arr the shapes (will be modified)
+     * @param comp the comparator to determine the order of elements
+     * @param ranks the indices to fix, in strictly increasing order
+     * @throws IllegalArgumentException if the array or comparator is null, or
+     *         the ranks are out of range or not strictly increasing
+     */
+    public static void select(Shape[] arr, Comparator<Shape> comp, int[] ranks) {
+        if (arr == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        if (comp == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (ranks == null) {
+            throw new IllegalArgumentException("Ranks cannot be null");
+        }
+        for (int i = 0; i < ranks.length; i++) {
+            if (ranks[i] < 0 || ranks[i] >= arr.length) {
+                throw new IllegalArgumentException("Rank " + ranks[i] + " is outside the array of length " + arr.length);
+            }
+            if (i > 0 && ranks[i] <= ranks[i - 1]) {
+                throw new IllegalArgumentException("Ranks must be strictly increasing: " + ranks[i - 1] + ", " + ranks[i]);
+            }
+        }
+        if (ranks.length == 0) return;
+
+        new Selection(arr, comp).select(0, arr.length - 1, ranks, 0, ranks.length - 1,
+            2 * (32 - Integer.numberOfLeadingZeros(arr.length)));
+    }
+
+    /**
+     * Benchmarks selecting ranks over repeated runs. Like
+     * {@link Sorts#benchmarkSort(Shape[], Comparator, String, int, int)},
+     * every iteration works on a fresh copy of the input, and the array is
+     * left as the last run arranged it.
+     *
+     * @param arr the shapes (will be modified)
+     * @param comp the comparator to determine the order of elements
+     * @param ranks the indices to fix, in strictly increasing order
+     * @param warmupIterations the number of unmeasured runs, at least 0
+     * @param measuredIterations the number of measured runs, at least 1
+     * @return the timing statistics of the measured runs
+     * @throws IllegalArgumentException if an argument is invalid
+     */
+    public static SortStatistics benchmarkSelect(Shape[] arr, Comparator<Shape> comp, int[] ranks,
+            int warmupIterations, int measuredIterations) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Warm-up iterations cannot be negative: " + warmupIterations);
+        }
+        if (measuredIterations < 1) {
+            throw new IllegalArgumentException("Measured iterations must be at least 1: " + measuredIterations);
+        }
+
+        Shape[] work = arr.clone();
+        for (int i = 0; i < warmupIterations; i++) {
+            System.arraycopy(arr, 0, work, 0, arr.length);
+            select(work, comp, ranks);
+        }
+
+        long[] samples = new long[measuredIterations];
+        for (int i = 0; i < measuredIterations; i++) {
+            System.arraycopy(arr, 0, work, 0, arr.length);
+            long startTime = System.nanoTime();
+            select(work, comp, ranks);
+            samples[i] = System.nanoTime() - startTime;
+        }
+
+        System.arraycopy(work, 0, arr, 0, arr.length);
+        return new SortStatistics(samples, warmupIterations);
+    }
+
+    /**
+     * The array being arranged, with the original position of every shape and,
+     * for metric comparators, its key, all moved together.
+     */
+    private static final class Selection {
+        private final Shape[] shapes;
+        private final int[] positions;
+        private final double[] keys;
+        private final Comparator<Shape> comp;
+
+        /** 1 for ascending metric order, -1 for reversed. */
+        private final int dir;
+
+        Selection(Shape[] shapes, Comparator<Shape> comp) {
+            this.shapes = shapes;
+            this.comp = comp;
+            positions = new int[shapes.length];
+            for (int i = 0; i < shapes.length; i++) {
+                positions[i] = i;
+            }
+
+            if (comp instanceof MetricComparator) {
+                MetricComparator metricComp = (MetricComparator) comp;
+                keys = new double[shapes.length];
+                for (int i = 0; i < shapes.length; i++) {
+                    keys[i] = metricComp.keyOf(shapes[i]);
+                }
+                dir = metricComp.isReversed() ? -1 : 1;
+            } else {
+                keys = null;
+                dir = 1;
+            }
+        }
+
+        /**
+         * Fixes ranks[rlo..rhi], all of which lie in lo..hi.
+         *
+         * @param depth the bad partitions left before sorting the range outright
+         */
+        void select(int lo, int hi, int[] ranks, int rlo, int rhi, int depth) {
+            while (rlo <= rhi) {
+                if (hi - lo < INSERTION_THRESHOLD) {
+                    insertionSort(lo, hi);
+                    return;
+                }
+                if (depth-- == 0) {
+                    heapSort(lo, hi);
+                    return;
+                }
+
+                int p = partition(lo, hi);
+
+                // Ranks before the pivot, at it, and after it
+                int split = rlo;
+                while (split <= rhi && ranks[split] < p) split++;
+                int after = split;
+                if (after <= rhi && ranks[after] == p) after++;
+
+                // Recurse into the side with fewer ranks, loop on the other
+                if (split - rlo < rhi - after + 1) {
+                    select(lo, p - 1, ranks, rlo, split - 1, depth);
+                    lo = p + 1;
+                    rlo = after;
+                } else {
+                    select(p + 1, hi, ranks, after, rhi, depth);
+                    hi = p - 1;
+                    rhi = split - 1;
+                }
+            }
+        }
+
+        /**
+         * Partitions lo..hi around the median of three and returns the final
+         * position of the pivot.
+         */
+        private int partition(int lo, int hi) {
+            int mid = lo + (hi - lo) / 2;
+            if (before(mid, lo)) swap(mid, lo);
+            if (before(hi, lo)) swap(hi, lo);
+            if (before(hi, mid)) swap(hi, mid);
+            // lo..mid..hi are now in order; the pivot goes next to hi
+            swap(mid, hi - 1);
+            int pivot = hi - 1;
+
+            int i = lo;
+            int j = hi - 1;
+            while (true) {
+                while (before(++i, pivot)) { }
+                while (before(pivot, --j)) { }
+                if (i >= j) break;
+                swap(i, j);
+            }
+            swap(i, hi - 1);
+            return i;
+        }
+
+        private void insertionSort(int lo, int hi) {
+            for (int i = lo + 1; i <= hi; i++) {
+                for (int j = i; j > lo && before(j, j - 1); j--) {
+                    swap(j, j - 1);
+                }
+            }
+        }
+
+        private void heapSort(int lo, int hi) {
+            int n = hi - lo + 1;
+            for (int i = n / 2 - 1; i >= 0; i--) {
+                siftDown(lo, i, n);
+            }
+            for (int end = n - 1; end > 0; end--) {
+                swap(lo, lo + end);
+                siftDown(lo, 0, end);
+            }
+        }
+
+        /**
+         * Sifts down in the heap at base whose root is the shape sorted last.
+         */
+        private void siftDown(int base, int i, int n) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= n) break;
+                if (child + 1 < n && before(base + child, base + child + 1)) {
+                    child++;
+                }
+                if (!before(base + i, base + child)) break;
+                swap(base + i, base + child);
+                i = child;
+            }
+        }
+
+        /**
+         * @return true if the shape at i comes before the one at j in a stable sort
+         */
+        private boolean before(int i, int j) {
+            int c = keys != null
+                ? dir * Double.compare(keys[i], keys[j])
+                : comp.compare(shapes[i], shapes[j]);
+            return c > 0 || (c == 0 && positions[i] < positions[j]);
+        }
+
+        private void swap(int i, int j) {
+            Shape shape = shapes[i];
+            shapes[i] = shapes[j];
+            shapes[j] = shape;
+            int position = positions[i];
+            positions[i] = positions[j];
+            positions[j] = position;
+            if (keys != null) {
+                double key = keys[i];
+                keys[i] = keys[j];
+                keys[j] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package appDomain;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Shape storage outside the Java heap.
+ * Shapes are kept as fixed 17-byte records in direct byte buffers, laid out
+ * like the records of {@link BinaryShapeFile}: the type tag, then the height
+ * and the type-specific parameter as little-endian doubles. The records are
+ * split over segments of 2^24 rows, so a store is limited only by the direct
+ * memory available to the JVM (see -XX:MaxDirectMemorySize), not by the heap,
+ * and the garbage collector sees a handful of buffer objects however many
+ * shapes are stored.
+ *
+ * Shapes are read through {@link #get(int)}, which creates a Shape, or
+ * through a {@link View}, a flyweight Shape that can be moved from row to row.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class OffHeapShapeStore implements ShapeSink {
+
+    /**
+     * Size of a record in bytes; the same as in binary shape files.
+     */
+    public static final int RECORD_BYTES = BinaryShapeFile.RECORD_BYTES;
+
+    /**
+     * Rows per segment, as a power of two so a row splits into segment and offset by shifting.
+     */
+    private static final int SEGMENT_SHIFT = 24;
+
+    private static final int SEGMENT_ROWS = 1 << SEGMENT_SHIFT;
+
+    private static final int SEGMENT_MASK = SEGMENT_ROWS - 1;
+
+    /**
+     * Fewest rows allocated for a segment, so small stores do not grow one record at a time.
+     */
+    private static final int MIN_SEGMENT_ROWS = 1 << 10;
+
+    /**
+     * Byte offsets of the fields within a record.
+     */
+    private static final int HEIGHT_OFFSET = 1;
+    private static final int PARAMETER_OFFSET = 9;
+
+    private ByteBuffer[] segments = new ByteBuffer[0];
+
+    /** Number of rows the segments can hold. */
+    private long capacity;
+
+    private int size;
+
+    /**
+     * Creates an empty store.
+     */
+    public OffHeapShapeStore() {
+    }
+
+    /**
+     * Creates an empty store with room for the given number of shapes.
+     *
+     * @param capacity the initial capacity
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public OffHeapShapeStore(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        ensureCapacity(capacity);
+    }
+
+    /**
+     * Creates a store holding the rows of a table in order.
+     *
+     * @param table the table to copy
+     * @return the store
+     * @throws IllegalArgumentException if the table is null
+     */
+    public static OffHeapShapeStore of(ShapeTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        OffHeapShapeStore store = new OffHeapShapeStore(table.size());
+        store.addAll(table);
+        return store;
+    }
+
+    /**
+     * Appends a shape to the store.
+     *
+     * @param type the type of the shape
+     * @param height the height of the shape
+     * @param parameter the type-specific parameter (radius or side length)
+     */
+    @Override
+    public void add(ShapeType type, double height, double parameter) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Store cannot hold more than " + Integer.MAX_VALUE + " shapes");
+        }
+        ensureCapacity(size + 1L);
+
+        ByteBuffer segment = segments[size >>> SEGMENT_SHIFT];
+        int offset = (size & SEGMENT_MASK) * RECORD_BYTES;
+        segment.put(offset, type.getTag());
+        segment.putDouble(offset + HEIGHT_OFFSET, height);
+        segment.putDouble(offset + PARAMETER_OFFSET, parameter);
+        size++;
+    }
+
+    /**
+     * Allocates segments until the store can hold minCapacity rows. Only the
+     * last segment may be partial; it is replaced by a full one before another
+     * segment is added after it.
+     */
+    private void ensureCapacity(long minCapacity) {
+        if (minCapacity <= capacity) return;
+
+        int full = (int) (capacity >>> SEGMENT_SHIFT);
+        int count = (int) ((minCapacity + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        ByteBuffer[] grown = Arrays.copyOf(segments, count);
+
+        for (int s = full; s < count; s++) {
+            // Grow a partial last segment geometrically, so appending stays amortized O(1)
+            int rows = s == count - 1
+                ? (int) Math.min(SEGMENT_ROWS, Math.max(minCapacity - ((long) s << SEGMENT_SHIFT),
+                    Math.max(2L * rowsIn(s), MIN_SEGMENT_ROWS)))
+                : SEGMENT_ROWS;
+            ByteBuffer segment = ByteBuffer.allocateDirect(rows * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            if (s < segments.length) {
+                ByteBuffer old = segments[s].duplicate();
+                old.clear();
+                segment.put(old);
+                segment.clear();
+            }
+            grown[s] = segment;
+        }
+
+        segments = grown;
+        capacity = ((long) (count - 1) << SEGMENT_SHIFT) + grown[count - 1].capacity() / RECORD_BYTES;
+    }
+
+    /**
+     * @return the number of rows segment s holds now, or 0 if it does not exist yet
+     */
+    private int rowsIn(int s) {
+        return s < segments.length ? segments[s].capacity() / RECORD_BYTES : 0;
+    }
+
+    /**
+     * @return the number of shapes in the store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row the row index
+     * @return the type of the shape in the row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public ShapeType getType(int row) {
+        checkRow(row);
+        return ShapeType.fromTag(segment(row).get(offset(row)));
+    }
+
+    /**
+     * @param row the row index
+     * @return the height of the shape in the row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public double getHeight(int row) {
+        checkRow(row);
+        return segment(row).getDouble(offset(row) + HEIGHT_OFFSET);
+    }
+
+    /**
+     * @param row the row index
+     * @return the radius or side length of the shape in the row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public double getParameter(int row) {
+        checkRow(row);
+        return segment(row).getDouble(offset(row) + PARAMETER_OFFSET);
+    }
+
+    /**
+     * Returns a metric of the shape in a row, computed with the same formula
+     * as the shape constructors.
+     *
+     * @param metric the metric
+     * @param row the row index
+     * @return the metric value, equal to that of the materialized shape
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public double getMetric(ShapeMetric metric, int row) {
+        checkRow(row);
+        return metricOf(metric, row);
+    }
+
+    /**
+     * Computes a metric without checking the row.
+     */
+    private double metricOf(ShapeMetric metric, int row) {
+        ByteBuffer segment = segment(row);
+        int offset = offset(row);
+        double height = segment.getDouble(offset + HEIGHT_OFFSET);
+
+        switch (metric) {
+            case HEIGHT:
+                return height;
+            case BASE_AREA:
+                return ShapeType.fromTag(segment.get(offset)).baseArea(segment.getDouble(offset + PARAMETER_OFFSET));
+            case VOLUME:
+                return ShapeType.fromTag(segment.get(offset)).volume(height, segment.getDouble(offset + PARAMETER_OFFSET));
+            default:
+                throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+    }
+
+    /**
+     * Creates the Shape object for a row.
+     *
+     * @param row the row index
+     * @return a new shape equal to the one the row describes
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public Shape get(int row) {
+        return getType(row).create(getHeight(row), getParameter(row));
+    }
+
+    /**
+     * Creates a flyweight view positioned at the first row.
+     *
+     * @return the view
+     */
+    public View view() {
+        return new View();
+    }
+
+    /**
+     * Returns a copy of the store in newly allocated direct memory.
+     *
+     * @return the copy
+     */
+    public OffHeapShapeStore copy() {
+        OffHeapShapeStore copy = new OffHeapShapeStore(size);
+        for (int s = 0; s < copy.segments.length; s++) {
+            ByteBuffer source = segments[s].duplicate();
+            source.clear();
+            source.limit(Math.min(source.capacity(), copy.segments[s].capacity()));
+            ByteBuffer target = copy.segments[s].duplicate();
+            target.clear();
+            target.put(source);
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Extracts a metric of every row into an array on the heap.
+     *
+     * @param metric the metric
+     * @return the metric values in row order
+     */
+    double[] metricColumn(ShapeMetric metric) {
+        double[] column = new double[size];
+        for (int i = 0; i < size; i++) {
+            column[i] = metricOf(metric, i);
+        }
+        return column;
+    }
+
+    /**
+     * Reorders the records in place so that row i afterwards holds what was
+     * row order[i]. The permutation is followed cycle by cycle with a single
+     * record held aside, so no extra direct memory is needed however large the
+     * store is. Visited entries of order are marked by complementing them and
+     * restored before returning.
+     *
+     * @param order a permutation of 0..size-1
+     */
+    void permute(int[] order) {
+        for (int start = 0; start < size; start++) {
+            if (order[start] < 0) continue;
+
+            ByteBuffer startSegment = segment(start);
+            int startOffset = offset(start);
+            byte tag = startSegment.get(startOffset);
+            long height = startSegment.getLong(startOffset + HEIGHT_OFFSET);
+            long parameter = startSegment.getLong(startOffset + PARAMETER_OFFSET);
+
+            // Pull each record of the cycle into the hole until the hole reaches
+            // the position that takes the saved record
+            int hole = start;
+            while (true) {
+                int from = order[hole];
+                order[hole] = ~from;
+                if (from == start) break;
+                moveRecord(from, hole);
+                hole = from;
+            }
+
+            ByteBuffer holeSegment = segment(hole);
+            int holeOffset = offset(hole);
+            holeSegment.put(holeOffset, tag);
+            holeSegment.putLong(holeOffset + HEIGHT_OFFSET, height);
+            holeSegment.putLong(holeOffset + PARAMETER_OFFSET, parameter);
+        }
+
+        for (int i = 0; i < size; i++) {
+            order[i] = ~order[i];
+        }
+    }
+
+    /**
+     * Copies the record in one row over the record in another.
+     */
+    private void moveRecord(int from, int to) {
+        ByteBuffer source = segment(from);
+        int sourceOffset = offset(from);
+        ByteBuffer target = segment(to);
+        int targetOffset = offset(to);
+
+        target.put(targetOffset, source.get(sourceOffset));
+        target.putLong(targetOffset + HEIGHT_OFFSET, source.getLong(sourceOffset + HEIGHT_OFFSET));
+        target.putLong(targetOffset + PARAMETER_OFFSET, source.getLong(sourceOffset + PARAMETER_OFFSET));
+    }
+
+    private ByteBuffer segment(int row) {
+        return segments[row >>> SEGMENT_SHIFT];
+    }
+
+    private static int offset(int row) {
+        return (row & SEGMENT_MASK) * RECORD_BYTES;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside the store of size " + size);
+        }
+    }
+
+    /**
+     * A flyweight Shape backed by one row of the store.
+     * Every getter reads the store, so moving the view with {@link #moveTo(int)}
+     * makes it stand for another shape without allocating. A view compares and
+     * prints like the shape it currently stands for. It is only valid while
+     * that row is not changed, and must not be kept as if it were a shape of
+     * its own.
+     */
+    public final class View extends Shape {
+
+        private int row;
+
+        /**
+         * Creates a view of the first row. The dimensions passed to Shape are
+         * placeholders; every getter is overridden.
+         */
+        private View() {
+            super(1, 0, 0);
+        }
+
+        /**
+         * Moves the view to another row.
+         *
+         * @param row the row index
+         * @return this view
+         * @throws IndexOutOfBoundsException if the row does not exist
+         */
+        public View moveTo(int row) {
+            checkRow(row);
+            this.row = row;
+            return this;
+        }
+
+        /**
+         * @return the row the view stands for
+         */
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * @return the type of the shape the view stands for
+         */
+        public ShapeType getType() {
+            return OffHeapShapeStore.this.getType(row);
+        }
+
+        @Override
+        public double getHeight() {
+            return OffHeapShapeStore.this.getHeight(row);
+        }
+
+        @Override
+        public double getBaseArea() {
+            return getMetric(ShapeMetric.BASE_AREA, row);
+        }
+
+        @Override
+        public double getVolume() {
+            return getMetric(ShapeMetric.VOLUME, row);
+        }
+
+        /**
+         * Returns the string the shape this view stands for would return.
+         *
+         * @return a formatted string representation of the shape
+         */
+        @Override
+        public String toString() {
+            return String.format("%s [height=%.3f, base area=%.3f, volume=%.3f]",
+                getType().getFileName(),
+                getHeight(),
+                getBaseArea(),
+                getVolume());
+        }
+    }
+}
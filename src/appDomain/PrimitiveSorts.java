@@ -0,0 +1,815 @@
+package appDomain;
+
+/**
+ * Sorting kernels for arrays of primitives.
+ * Each kernel mirrors the algorithm of the same name in {@link Sorts}, but
+ * compares the values directly instead of boxing them and calling a
+ * comparator. Like every sort in {@link Sorts}, the kernels order descending,
+ * largest value first; doubles are ordered as by Double.compare, so NaN comes
+ * first and 0.0 comes before -0.0.
+ *
+ * Kernels take an inclusive range lo..hi that the callers in {@link Sorts}
+ * have already validated.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+final class PrimitiveSorts {
+
+    /**
+     * Range size below which merge and quick sort switch to insertion sort;
+     * matches the threshold in {@link Sorts}.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Ranges at least this long pick the quick sort pivot with Tukey's ninther.
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * Number of bits sorted per radix pass, as in {@link KeySorts}.
+     */
+    private static final int RADIX_BITS = 11;
+
+    /**
+     * Number of buckets per radix pass.
+     */
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /**
+     * Number of radix passes needed to cover a 32-bit value.
+     */
+    private static final int INT_RADIX_PASSES = (Integer.SIZE + RADIX_BITS - 1) / RADIX_BITS;
+
+    /**
+     * Number of radix passes needed to cover a 64-bit value.
+     */
+    private static final int LONG_RADIX_PASSES = (Long.SIZE + RADIX_BITS - 1) / RADIX_BITS;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private PrimitiveSorts() {
+        throw new AssertionError("PrimitiveSorts is a utility class and cannot be instantiated");
+    }
+
+    /**
+    /**
+     * Merge sort over arr[lo..hi]; see {@link Sorts#mergeSort(double[])}.
+     */
+    static void mergeSort(double[] arr, int lo, int hi) {
+        if (hi - lo < 1) return;
+
+        mergeSort(arr, new double[(hi - lo) / 2 + 1], lo, hi);
+    }
+
+    /**
+     * Sorts both halves, then merges them by copying the first half into
+     * the buffer and merging it back with the second half in place.
+     */
+    private static void mergeSort(double[] arr, double[] buffer, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertionSort(arr, lo, hi);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        mergeSort(arr, buffer, lo, mid);
+        mergeSort(arr, buffer, mid + 1, hi);
+
+        // The halves are already in order with respect to each other
+        if (Double.compare(arr[mid], arr[mid + 1]) >= 0) return;
+
+        int n = mid - lo + 1;
+        System.arraycopy(arr, lo, buffer, 0, n);
+
+        int i = 0, j = mid + 1, k = lo;
+        while (i < n && j <= hi) {
+            arr[k++] = Double.compare(arr[j], buffer[i]) > 0 ? arr[j++] : buffer[i++];
+        }
+        // Whatever is left of the second half is already in place
+        System.arraycopy(buffer, i, arr, k, n - i);
+    }
+
+    /**
+     * Introsort over arr[lo..hi]; see {@link Sorts#quickSort(double[])}.
+     */
+    static void quickSort(double[] arr, int lo, int hi) {
+        if (hi - lo < 1) return;
+
+        quickSort(arr, lo, hi, 2 * Sorts.floorLog2(hi - lo + 1));
+    }
+
+    private static void quickSort(double[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, lo, hi);
+                return;
+            }
+
+            long bounds = partition(arr, lo, hi);
+            int greaterEnd = (int) (bounds >>> 32);
+            int lessStart = (int) bounds;
+
+            if (greaterEnd - lo < hi - lessStart) {
+                quickSort(arr, lo, greaterEnd, depthLimit);
+                lo = lessStart;
+            } else {
+                quickSort(arr, lessStart, hi, depthLimit);
+                hi = greaterEnd;
+            }
+        }
+
+        insertionSort(arr, lo, hi);
+    }
+
+    /**
+     * Bentley-McIlroy three-way partition, as in {@link Sorts}: values equal
+     * to the pivot are gathered at both ends and swapped into the middle.
+     *
+     * @return the end of the greater part in the high 32 bits and the start
+     *         of the lesser part in the low 32 bits
+     */
+    private static long partition(double[] arr, int lo, int hi) {
+        swap(arr, lo, choosePivot(arr, lo, hi));
+        double pivot = arr[lo];
+
+        int i = lo, j = hi + 1;
+        int p = lo, q = hi + 1;
+
+        while (true) {
+            while (Double.compare(arr[++i], pivot) > 0) {
+                if (i == hi) break;
+            }
+            while (Double.compare(arr[--j], pivot) < 0) {
+                if (j == lo) break;
+            }
+
+            if (i == j && Double.compare(arr[i], pivot) == 0) {
+                swap(arr, ++p, i);
+            }
+            if (i >= j) break;
+
+            swap(arr, i, j);
+            if (Double.compare(arr[i], pivot) == 0) swap(arr, ++p, i);
+            if (Double.compare(arr[j], pivot) == 0) swap(arr, --q, j);
+        }
+
+        i = j + 1;
+        for (int k = lo; k <= p; k++) {
+            swap(arr, k, j--);
+        }
+        for (int k = hi; k >= q; k--) {
+            swap(arr, k, i++);
+        }
+
+        return ((long) j << 32) | (i & 0xFFFFFFFFL);
+    }
+
+    private static int choosePivot(double[] arr, int lo, int hi) {
+        int mid = lo + (hi - lo) / 2;
+
+        if (hi - lo < NINTHER_THRESHOLD) {
+            return medianOfThree(arr, lo, mid, hi);
+        }
+
+        int step = (hi - lo) / 8;
+        int first = medianOfThree(arr, lo, lo + step, lo + 2 * step);
+        int middle = medianOfThree(arr, mid - step, mid, mid + step);
+        int last = medianOfThree(arr, hi - 2 * step, hi - step, hi);
+        return medianOfThree(arr, first, middle, last);
+    }
+
+    private static int medianOfThree(double[] arr, int a, int b, int c) {
+        if (Double.compare(arr[a], arr[b]) > 0) {
+            if (Double.compare(arr[b], arr[c]) > 0) return b;
+            return Double.compare(arr[a], arr[c]) > 0 ? c : a;
+        }
+        if (Double.compare(arr[a], arr[c]) > 0) return a;
+        return Double.compare(arr[b], arr[c]) > 0 ? c : b;
+    }
+
+    private static void insertionSort(double[] arr, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            double value = arr[i];
+            int j = i - 1;
+
+            while (j >= lo && Double.compare(arr[j], value) < 0) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+
+            arr[j + 1] = value;
+        }
+    }
+
+    /**
+     * Heap sort over arr[lo..hi]; see {@link Sorts#heapSort(double[])}.
+     * The heap keeps its smallest value at the root, which is moved to the
+     * end of the shrinking heap on every step.
+     */
+    static void heapSort(double[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, lo, n, i, arr[lo + i]);
+        }
+
+        for (int end = n - 1; end > 0; end--) {
+            double value = arr[lo + end];
+            arr[lo + end] = arr[lo];
+            siftDown(arr, lo, end, 0, value);
+        }
+    }
+
+    /**
+     * Places value into the heap stored at arr[base..base+n), where heap index
+     * hole is vacant.
+     */
+    private static void siftDown(double[] arr, int base, int n, int hole, double value) {
+        int child;
+        while ((child = 2 * hole + 1) < n) {
+            if (child + 1 < n && Double.compare(arr[base + child + 1], arr[base + child]) < 0) {
+                child++;
+            }
+            if (Double.compare(value, arr[base + child]) <= 0) break;
+
+            arr[base + hole] = arr[base + child];
+            hole = child;
+        }
+
+        arr[base + hole] = value;
+    }
+
+    /**
+     * LSD radix sort over arr[lo..hi]; see {@link Sorts#radixSort(double[])}.
+     * The values themselves are distributed, so NaN payloads survive.
+     */
+    static void radixSort(double[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+
+        // Count the digits of every pass in a single read of the values
+        int[][] counts = new int[LONG_RADIX_PASSES][RADIX];
+        for (int i = lo; i <= hi; i++) {
+            long key = descendingBits(arr[i]);
+            for (int pass = 0; pass < LONG_RADIX_PASSES; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        double[] src = arr, dst = new double[n];
+        int srcLo = lo, dstLo = 0;
+        for (int pass = 0; pass < LONG_RADIX_PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] offsets = counts[pass];
+
+            // Every value has the same digit here, so this pass would not move anything
+            if (offsets[(int) (descendingBits(src[srcLo]) >>> shift) & (RADIX - 1)] == n) continue;
+
+            int offset = dstLo;
+            for (int b = 0; b < RADIX; b++) {
+                int count = offsets[b];
+                offsets[b] = offset;
+                offset += count;
+            }
+
+            for (int i = srcLo; i < srcLo + n; i++) {
+                double value = src[i];
+                dst[offsets[(int) (descendingBits(value) >>> shift) & (RADIX - 1)]++] = value;
+            }
+
+            double[] temp = src;
+            src = dst;
+            dst = temp;
+            int tempLo = srcLo;
+            srcLo = dstLo;
+            dstLo = tempLo;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, srcLo, arr, lo, n);
+        }
+    }
+
+    /**
+     * Maps a double to a long whose unsigned order is the reverse of
+     * Double.compare.
+     */
+    private static long descendingBits(double value) {
+        return ~KeySorts.sortableBits(value);
+    }
+
+    private static void swap(double[] arr, int i, int j) {
+        double temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    /**
+     * Merge sort over arr[lo..hi]; see {@link Sorts#mergeSort(int[])}.
+     */
+    static void mergeSort(int[] arr, int lo, int hi) {
+        if (hi - lo < 1) return;
+
+        mergeSort(arr, new int[(hi - lo) / 2 + 1], lo, hi);
+    }
+
+    /**
+     * Sorts both halves, then merges them by copying the first half into
+     * the buffer and merging it back with the second half in place.
+     */
+    private static void mergeSort(int[] arr, int[] buffer, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertionSort(arr, lo, hi);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        mergeSort(arr, buffer, lo, mid);
+        mergeSort(arr, buffer, mid + 1, hi);
+
+        // The halves are already in order with respect to each other
+        if (arr[mid] >= arr[mid + 1]) return;
+
+        int n = mid - lo + 1;
+        System.arraycopy(arr, lo, buffer, 0, n);
+
+        int i = 0, j = mid + 1, k = lo;
+        while (i < n && j <= hi) {
+            arr[k++] = arr[j] > buffer[i] ? arr[j++] : buffer[i++];
+        }
+        // Whatever is left of the second half is already in place
+        System.arraycopy(buffer, i, arr, k, n - i);
+    }
+
+    /**
+     * Introsort over arr[lo..hi]; see {@link Sorts#quickSort(int[])}.
+     */
+    static void quickSort(int[] arr, int lo, int hi) {
+        if (hi - lo < 1) return;
+
+        quickSort(arr, lo, hi, 2 * Sorts.floorLog2(hi - lo + 1));
+    }
+
+    private static void quickSort(int[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, lo, hi);
+                return;
+            }
+
+            long bounds = partition(arr, lo, hi);
+            int greaterEnd = (int) (bounds >>> 32);
+            int lessStart = (int) bounds;
+
+            if (greaterEnd - lo < hi - lessStart) {
+                quickSort(arr, lo, greaterEnd, depthLimit);
+                lo = lessStart;
+            } else {
+                quickSort(arr, lessStart, hi, depthLimit);
+                hi = greaterEnd;
+            }
+        }
+
+        insertionSort(arr, lo, hi);
+    }
+
+    /**
+     * Bentley-McIlroy three-way partition, as in {@link Sorts}: values equal
+     * to the pivot are gathered at both ends and swapped into the middle.
+     *
+     * @return the end of the greater part in the high 32 bits and the start
+     *         of the lesser part in the low 32 bits
+     */
+    private static long partition(int[] arr, int lo, int hi) {
+        swap(arr, lo, choosePivot(arr, lo, hi));
+        int pivot = arr[lo];
+
+        int i = lo, j = hi + 1;
+        int p = lo, q = hi + 1;
+
+        while (true) {
+            while (arr[++i] > pivot) {
+                if (i == hi) break;
+            }
+            while (arr[--j] < pivot) {
+                if (j == lo) break;
+            }
+
+            if (i == j && arr[i] == pivot) {
+                swap(arr, ++p, i);
+            }
+            if (i >= j) break;
+
+            swap(arr, i, j);
+            if (arr[i] == pivot) swap(arr, ++p, i);
+            if (arr[j] == pivot) swap(arr, --q, j);
+        }
+
+        i = j + 1;
+        for (int k = lo; k <= p; k++) {
+            swap(arr, k, j--);
+        }
+        for (int k = hi; k >= q; k--) {
+            swap(arr, k, i++);
+        }
+
+        return ((long) j << 32) | (i & 0xFFFFFFFFL);
+    }
+
+    private static int choosePivot(int[] arr, int lo, int hi) {
+        int mid = lo + (hi - lo) / 2;
+
+        if (hi - lo < NINTHER_THRESHOLD) {
+            return medianOfThree(arr, lo, mid, hi);
+        }
+
+        int step = (hi - lo) / 8;
+        int first = medianOfThree(arr, lo, lo + step, lo + 2 * step);
+        int middle = medianOfThree(arr, mid - step, mid, mid + step);
+        int last = medianOfThree(arr, hi - 2 * step, hi - step, hi);
+        return medianOfThree(arr, first, middle, last);
+    }
+
+    private static int medianOfThree(int[] arr, int a, int b, int c) {
+        if (arr[a] > arr[b]) {
+            if (arr[b] > arr[c]) return b;
+            return arr[a] > arr[c] ? c : a;
+        }
+        if (arr[a] > arr[c]) return a;
+        return arr[b] > arr[c] ? c : b;
+    }
+
+    private static void insertionSort(int[] arr, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int value = arr[i];
+            int j = i - 1;
+
+            while (j >= lo && arr[j] < value) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+
+            arr[j + 1] = value;
+        }
+    }
+
+    /**
+     * Heap sort over arr[lo..hi]; see {@link Sorts#heapSort(int[])}.
+     * The heap keeps its smallest value at the root, which is moved to the
+     * end of the shrinking heap on every step.
+     */
+    static void heapSort(int[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, lo, n, i, arr[lo + i]);
+        }
+
+        for (int end = n - 1; end > 0; end--) {
+            int value = arr[lo + end];
+            arr[lo + end] = arr[lo];
+            siftDown(arr, lo, end, 0, value);
+        }
+    }
+
+    /**
+     * Places value into the heap stored at arr[base..base+n), where heap index
+     * hole is vacant.
+     */
+    private static void siftDown(int[] arr, int base, int n, int hole, int value) {
+        int child;
+        while ((child = 2 * hole + 1) < n) {
+            if (child + 1 < n && arr[base + child + 1] < arr[base + child]) {
+                child++;
+            }
+            if (value <= arr[base + child]) break;
+
+            arr[base + hole] = arr[base + child];
+            hole = child;
+        }
+
+        arr[base + hole] = value;
+    }
+
+    /**
+     * LSD radix sort over arr[lo..hi]; see {@link Sorts#radixSort(int[])}.
+     */
+    static void radixSort(int[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+
+        // Count the digits of every pass in a single read of the values
+        int[][] counts = new int[INT_RADIX_PASSES][RADIX];
+        for (int i = lo; i <= hi; i++) {
+            int key = descendingBits(arr[i]);
+            for (int pass = 0; pass < INT_RADIX_PASSES; pass++) {
+                counts[pass][(key >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        int[] src = arr, dst = new int[n];
+        int srcLo = lo, dstLo = 0;
+        for (int pass = 0; pass < INT_RADIX_PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] offsets = counts[pass];
+
+            // Every value has the same digit here, so this pass would not move anything
+            if (offsets[(descendingBits(src[srcLo]) >>> shift) & (RADIX - 1)] == n) continue;
+
+            int offset = dstLo;
+            for (int b = 0; b < RADIX; b++) {
+                int count = offsets[b];
+                offsets[b] = offset;
+                offset += count;
+            }
+
+            for (int i = srcLo; i < srcLo + n; i++) {
+                int value = src[i];
+                dst[offsets[(descendingBits(value) >>> shift) & (RADIX - 1)]++] = value;
+            }
+
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+            int tempLo = srcLo;
+            srcLo = dstLo;
+            dstLo = tempLo;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, srcLo, arr, lo, n);
+        }
+    }
+
+    /**
+     * Maps an int to an int whose unsigned order is the reverse of the signed
+     * order: flipping the sign bit makes unsigned order match, and inverting
+     * every bit reverses it.
+     */
+    private static int descendingBits(int value) {
+        return value ^ Integer.MAX_VALUE;
+    }
+
+    private static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    /**
+     * Merge sort over arr[lo..hi]; see {@link Sorts#mergeSort(long[])}.
+     */
+    static void mergeSort(long[] arr, int lo, int hi) {
+        if (hi - lo < 1) return;
+
+        mergeSort(arr, new long[(hi - lo) / 2 + 1], lo, hi);
+    }
+
+    /**
+     * Sorts both halves, then merges them by copying the first half into
+     * the buffer and merging it back with the second half in place.
+     */
+    private static void mergeSort(long[] arr, long[] buffer, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            insertionSort(arr, lo, hi);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        mergeSort(arr, buffer, lo, mid);
+        mergeSort(arr, buffer, mid + 1, hi);
+
+        // The halves are already in order with respect to each other
+        if (arr[mid] >= arr[mid + 1]) return;
+
+        int n = mid - lo + 1;
+        System.arraycopy(arr, lo, buffer, 0, n);
+
+        int i = 0, j = mid + 1, k = lo;
+        while (i < n && j <= hi) {
+            arr[k++] = arr[j] > buffer[i] ? arr[j++] : buffer[i++];
+        }
+        // Whatever is left of the second half is already in place
+        System.arraycopy(buffer, i, arr, k, n - i);
+    }
+
+    /**
+     * Introsort over arr[lo..hi]; see {@link Sorts#quickSort(long[])}.
+     */
+    static void quickSort(long[] arr, int lo, int hi) {
+        if (hi - lo < 1) return;
+
+        quickSort(arr, lo, hi, 2 * Sorts.floorLog2(hi - lo + 1));
+    }
+
+    private static void quickSort(long[] arr, int lo, int hi, int depthLimit) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, lo, hi);
+                return;
+            }
+
+            long bounds = partition(arr, lo, hi);
+            int greaterEnd = (int) (bounds >>> 32);
+            int lessStart = (int) bounds;
+
+            if (greaterEnd - lo < hi - lessStart) {
+                quickSort(arr, lo, greaterEnd, depthLimit);
+                lo = lessStart;
+            } else {
+                quickSort(arr, lessStart, hi, depthLimit);
+                hi = greaterEnd;
+            }
+        }
+
+        insertionSort(arr, lo, hi);
+    }
+
+    /**
+     * Bentley-McIlroy three-way partition, as in {@link Sorts}: values equal
+     * to the pivot are gathered at both ends and swapped into the middle.
+     *
+     * @return the end of the greater part in the high 32 bits and the start
+     *         of the lesser part in the low 32 bits
+     */
+    private static long partition(long[] arr, int lo, int hi) {
+        swap(arr, lo, choosePivot(arr, lo, hi));
+        long pivot = arr[lo];
+
+        int i = lo, j = hi + 1;
+        int p = lo, q = hi + 1;
+
+        while (true) {
+            while (arr[++i] > pivot) {
+                if (i == hi) break;
+            }
+            while (arr[--j] < pivot) {
+                if (j == lo) break;
+            }
+
+            if (i == j && arr[i] == pivot) {
+                swap(arr, ++p, i);
+            }
+            if (i >= j) break;
+
+            swap(arr, i, j);
+            if (arr[i] == pivot) swap(arr, ++p, i);
+            if (arr[j] == pivot) swap(arr, --q, j);
+        }
+
+        i = j + 1;
+        for (int k = lo; k <= p; k++) {
+            swap(arr, k, j--);
+        }
+        for (int k = hi; k >= q; k--) {
+            swap(arr, k, i++);
+        }
+
+        return ((long) j << 32) | (i & 0xFFFFFFFFL);
+    }
+
+    private static int choosePivot(long[] arr, int lo, int hi) {
+        int mid = lo + (hi - lo) / 2;
+
+        if (hi - lo < NINTHER_THRESHOLD) {
+            return medianOfThree(arr, lo, mid, hi);
+        }
+
+        int step = (hi - lo) / 8;
+        int first = medianOfThree(arr, lo, lo + step, lo + 2 * step);
+        int middle = medianOfThree(arr, mid - step, mid, mid + step);
+        int last = medianOfThree(arr, hi - 2 * step, hi - step, hi);
+        return medianOfThree(arr, first, middle, last);
+    }
+
+    private static int medianOfThree(long[] arr, int a, int b, int c) {
+        if (arr[a] > arr[b]) {
+            if (arr[b] > arr[c]) return b;
+            return arr[a] > arr[c] ? c : a;
+        }
+        if (arr[a] > arr[c]) return a;
+        return arr[b] > arr[c] ? c : b;
+    }
+
+    private static void insertionSort(long[] arr, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long value = arr[i];
+            int j = i - 1;
+
+            while (j >= lo && arr[j] < value) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+
+            arr[j + 1] = value;
+        }
+    }
+
+    /**
+     * Heap sort over arr[lo..hi]; see {@link Sorts#heapSort(long[])}.
+     * The heap keeps its smallest value at the root, which is moved to the
+     * end of the shrinking heap on every step.
+     */
+    static void heapSort(long[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, lo, n, i, arr[lo + i]);
+        }
+
+        for (int end = n - 1; end > 0; end--) {
+            long value = arr[lo + end];
+            arr[lo + end] = arr[lo];
+            siftDown(arr, lo, end, 0, value);
+        }
+    }
+
+    /**
+     * Places value into the heap stored at arr[base..base+n), where heap index
+     * hole is vacant.
+     */
+    private static void siftDown(long[] arr, int base, int n, int hole, long value) {
+        int child;
+        while ((child = 2 * hole + 1) < n) {
+            if (child + 1 < n && arr[base + child + 1] < arr[base + child]) {
+                child++;
+            }
+            if (value <= arr[base + child]) break;
+
+            arr[base + hole] = arr[base + child];
+            hole = child;
+        }
+
+        arr[base + hole] = value;
+    }
+
+    /**
+     * LSD radix sort over arr[lo..hi]; see {@link Sorts#radixSort(long[])}.
+     */
+    static void radixSort(long[] arr, int lo, int hi) {
+        int n = hi - lo + 1;
+        if (n < 2) return;
+
+        // Count the digits of every pass in a single read of the values
+        int[][] counts = new int[LONG_RADIX_PASSES][RADIX];
+        for (int i = lo; i <= hi; i++) {
+            long key = descendingBits(arr[i]);
+            for (int pass = 0; pass < LONG_RADIX_PASSES; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        long[] src = arr, dst = new long[n];
+        int srcLo = lo, dstLo = 0;
+        for (int pass = 0; pass < LONG_RADIX_PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] offsets = counts[pass];
+
+            // Every value has the same digit here, so this pass would not move anything
+            if (offsets[(int) (descendingBits(src[srcLo]) >>> shift) & (RADIX - 1)] == n) continue;
+
+            int offset = dstLo;
+            for (int b = 0; b < RADIX; b++) {
+                int count = offsets[b];
+                offsets[b] = offset;
+                offset += count;
+            }
+
+            for (int i = srcLo; i < srcLo + n; i++) {
+                long value = src[i];
+                dst[offsets[(int) (descendingBits(value) >>> shift) & (RADIX - 1)]++] = value;
+            }
+
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+            int tempLo = srcLo;
+            srcLo = dstLo;
+            dstLo = tempLo;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, srcLo, arr, lo, n);
+        }
+    }
+
+    /**
+     * Maps a long to a long whose unsigned order is the reverse of the signed
+     * order; see {@link #descendingBits(int)}.
+     */
+    private static long descendingBits(long value) {
+        return value ^ Long.MAX_VALUE;
+    }
+
+    private static void swap(long[] arr, int i, int j) {
+        long temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
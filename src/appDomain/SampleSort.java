@@ -0,0 +1,290 @@
+package appDomain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel sample sort, the implementation behind
+ * {@link Sorts#parallelSampleSort(Object[], Comparator)} and its key variant.
+ *
+ * A random sample of the input is sorted and every {@value #OVERSAMPLING}th
+ * sample becomes a splitter, cutting the order into a few buckets per thread
+ * of about equal size. The input is then split into one chunk per thread;
+ * each chunk counts how many of its elements fall into every bucket, the
+ * counts give every chunk its own write position inside every bucket, and the
+ * chunks scatter their elements there in parallel. Finally the buckets are
+ * sorted independently, again in parallel, and since they already follow
+ * one another in order nothing is left to merge.
+ *
+ * Elements that compare equal always land in the same bucket and keep their
+ * relative order through the scatter, and the buckets are sorted stably, so
+ * the sort is stable. Inputs dominated by one value put most of it in one
+ * bucket and gain little from the threads, but stay correct.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+final class SampleSort {
+
+    /**
+     * Inputs shorter than this are sorted on the calling thread.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    /**
+     * Buckets per thread; more than one lets the threads even out buckets
+     * that the sample made a little larger than the others.
+     */
+    private static final int BUCKETS_PER_THREAD = 4;
+
+    /**
+     * Samples drawn per bucket.
+     */
+    private static final int OVERSAMPLING = 32;
+
+    /**
+     * Seed of the sample positions, fixed so runs are reproducible.
+     */
+    private static final long SEED = 0x5A3D1E5L;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private SampleSort() {
+        throw new AssertionError("SampleSort is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Sorts arr[from..to) descending under the comparator. Buckets are sorted
+     * with {@link TimSort}, as is a range too short to split.
+     *
+     * @param arr the array containing the range
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @param pool the pool to run on, one thread per chunk
+     */
+    static <T> void sort(T[] arr, int from, int to, Comparator<? super T> comp, ForkJoinPool pool) {
+        int n = to - from;
+        int threads = pool.getParallelism();
+        int buckets = bucketCount(n, threads);
+        if (buckets < 2) {
+            TimSort.sort(arr, from, to, comp);
+            return;
+        }
+
+        T[] sample = newArray(buckets * OVERSAMPLING);
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = arr[from + random.nextInt(n)];
+        }
+        TimSort.sort(sample, 0, sample.length, comp);
+
+        T[] splitters = newArray(buckets - 1);
+        for (int b = 0; b < splitters.length; b++) {
+            splitters[b] = sample[(b + 1) * OVERSAMPLING];
+        }
+
+        int chunks = threads;
+        int[][] positions = new int[chunks][buckets];
+        T[] aux = newArray(n);
+
+        forEach(pool, chunks, c -> {
+            int[] counts = positions[c];
+            for (int i = chunkStart(from, n, chunks, c), end = chunkStart(from, n, chunks, c + 1); i < end; i++) {
+                counts[bucketOf(arr[i], splitters, comp)]++;
+            }
+        });
+
+        int[] bucketStart = toPositions(positions, n);
+
+        forEach(pool, chunks, c -> {
+            int[] next = positions[c];
+            for (int i = chunkStart(from, n, chunks, c), end = chunkStart(from, n, chunks, c + 1); i < end; i++) {
+                aux[next[bucketOf(arr[i], splitters, comp)]++] = arr[i];
+            }
+        });
+
+        forEach(pool, buckets, b -> {
+            int start = bucketStart[b];
+            int end = bucketStart[b + 1];
+            TimSort.sort(aux, start, end, comp);
+            System.arraycopy(aux, start, arr, from + start, end - start);
+        });
+    }
+
+    /**
+     * Sorts keys and the matching indices descending in the given direction,
+     * with the same result as {@link KeySorts#radixSort(double[], int[], int)}.
+     * Keys are bucketed on the 64-bit patterns the radix sort orders by, and
+     * the buckets are radix sorted.
+     *
+     * @param keys the keys to sort
+     * @param idx the indices moved along with the keys
+     * @param dir 1 for natural key order, -1 for reversed
+     * @param pool the pool to run on, one thread per chunk
+     */
+    static void sortKeys(double[] keys, int[] idx, int dir, ForkJoinPool pool) {
+        int n = keys.length;
+        int threads = pool.getParallelism();
+        int buckets = bucketCount(n, threads);
+        if (buckets < 2) {
+            KeySorts.radixSort(keys, idx, dir);
+            return;
+        }
+
+        // Patterns whose signed order is the sorted order: the radix sort's
+        // unsigned patterns with the sign bit flipped
+        long flip = dir < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+
+        long[] sample = new long[buckets * OVERSAMPLING];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = KeySorts.sortableBits(keys[random.nextInt(n)]) ^ flip;
+        }
+        Arrays.sort(sample);
+
+        long[] splitters = new long[buckets - 1];
+        for (int b = 0; b < splitters.length; b++) {
+            splitters[b] = sample[(b + 1) * OVERSAMPLING];
+        }
+
+        int chunks = threads;
+        int[][] positions = new int[chunks][buckets];
+        double[] auxKeys = new double[n];
+        int[] auxIdx = new int[n];
+
+        forEach(pool, chunks, c -> {
+            int[] counts = positions[c];
+            for (int i = chunkStart(0, n, chunks, c), end = chunkStart(0, n, chunks, c + 1); i < end; i++) {
+                counts[bucketOf(KeySorts.sortableBits(keys[i]) ^ flip, splitters)]++;
+            }
+        });
+
+        int[] bucketStart = toPositions(positions, n);
+
+        forEach(pool, chunks, c -> {
+            int[] next = positions[c];
+            for (int i = chunkStart(0, n, chunks, c), end = chunkStart(0, n, chunks, c + 1); i < end; i++) {
+                int dest = next[bucketOf(KeySorts.sortableBits(keys[i]) ^ flip, splitters)]++;
+                auxKeys[dest] = keys[i];
+                auxIdx[dest] = idx[i];
+            }
+        });
+
+        forEach(pool, buckets, b -> {
+            int start = bucketStart[b];
+            int end = bucketStart[b + 1];
+            KeySorts.radixSort(auxKeys, auxIdx, start, end, dir);
+            System.arraycopy(auxKeys, start, keys, start, end - start);
+            System.arraycopy(auxIdx, start, idx, start, end - start);
+        });
+    }
+
+    /**
+     * @return the number of buckets to split n elements into, or 1 to sort
+     *         them on the calling thread
+     */
+    private static int bucketCount(int n, int threads) {
+        if (threads < 2 || n < SEQUENTIAL_THRESHOLD) {
+            return 1;
+        }
+        return threads * BUCKETS_PER_THREAD;
+    }
+
+    /**
+     * @return the first index of chunk c when n elements starting at from are
+     *         split into the given number of chunks
+     */
+    private static int chunkStart(int from, int n, int chunks, int c) {
+        return from + (int) ((long) n * c / chunks);
+    }
+
+    /**
+     * Turns the per-chunk bucket counts into the position each chunk writes
+     * its first element of every bucket to. Buckets are laid out in order and,
+     * inside each, the chunks in input order, which keeps the scatter stable.
+     *
+     * @param counts the counts by chunk and bucket, replaced by the positions
+     * @param n the total number of elements
+     * @return the start of every bucket, followed by n
+     */
+    private static int[] toPositions(int[][] counts, int n) {
+        int buckets = counts[0].length;
+        int[] bucketStart = new int[buckets + 1];
+        int offset = 0;
+        for (int b = 0; b < buckets; b++) {
+            bucketStart[b] = offset;
+            for (int[] chunkCounts : counts) {
+                int count = chunkCounts[b];
+                chunkCounts[b] = offset;
+                offset += count;
+            }
+        }
+        bucketStart[buckets] = n;
+        return bucketStart;
+    }
+
+    /**
+     * @return the number of splitters sorted strictly before the element,
+     *         which is the bucket it belongs to
+     */
+    private static <T> int bucketOf(T element, T[] splitters, Comparator<? super T> comp) {
+        int lo = 0, hi = splitters.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comp.compare(splitters[mid], element) > 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return the number of splitters smaller than the pattern, which is the
+     *         bucket it belongs to
+     */
+    private static int bucketOf(long pattern, long[] splitters) {
+        int lo = 0, hi = splitters.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (splitters[mid] < pattern) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Runs body for every task number below tasks on the pool and waits for
+     * all of them.
+     */
+    private static void forEach(ForkJoinPool pool, int tasks, IntConsumer body) {
+        List<ForkJoinTask<?>> list = new ArrayList<>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            int task = t;
+            list.add(ForkJoinTask.adapt(() -> body.accept(task)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(list);
+        }));
+    }
+
+    /**
+     * Creates an array to hold elements of type T that never leaves this class.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(int length) {
+        return (T[]) new Object[length];
+    }
+}
@@ -16,16 +16,33 @@ public abstract class Shape implements Comparable<Shape> {
     protected final double height; // Made final for immutability
     
     /**
-     * Constructs a new Shape with the specified height.
+     * The base area of the shape, computed once by the subclass at construction.
+     * Shapes are immutable, so sorts and toString never need to recompute it.
+     */
+    private final double baseArea;
+    
+    /**
+     * The volume of the shape, computed once by the subclass at construction.
+     */
+    private final double volume;
+    
+    /**
+     * Constructs a new Shape with the specified height and precomputed metrics.
+     * Subclasses compute the metrics from their own dimensions before calling this
+     * constructor, typically through their static area and volume formulas.
      *
      * @param height the height of the shape, must be positive
+     * @param baseArea the base area of the shape
+     * @param volume the volume of the shape
      * @throws IllegalArgumentException if height is not positive
      */
-    public Shape(double height) {
+    public Shape(double height, double baseArea, double volume) {
         if (height <= 0) {
             throw new IllegalArgumentException("Height must be positive: " + height);
         }
         this.height = height;
+        this.baseArea = baseArea;
+        this.volume = volume;
     }
     
     /**
@@ -38,20 +55,24 @@ public abstract class Shape implements Comparable<Shape> {
     }
     
     /**
-     * Calculates and returns the base area of the shape.
-     * Concrete subclasses must provide their own implementation.
+     * Returns the base area of the shape.
+     * The value is computed once when the shape is constructed.
      *
      * @return the base area of the shape
      */
-    public abstract double getBaseArea();
+    public double getBaseArea() {
+        return baseArea;
+    }
     
     /**
-     * Calculates and returns the volume of the shape.
-     * Concrete subclasses must provide their own implementation.
+     * Returns the volume of the shape.
+     * The value is computed once when the shape is constructed.
      *
      * @return the volume of the shape
      */
-    public abstract double getVolume();
+    public double getVolume() {
+        return volume;
+    }
     
     /**
      * Compares this shape to another shape based on height.
@@ -69,8 +90,9 @@ public abstract class Shape implements Comparable<Shape> {
             throw new NullPointerException("Cannot compare to null shape");
         }
         
-        // Using Double.compare for proper handling of floating-point precision
-        return Double.compare(this.height, other.height);
+        // Using Double.compare for proper handling of floating-point precision;
+        // the getters let views that read their dimensions elsewhere compare too
+        return Double.compare(this.getHeight(), other.getHeight());
     }
     
     /**
@@ -101,7 +123,7 @@ public abstract class Shape implements Comparable<Shape> {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         Shape other = (Shape) obj;
-        return Double.compare(other.height, height) == 0;
+        return Double.compare(other.getHeight(), getHeight()) == 0;
     }
     
     /**
@@ -113,6 +135,6 @@ public abstract class Shape implements Comparable<Shape> {
     @Override
     public int hashCode() {
         // Note: Subclasses should implement proper hashCode
-        return Double.hashCode(height);
+        return Double.hashCode(getHeight());
     }
 }
@@ -1,30 +1,169 @@
 package appDomain;
 import java.util.Comparator;
 
-public class ShapeComparator {
-    // Comparator for comparing Shape objects by their base area
-    // Uses Double.compare for precise floating-point comparison
-    // Returns:
-    //   negative if s1.baseArea < s2.baseArea
-    //   zero if s1.baseArea == s2.baseArea  
-    //   positive if s1.baseArea > s2.baseArea
-	public static final Comparator<Shape> By_Base_Area = new Comparator<Shape>() {
-		@Override
-		public int compare(Shape s1, Shape s2) {
-			return Double.compare(s1.getBaseArea(), s2.getBaseArea());
-		}
-	};
-	
-    // Comparator for comparing Shape objects by their volume
-    // Uses Double.compare for precise floating-point comparison
-    // Returns:
-    //   negative if s1.volume < s2.volume
-    //   zero if s1.volume == s2.volume  
-    //   positive if s1.volume > s2.volume
-	public static final Comparator<Shape> By_Volume = new Comparator<Shape>() {
-		@Override
-		public int compare(Shape s1, Shape s2) {
-			return Double.compare(s1.getVolume(), s2.getVolume());
-		}
-	};
+/**
+ * The comparators shapes are ordered by: one per metric and direction.
+ *
+ * Each is a final class whose compare calls the cached metric getter of
+ * {@link Shape} directly, so a call site sees a single receiver type and the
+ * JIT can inline the whole comparison; nothing goes through a lambda, a
+ * reversing wrapper or the {@link ShapeMetric} constant bodies. All of them
+ * are {@link MetricComparator}s, so {@link Sorts} still sorts on precomputed
+ * keys wherever an algorithm has a key kernel.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class ShapeComparator {
+
+    /** Orders shapes by ascending height. */
+    public static final MetricComparator HEIGHT_ASCENDING = new HeightAscending();
+
+    /** Orders shapes by descending height. */
+    public static final MetricComparator HEIGHT_DESCENDING = new HeightDescending();
+
+    /** Orders shapes by ascending base area. */
+    public static final MetricComparator BASE_AREA_ASCENDING = new BaseAreaAscending();
+
+    /** Orders shapes by descending base area. */
+    public static final MetricComparator BASE_AREA_DESCENDING = new BaseAreaDescending();
+
+    /** Orders shapes by ascending volume. */
+    public static final MetricComparator VOLUME_ASCENDING = new VolumeAscending();
+
+    /** Orders shapes by descending volume. */
+    public static final MetricComparator VOLUME_DESCENDING = new VolumeDescending();
+
+    /** Legacy name for {@link #BASE_AREA_ASCENDING}, kept for existing callers. */
+    public static final Comparator<Shape> By_Base_Area = BASE_AREA_ASCENDING;
+
+    /** Legacy name for {@link #VOLUME_ASCENDING}, kept for existing callers. */
+    public static final Comparator<Shape> By_Volume = VOLUME_ASCENDING;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ShapeComparator() {
+        throw new AssertionError("ShapeComparator is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Returns the comparator for a metric and direction.
+     *
+     * @param metric the metric to compare by
+     * @param descending true for descending order, false for ascending
+     * @return the comparator
+     * @throws IllegalArgumentException if the metric is null
+     */
+    public static MetricComparator of(ShapeMetric metric, boolean descending) {
+        if (metric == null) {
+            throw new IllegalArgumentException("Metric cannot be null");
+        }
+        switch (metric) {
+            case HEIGHT:
+                return descending ? HEIGHT_DESCENDING : HEIGHT_ASCENDING;
+            case BASE_AREA:
+                return descending ? BASE_AREA_DESCENDING : BASE_AREA_ASCENDING;
+            case VOLUME:
+                return descending ? VOLUME_DESCENDING : VOLUME_ASCENDING;
+            default:
+                throw new IllegalArgumentException("Unsupported metric: " + metric);
+        }
+    }
+
+    private static final class HeightAscending extends MetricComparator {
+        HeightAscending() {
+            super(ShapeMetric.HEIGHT, false);
+        }
+
+        @Override
+        public int compare(Shape s1, Shape s2) {
+            return Double.compare(s1.getHeight(), s2.getHeight());
+        }
+
+        @Override
+        public double keyOf(Shape shape) {
+            return shape.getHeight();
+        }
+    }
+
+    private static final class HeightDescending extends MetricComparator {
+        HeightDescending() {
+            super(ShapeMetric.HEIGHT, true);
+        }
+
+        @Override
+        public int compare(Shape s1, Shape s2) {
+            return Double.compare(s2.getHeight(), s1.getHeight());
+        }
+
+        @Override
+        public double keyOf(Shape shape) {
+            return shape.getHeight();
+        }
+    }
+
+    private static final class BaseAreaAscending extends MetricComparator {
+        BaseAreaAscending() {
+            super(ShapeMetric.BASE_AREA, false);
+        }
+
+        @Override
+        public int compare(Shape s1, Shape s2) {
+            return Double.compare(s1.getBaseArea(), s2.getBaseArea());
+        }
+
+        @Override
+        public double keyOf(Shape shape) {
+            return shape.getBaseArea();
+        }
+    }
+
+    private static final class BaseAreaDescending extends MetricComparator {
+        BaseAreaDescending() {
+            super(ShapeMetric.BASE_AREA, true);
+        }
+
+        @Override
+        public int compare(Shape s1, Shape s2) {
+            return Double.compare(s2.getBaseArea(), s1.getBaseArea());
+        }
+
+        @Override
+        public double keyOf(Shape shape) {
+            return shape.getBaseArea();
+        }
+    }
+
+    private static final class VolumeAscending extends MetricComparator {
+        VolumeAscending() {
+            super(ShapeMetric.VOLUME, false);
+        }
+
+        @Override
+        public int compare(Shape s1, Shape s2) {
+            return Double.compare(s1.getVolume(), s2.getVolume());
+        }
+
+        @Override
+        public double keyOf(Shape shape) {
+            return shape.getVolume();
+        }
+    }
+
+    private static final class VolumeDescending extends MetricComparator {
+        VolumeDescending() {
+            super(ShapeMetric.VOLUME, true);
+        }
+
+        @Override
+        public int compare(Shape s1, Shape s2) {
+            return Double.compare(s2.getVolume(), s1.getVolume());
+        }
+
+        @Override
+        public double keyOf(Shape shape) {
+            return shape.getVolume();
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package appDomain;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Converts a text shape file into the binary format read by {@link BinaryShapeFile}.
+ * The text file is loaded exactly as AppDriver loads it, so lines it would
+ * skip are reported and left out of the binary file.
+ *
+ * Usage: java appDomain.ShapeFileConverter -f&lt;input&gt; [-o&lt;output&gt;] [-p&lt;threads&gt;]
+ * The output defaults to the input path with its extension replaced by ".bin".
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class ShapeFileConverter {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ShapeFileConverter() {
+        throw new AssertionError("ShapeFileConverter is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Entry point of the converter.
+     *
+     * @param args converter options, see the class documentation
+     */
+    public static void main(String[] args) {
+        String input = null;
+        String output = null;
+        int threads = Sorts.getParallelism();
+
+        for (String arg : args) {
+            if (arg.length() < 2) {
+                System.err.println("Warning: Invalid argument format: " + arg);
+                continue;
+            }
+
+            String flag = arg.substring(0, 2).toLowerCase();
+            String value = arg.substring(2);
+
+            switch (flag) {
+                case "-f":
+                    input = value;
+                    break;
+                case "-o":
+                    output = value;
+                    break;
+                case "-p":
+                    try {
+                        threads = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        threads = 0;
+                    }
+                    break;
+                default:
+                    System.err.println("Warning: Unknown flag: " + flag);
+                    break;
+            }
+        }
+
+        if (input == null || input.isEmpty() || threads < 1) {
+            System.out.println("Usage: java appDomain.ShapeFileConverter -f<input> [-o<output>] [-p<threads>]");
+            System.exit(1);
+        }
+        if (output == null || output.isEmpty()) {
+            output = defaultOutput(input);
+        }
+        if (isSameFile(input, output)) {
+            System.err.println("Error: The output '" + output + "' would overwrite the input; choose another with -o");
+            System.exit(1);
+        }
+
+        if (BinaryShapeFile.isBinary(input)) {
+            System.err.println("Error: '" + input + "' is already a binary shape file");
+            System.exit(1);
+        }
+
+        ShapeTable shapes = MappedShapeLoader.loadTable(input, threads);
+        if (shapes == null) {
+            System.exit(1);
+        }
+
+        try {
+            BinaryShapeFile.write(shapes, output);
+        } catch (IOException e) {
+            System.err.println("Error writing file '" + output + "': " + e.getMessage());
+            System.exit(1);
+        }
+
+        System.out.println("Wrote " + shapes.size() + " shapes to " + output);
+    }
+
+    /**
+     * Tells whether two paths name the same file, such as a text input that
+     * already ends in ".bin" and its default output.
+     */
+    private static boolean isSameFile(String input, String output) {
+        Path in = Paths.get(input).toAbsolutePath().normalize();
+        Path out = Paths.get(output).toAbsolutePath().normalize();
+        try {
+            return in.equals(out) || (Files.exists(out) && Files.isSameFile(in, out));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the extension of the input path with ".bin".
+     */
+    private static String defaultOutput(String input) {
+        int dot = input.lastIndexOf('.');
+        int separator = Math.max(input.lastIndexOf('/'), input.lastIndexOf('\\'));
+        String base = dot > separator ? input.substring(0, dot) : input;
+        return base + ".bin";
+    }
+}
@@ -0,0 +1,52 @@
+package appDomain;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of Shape objects that the loaders can write into, so a
+ * file is read straight into a Shape[] without a columnar copy of it being
+ * alive at the same time.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+final class ShapeList implements ShapeSink {
+
+    private Shape[] shapes;
+    private int size;
+
+    /**
+     * Creates an empty list with room for the given number of shapes.
+     *
+     * @param capacity the initial capacity
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    ShapeList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        shapes = new Shape[capacity];
+    }
+
+    @Override
+    public void add(ShapeType type, double height, double parameter) {
+        if (size == shapes.length) {
+            if (size == Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("List cannot hold more than " + size + " shapes");
+            }
+            shapes = Arrays.copyOf(shapes, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, size + (size >> 1) + 1L)));
+        }
+        shapes[size++] = type.create(height, parameter);
+    }
+
+    /**
+     * Returns the shapes added, in order. When the list holds exactly its
+     * capacity, as it does when the expected count was right, the backing
+     * array is returned without a copy.
+     *
+     * @return the shapes
+     */
+    Shape[] toArray() {
+        return size == shapes.length ? shapes : Arrays.copyOf(shapes, size);
+    }
+}
@@ -0,0 +1,86 @@
+package appDomain;
+
+/**
+ * The numeric properties shapes can be ordered by.
+ * Each metric maps a shape to a single double, which lets the sorts extract
+ * every key once up front instead of recomputing it on each comparison.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public enum ShapeMetric {
+
+    /** The height of the shape. */
+    HEIGHT("Height") {
+        @Override
+        public double of(Shape shape) {
+            return shape.getHeight();
+        }
+
+        @Override
+        public double of(ShapeType type, double height, double parameter) {
+            return height;
+        }
+    },
+
+    /** The area of the base of the shape. */
+    BASE_AREA("Base Area") {
+        @Override
+        public double of(Shape shape) {
+            return shape.getBaseArea();
+        }
+
+        @Override
+        public double of(ShapeType type, double height, double parameter) {
+            return type.baseArea(parameter);
+        }
+    },
+
+    /** The volume of the shape. */
+    VOLUME("Volume") {
+        @Override
+        public double of(Shape shape) {
+            return shape.getVolume();
+        }
+
+        @Override
+        public double of(ShapeType type, double height, double parameter) {
+            return type.volume(height, parameter);
+        }
+    };
+
+    private final String displayName;
+
+    /**
+     * @param displayName the human-readable name of the metric
+     */
+    ShapeMetric(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the value of this metric for a shape.
+     *
+     * @param shape the shape to measure
+     * @return the metric value
+     */
+    public abstract double of(Shape shape);
+
+    /**
+     * Returns the value of this metric for the shape a type, height and
+     * parameter describe, without creating it.
+     *
+     * @param type the type of the shape
+     * @param height the height of the shape
+     * @param parameter the type-specific parameter (radius or side length)
+     * @return the metric value, equal to that of the shape
+     */
+    public abstract double of(ShapeType type, double height, double parameter);
+
+    /**
+     * @return the human-readable name of the metric
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
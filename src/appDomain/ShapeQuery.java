@@ -0,0 +1,210 @@
+package appDomain;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads a shape file into a {@link ShapeQueryIndex} and answers queries about
+ * it, given with -q or, without any, read from standard input one per line.
+ *
+ * Usage: java appDomain.ShapeQuery -f&lt;input&gt; [-p&lt;threads&gt;] [-q&lt;query&gt;]...
+ *
+ * Queries name a metric (h/height, a/area or v/volume) and may end with a
+ * shape type such as Pyramid to ask about that type only:
+ * <pre>
+ *   count &lt;metric&gt; &lt;min&gt; &lt;max&gt; [type]       shapes with min &lt;= metric &lt;= max
+ *   range &lt;metric&gt; &lt;min&gt; &lt;max&gt; [type]       the same shapes, ascending
+ *   rank &lt;metric&gt; &lt;value&gt; [type]            shapes with a metric below value
+ *   percentile &lt;metric&gt; &lt;percent&gt; [type]    nearest-rank percentile of the metric
+ *   get &lt;metric&gt; &lt;rank&gt; [type]              shape at a rank, from 0 for the smallest
+ * </pre>
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class ShapeQuery {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ShapeQuery() {
+        throw new AssertionError("ShapeQuery is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Entry point of the query tool.
+     *
+     * @param args query options, see the class documentation
+     */
+    public static void main(String[] args) {
+        String input = null;
+        int threads = Sorts.getParallelism();
+        List<String> queries = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.length() < 2) {
+                System.err.println("Warning: Invalid argument format: " + arg);
+                continue;
+            }
+
+            String flag = arg.substring(0, 2).toLowerCase();
+            String value = arg.substring(2);
+
+            switch (flag) {
+                case "-f":
+                    input = value;
+                    break;
+                case "-p":
+                    try {
+                        threads = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        threads = 0;
+                    }
+                    break;
+                case "-q":
+                    queries.add(value);
+                    break;
+                default:
+                    System.err.println("Warning: Unknown flag: " + flag);
+                    break;
+            }
+        }
+
+        if (input == null || input.isEmpty() || threads < 1) {
+            System.out.println("Usage: java appDomain.ShapeQuery -f<input> [-p<threads>] [-q<query>]...");
+            System.exit(1);
+        }
+
+        Shape[] shapes = BinaryShapeFile.isBinary(input)
+            ? BinaryShapeFile.load(input)
+            : MappedShapeLoader.load(input, threads);
+        if (shapes == null) {
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        ShapeQueryIndex index = new ShapeQueryIndex(shapes);
+        System.out.printf("Indexed %d shapes in %.2f milliseconds%n", shapes.length, (System.nanoTime() - start) / 1_000_000.0);
+
+        if (!queries.isEmpty()) {
+            for (String query : queries) {
+                run(index, query);
+            }
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    run(index, line);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading queries: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Answers one query and prints the result, or reports why it is invalid.
+     *
+     * @param index the index to query
+     * @param query the query, see the class documentation
+     */
+    private static void run(ShapeQueryIndex index, String query) {
+        String[] words = query.trim().split("\\s+");
+        try {
+            String command = words[0].toLowerCase();
+            int arguments = "count".equals(command) || "range".equals(command) ? 2 : 1;
+            if (words.length < 2 + arguments || words.length > 3 + arguments) {
+                throw new IllegalArgumentException("Wrong number of arguments");
+            }
+            ShapeMetric metric = parseMetric(words[1]);
+            ShapeType type = words.length > 2 + arguments ? parseType(words[2 + arguments]) : null;
+
+            switch (command) {
+                case "count":
+                    System.out.println(index.count(metric, type, parseDouble(words[2]), parseDouble(words[3])));
+                    break;
+                case "range":
+                    for (Shape shape : index.range(metric, type, parseDouble(words[2]), parseDouble(words[3]))) {
+                        System.out.println(shape);
+                    }
+                    break;
+                case "rank":
+                    System.out.println(index.rank(metric, type, parseDouble(words[2])));
+                    break;
+                case "percentile":
+                    System.out.println(index.percentile(metric, type, parseDouble(words[2])));
+                    break;
+                case "get":
+                    System.out.println(index.get(metric, type, parseInt(words[2])));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown query '" + words[0]
+                        + "'. Valid queries are: count, range, rank, percentile, get");
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            System.err.println("Error in query '" + query.trim() + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the metric named h/height, a/area or v/volume, ignoring case
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    private static ShapeMetric parseMetric(String name) {
+        switch (name.toLowerCase()) {
+            case "h":
+            case "height":
+                return ShapeMetric.HEIGHT;
+            case "a":
+            case "area":
+                return ShapeMetric.BASE_AREA;
+            case "v":
+            case "volume":
+                return ShapeMetric.VOLUME;
+            default:
+                throw new IllegalArgumentException("Invalid metric: " + name
+                    + ". Valid options are: h/height, a/area, v/volume");
+        }
+    }
+
+    /**
+     * @return the type with the given file name, ignoring case
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    private static ShapeType parseType(String name) {
+        ShapeType type = ShapeType.fromName(name);
+        if (type == null) {
+            throw new IllegalArgumentException("Invalid shape type: " + name);
+        }
+        return type;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a number
+     */
+    private static double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + value);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not an integer
+     */
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer: " + value);
+        }
+    }
+}
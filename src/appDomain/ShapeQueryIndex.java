@@ -0,0 +1,283 @@
+package appDomain;
+
+import java.util.Arrays;
+
+/**
+ * Answers range, rank, percentile and count questions about the height, base
+ * area and volume of a fixed set of shapes, such as "all pyramids with a
+ * volume between X and Y" or "the 95th-percentile base area".
+ *
+ * The index is built once: for every metric the shapes are sorted ascending
+ * on precomputed keys with {@link KeySorts#radixSort(double[], int[], int)},
+ * and one pass over that order splits it into a sorted partition per
+ * {@link ShapeType}. The sorted keys are kept next to the shapes. Every query
+ * is then one or two binary searches over the key array of a metric and type,
+ * O(log n); a range query adds the time to copy out the k matching shapes.
+ *
+ * Unlike the sorts of {@link Sorts}, which put the largest shapes first as
+ * {@link AppDriver} prints them, ranks here count from the smallest value, as
+ * percentiles do. Shapes with equal values keep the order they were given in.
+ * Keys are ordered as by Double.compare. Wherever a type is asked for, null
+ * stands for all shapes.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class ShapeQueryIndex {
+
+    private static final ShapeMetric[] METRICS = ShapeMetric.values();
+
+    private final Partition all;
+
+    /** The partition of every type, by ordinal. */
+    private final Partition[] byType;
+
+    /**
+     * Builds the index over the given shapes.
+     * Time Complexity: O(n) per metric and partition
+     *
+     * @param shapes the shapes, which are not changed
+     * @throws IllegalArgumentException if the array or a shape is null, or a
+     *         shape is not one of the known types
+     */
+    public ShapeQueryIndex(Shape[] shapes) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+
+        ShapeType[] types = ShapeType.values();
+        int n = shapes.length;
+        int[] typeOf = new int[n];
+        int[] counts = new int[types.length];
+        for (int i = 0; i < n; i++) {
+            if (shapes[i] == null) {
+                throw new IllegalArgumentException("Shape cannot be null");
+            }
+            typeOf[i] = ShapeType.of(shapes[i]).ordinal();
+            counts[typeOf[i]]++;
+        }
+
+        all = new Partition(n);
+        byType = new Partition[types.length];
+        for (int t = 0; t < types.length; t++) {
+            byType[t] = new Partition(counts[t]);
+        }
+
+        for (ShapeMetric metric : METRICS) {
+            int m = metric.ordinal();
+            double[] keys = all.keys[m];
+            int[] idx = new int[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = metric.of(shapes[i]);
+                idx[i] = i;
+            }
+            // Direction -1 sorts ascending
+            KeySorts.radixSort(keys, idx, -1);
+
+            Shape[] sorted = all.shapes[m];
+            int[] next = new int[types.length];
+            for (int i = 0; i < n; i++) {
+                Shape shape = shapes[idx[i]];
+                sorted[i] = shape;
+                // Every type receives its shapes in sorted order, ties still in input order
+                int t = typeOf[idx[i]];
+                byType[t].keys[m][next[t]] = keys[i];
+                byType[t].shapes[m][next[t]++] = shape;
+            }
+        }
+    }
+
+    /**
+     * @param type the type, or null for all shapes
+     * @return the number of shapes of the type
+     */
+    public int size(ShapeType type) {
+        return partition(type).size();
+    }
+
+    /**
+     * Counts the shapes whose metric lies between min and max, both inclusive.
+     * Time Complexity: O(log n)
+     *
+     * @param metric the metric
+     * @param type the type, or null for all shapes
+     * @param min the smallest value counted
+     * @param max the largest value counted
+     * @return the number of matching shapes
+     * @throws IllegalArgumentException if the metric is null or min is above max
+     */
+    public int count(ShapeMetric metric, ShapeType type, double min, double max) {
+        checkBounds(min, max);
+        double[] keys = partition(type).keys(metric);
+        return upperBound(keys, max) - lowerBound(keys, min);
+    }
+
+    /**
+     * Returns the shapes whose metric lies between min and max, both inclusive,
+     * in ascending order of the metric.
+     * Time Complexity: O(log n + k) for k matching shapes
+     *
+     * @param metric the metric
+     * @param type the type, or null for all shapes
+     * @param min the smallest value returned
+     * @param max the largest value returned
+     * @return the matching shapes
+     * @throws IllegalArgumentException if the metric is null or min is above max
+     */
+    public Shape[] range(ShapeMetric metric, ShapeType type, double min, double max) {
+        checkBounds(min, max);
+        Partition partition = partition(type);
+        double[] keys = partition.keys(metric);
+        return Arrays.copyOfRange(partition.shapes(metric), lowerBound(keys, min), upperBound(keys, max));
+    }
+
+    /**
+     * Returns the rank a value would have: the number of shapes whose metric
+     * is below it.
+     * Time Complexity: O(log n)
+     *
+     * @param metric the metric
+     * @param type the type, or null for all shapes
+     * @param value the value
+     * @return the number of shapes with a smaller metric
+     * @throws IllegalArgumentException if the metric is null
+     */
+    public int rank(ShapeMetric metric, ShapeType type, double value) {
+        return lowerBound(partition(type).keys(metric), value);
+    }
+
+    /**
+     * Returns the shape at a rank of the ascending order of a metric.
+     * Time Complexity: O(1)
+     *
+     * @param metric the metric
+     * @param type the type, or null for all shapes
+     * @param rank the rank, from 0 for the smallest value
+     * @return the shape
+     * @throws IllegalArgumentException if the metric is null
+     * @throws IndexOutOfBoundsException if the rank does not exist
+     */
+    public Shape get(ShapeMetric metric, ShapeType type, int rank) {
+        Shape[] shapes = partition(type).shapes(metric);
+        if (rank < 0 || rank >= shapes.length) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " is outside the " + shapes.length + " shapes");
+        }
+        return shapes[rank];
+    }
+
+    /**
+     * Returns a percentile of a metric by the nearest-rank method: the
+     * smallest value that at least the given percentage of the shapes do not
+     * exceed. The 0th percentile is the minimum and the 100th the maximum.
+     * Time Complexity: O(1)
+     *
+     * @param metric the metric
+     * @param type the type, or null for all shapes
+     * @param percent the percentage, from 0 to 100
+     * @return the value of the metric at that percentile
+     * @throws IllegalArgumentException if the metric is null, the percentage
+     *         is out of range or there are no shapes of the type
+     */
+    public double percentile(ShapeMetric metric, ShapeType type, double percent) {
+        if (!(percent >= 0 && percent <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percent);
+        }
+        double[] keys = partition(type).keys(metric);
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("No shapes to take a percentile of"
+                + (type != null ? ": there are no shapes of type " + type.getFileName() : ""));
+        }
+        int rank = (int) Math.ceil(percent / 100 * keys.length) - 1;
+        return keys[Math.max(0, Math.min(rank, keys.length - 1))];
+    }
+
+    /**
+     * @return the partition of the type, or of all shapes for null
+     */
+    private Partition partition(ShapeType type) {
+        return type == null ? all : byType[type.ordinal()];
+    }
+
+    /**
+     * @throws IllegalArgumentException if min is above max or either is NaN
+     */
+    private static void checkBounds(double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("Invalid range [" + min + ", " + max + "]");
+        }
+    }
+
+    /**
+     * @return the first position whose key is not below the value
+     */
+    private static int lowerBound(double[] keys, double value) {
+        int lo = 0, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Double.compare(keys[mid], value) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return the first position whose key is above the value
+     */
+    private static int upperBound(double[] keys, double value) {
+        int lo = 0, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Double.compare(keys[mid], value) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * A set of shapes sorted ascending by every metric, with the sorted keys.
+     */
+    private static final class Partition {
+
+        /** The sorted keys, by metric ordinal. */
+        private final double[][] keys = new double[METRICS.length][];
+
+        /** The shapes in the order of the keys, by metric ordinal. */
+        private final Shape[][] shapes = new Shape[METRICS.length][];
+
+        /**
+         * Creates a partition of the given size, filled in by the constructor
+         * of the index.
+         */
+        Partition(int size) {
+            for (int m = 0; m < METRICS.length; m++) {
+                keys[m] = new double[size];
+                shapes[m] = new Shape[size];
+            }
+        }
+
+        int size() {
+            return shapes[0].length;
+        }
+
+        double[] keys(ShapeMetric metric) {
+            return keys[checkMetric(metric).ordinal()];
+        }
+
+        Shape[] shapes(ShapeMetric metric) {
+            return shapes[checkMetric(metric).ordinal()];
+        }
+
+        private static ShapeMetric checkMetric(ShapeMetric metric) {
+            if (metric == null) {
+                throw new IllegalArgumentException("Metric cannot be null");
+            }
+            return metric;
+        }
+    }
+}
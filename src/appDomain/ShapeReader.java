@@ -0,0 +1,40 @@
+package appDomain;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the shapes of a file a piece at a time, for callers that cannot hold
+ * the whole file in memory. Skipped lines or records are reported as the
+ * loaders report them, and the load summary is printed once the end of the
+ * shapes is reached.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+interface ShapeReader extends Closeable {
+
+    /**
+     * Appends the next shapes to a sink.
+     *
+     * @param shapes the sink to append to
+     * @param max the most shapes to append
+     * @return the number of shapes appended; 0 once all shapes have been read
+     * @throws IOException if the file cannot be read
+     */
+    int read(ShapeSink shapes, int max) throws IOException;
+
+    /**
+     * Opens a shape file, recognizing binary files by their header.
+     *
+     * @param filename the path to the shapes data file
+     * @return the reader, positioned at the first shape
+     * @throws IOException if the file cannot be opened
+     */
+    static ShapeReader open(String filename) throws IOException {
+        if (BinaryShapeFile.isBinary(filename)) {
+            return BinaryShapeFile.openReader(filename);
+        }
+        return MappedShapeLoader.openReader(filename);
+    }
+}
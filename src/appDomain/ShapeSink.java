@@ -0,0 +1,33 @@
+package appDomain;
+
+/**
+ * Storage that shapes can be appended to as plain values.
+ * The loaders write into a sink, so a file can be read into the columnar
+ * {@link ShapeTable} or the {@link OffHeapShapeStore} without creating Shape
+ * objects.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+interface ShapeSink {
+
+    /**
+     * Appends a shape.
+     *
+     * @param type the type of the shape
+     * @param height the height of the shape
+     * @param parameter the type-specific parameter (radius or side length)
+     */
+    void add(ShapeType type, double height, double parameter);
+
+    /**
+     * Appends all rows of a table in order.
+     *
+     * @param table the rows to append
+     */
+    default void addAll(ShapeTable table) {
+        for (int i = 0; i < table.size(); i++) {
+            add(table.getType(i), table.getHeight(i), table.getParameter(i));
+        }
+    }
+}
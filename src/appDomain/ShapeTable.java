@@ -0,0 +1,357 @@
+package appDomain;
+
+import java.util.Arrays;
+
+/**
+ * A table of shapes stored column by column instead of as Shape objects.
+ * Every row holds the type tag of a shape, its height and its type-specific
+ * parameter (radius or side length) in three primitive arrays, 17 bytes per
+ * shape with no object headers or references to chase. The base area and
+ * volume columns are computed on first use with the same formulas as the
+ * shape constructors, so the metrics read from the table are exactly those
+ * of the shapes it describes.
+ *
+ * Shape objects are only created on demand, one row at a time through
+ * {@link #get(int)} or all at once through {@link #toShapes()}.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class ShapeTable implements ShapeSink {
+
+    /**
+     * Capacity of a table created without one.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private byte[] types;
+    private double[] heights;
+    private double[] parameters;
+
+    /** Base area of every row, or null until first needed. */
+    private double[] baseAreas;
+
+    /** Volume of every row, or null until first needed. */
+    private double[] volumes;
+
+    private int size;
+
+    /**
+     * Creates an empty table.
+     */
+    public ShapeTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty table with room for the given number of shapes.
+     *
+     * @param capacity the initial capacity
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ShapeTable(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        types = new byte[capacity];
+        heights = new double[capacity];
+        parameters = new double[capacity];
+    }
+
+    /**
+     * Creates a table holding the given shapes in order.
+     *
+     * @param shapes the shapes
+     * @return the table
+     * @throws IllegalArgumentException if the array is null, or a shape is not one of the known types
+     */
+    public static ShapeTable of(Shape[] shapes) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        ShapeTable table = new ShapeTable(shapes.length);
+        for (Shape shape : shapes) {
+            ShapeType type = ShapeType.of(shape);
+            table.add(type, shape.getHeight(), type.parameterOf(shape));
+        }
+        return table;
+    }
+
+    /**
+     * Appends a shape to the table.
+     *
+     * @param type the type of the shape
+     * @param height the height of the shape
+     * @param parameter the type-specific parameter (radius or side length)
+     */
+    @Override
+    public void add(ShapeType type, double height, double parameter) {
+        if (size == types.length) {
+            grow(size + 1);
+        }
+        types[size] = type.getTag();
+        heights[size] = height;
+        parameters[size] = parameter;
+        if (baseAreas != null) {
+            baseAreas[size] = type.baseArea(parameter);
+        }
+        if (volumes != null) {
+            volumes[size] = type.volume(height, parameter);
+        }
+        size++;
+    }
+
+    /**
+     * Appends all rows of another table.
+     *
+     * @param other the table to append
+     */
+    @Override
+    public void addAll(ShapeTable other) {
+        int newSize = size + other.size;
+        if (newSize > types.length) {
+            grow(newSize);
+        }
+        System.arraycopy(other.types, 0, types, size, other.size);
+        System.arraycopy(other.heights, 0, heights, size, other.size);
+        System.arraycopy(other.parameters, 0, parameters, size, other.size);
+
+        // Computed columns stay valid only if the other table has them as well
+        if (baseAreas != null) {
+            if (other.baseAreas != null) {
+                System.arraycopy(other.baseAreas, 0, baseAreas, size, other.size);
+            } else {
+                baseAreas = null;
+            }
+        }
+        if (volumes != null) {
+            if (other.volumes != null) {
+                System.arraycopy(other.volumes, 0, volumes, size, other.size);
+            } else {
+                volumes = null;
+            }
+        }
+        size = newSize;
+    }
+
+    /**
+     * Grows every column to hold at least minCapacity rows.
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Shape table cannot hold more than " + Integer.MAX_VALUE + " rows");
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(minCapacity, types.length * 2L));
+        capacity = Math.max(capacity, minCapacity);
+        types = Arrays.copyOf(types, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        parameters = Arrays.copyOf(parameters, capacity);
+        if (baseAreas != null) baseAreas = Arrays.copyOf(baseAreas, capacity);
+        if (volumes != null) volumes = Arrays.copyOf(volumes, capacity);
+    }
+
+    /**
+     * Shrinks the columns to the number of rows, releasing unused capacity.
+     */
+    public void trimToSize() {
+        if (types.length == size) return;
+        types = Arrays.copyOf(types, size);
+        heights = Arrays.copyOf(heights, size);
+        parameters = Arrays.copyOf(parameters, size);
+        if (baseAreas != null) baseAreas = Arrays.copyOf(baseAreas, size);
+        if (volumes != null) volumes = Arrays.copyOf(volumes, size);
+    }
+
+    /**
+     * @return the number of shapes in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row the row index
+     * @return the type of the shape in the row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public ShapeType getType(int row) {
+        checkRow(row);
+        return ShapeType.fromTag(types[row]);
+    }
+
+    /**
+     * @param row the row index
+     * @return the height of the shape in the row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public double getHeight(int row) {
+        checkRow(row);
+        return heights[row];
+    }
+
+    /**
+     * @param row the row index
+     * @return the radius or side length of the shape in the row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public double getParameter(int row) {
+        checkRow(row);
+        return parameters[row];
+    }
+
+    /**
+     * Returns a metric of the shape in a row.
+     *
+     * @param metric the metric
+     * @param row the row index
+     * @return the metric value, equal to that of the materialized shape
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public double getMetric(ShapeMetric metric, int row) {
+        checkRow(row);
+        return column(metric)[row];
+    }
+
+    /**
+     * Creates the Shape object for a row.
+     *
+     * @param row the row index
+     * @return a new shape equal to the one the row describes
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public Shape get(int row) {
+        return getType(row).create(heights[row], parameters[row]);
+    }
+
+    /**
+     * Creates the Shape objects for all rows.
+     *
+     * @return the shapes in row order
+     */
+    public Shape[] toShapes() {
+        Shape[] shapes = new Shape[size];
+        for (int i = 0; i < size; i++) {
+            shapes[i] = ShapeType.fromTag(types[i]).create(heights[i], parameters[i]);
+        }
+        return shapes;
+    }
+
+    /**
+     * Computes the base area and volume columns now rather than on first use.
+     * Later rows are added to them as they are appended.
+     */
+    public void precomputeMetrics() {
+        column(ShapeMetric.BASE_AREA);
+        column(ShapeMetric.VOLUME);
+    }
+
+    /**
+     * Returns a copy of the table, including any computed columns.
+     *
+     * @return the copy
+     */
+    public ShapeTable copy() {
+        ShapeTable copy = new ShapeTable(0);
+        copy.types = Arrays.copyOf(types, size);
+        copy.heights = Arrays.copyOf(heights, size);
+        copy.parameters = Arrays.copyOf(parameters, size);
+        copy.baseAreas = baseAreas != null ? Arrays.copyOf(baseAreas, size) : null;
+        copy.volumes = volumes != null ? Arrays.copyOf(volumes, size) : null;
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Returns the column holding a metric of every row, computing it if needed.
+     * The column may be longer than the table; entries past size are unused.
+     * The array is the table's own and must not be modified.
+     *
+     * @param metric the metric
+     * @return the metric column
+     */
+    double[] column(ShapeMetric metric) {
+        switch (metric) {
+            case HEIGHT:
+                return heights;
+            case BASE_AREA:
+                if (baseAreas == null) {
+                    double[] column = new double[types.length];
+                    for (int i = 0; i < size; i++) {
+                        column[i] = ShapeType.fromTag(types[i]).baseArea(parameters[i]);
+                    }
+                    baseAreas = column;
+                }
+                return baseAreas;
+            case VOLUME:
+                if (volumes == null) {
+                    double[] column = new double[types.length];
+                    for (int i = 0; i < size; i++) {
+                        column[i] = ShapeType.fromTag(types[i]).volume(heights[i], parameters[i]);
+                    }
+                    volumes = column;
+                }
+                return volumes;
+            default:
+                throw new IllegalArgumentException("Unknown metric: " + metric);
+        }
+    }
+
+    /**
+     * Reorders the rows so that row i afterwards holds what was row order[i].
+     * Each double column is gathered into a spare array that then replaces it,
+     * and the replaced column becomes the spare for the next one, so only one
+     * extra column is allocated. Gathering lets the random reads of a column
+     * overlap, which on large tables is much faster than walking the cycles of
+     * the permutation, where every read waits for the one before it.
+     *
+     * @param order a permutation of 0..size-1
+     */
+    void permute(int[] order) {
+        byte[] sortedTypes = new byte[types.length];
+        for (int i = 0; i < size; i++) {
+            sortedTypes[i] = types[order[i]];
+        }
+        types = sortedTypes;
+
+        double[] spare = new double[heights.length];
+        double[] column;
+
+        column = heights;
+        heights = gather(column, order, spare);
+        spare = column;
+
+        column = parameters;
+        parameters = gather(column, order, spare);
+        spare = column;
+
+        if (baseAreas != null) {
+            column = baseAreas;
+            baseAreas = gather(column, order, spare);
+            spare = column;
+        }
+        if (volumes != null) {
+            volumes = gather(volumes, order, spare);
+        }
+    }
+
+    /**
+     * Copies column[order[i]] into dest[i] for every row.
+     *
+     * @return dest
+     */
+    private double[] gather(double[] column, int[] order, double[] dest) {
+        for (int i = 0; i < size; i++) {
+            dest[i] = column[order[i]];
+        }
+        return dest;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside the table of size " + size);
+        }
+    }
+}
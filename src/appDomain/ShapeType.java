@@ -0,0 +1,300 @@
+package appDomain;
+
+import shapes.*;
+
+/**
+ * The concrete shape types that can appear in a shape file.
+ * Each type knows the name and the binary tag used for it in files, how to
+ * construct a shape from a height and its type-specific parameter (radius or
+ * side length), how to read that parameter back from a shape, and how to
+ * compute the base area and volume without constructing one.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public enum ShapeType {
+
+    /** A cone, parameterized by the radius of its base. */
+    CONE("Cone", 1, Cone.class) {
+        @Override
+        public Shape create(double height, double parameter) {
+            return new Cone(height, parameter);
+        }
+
+        @Override
+        public double baseArea(double parameter) {
+            return Cone.baseArea(parameter);
+        }
+
+        @Override
+        public double volume(double height, double parameter) {
+            return Cone.volume(height, parameter);
+        }
+
+        @Override
+        public double parameterOf(Shape shape) {
+            return ((Cone) shape).getRadius();
+        }
+    },
+
+    /** A cylinder, parameterized by the radius of its base. */
+    CYLINDER("Cylinder", 2, Cylinder.class) {
+        @Override
+        public Shape create(double height, double parameter) {
+            return new Cylinder(height, parameter);
+        }
+
+        @Override
+        public double baseArea(double parameter) {
+            return Cylinder.baseArea(parameter);
+        }
+
+        @Override
+        public double volume(double height, double parameter) {
+            return Cylinder.volume(height, parameter);
+        }
+
+        @Override
+        public double parameterOf(Shape shape) {
+            return ((Cylinder) shape).getRadius();
+        }
+    },
+
+    /** An octagonal prism, parameterized by its side length. */
+    OCTAGONAL_PRISM("OctagonalPrism", 3, OctagonalPrism.class) {
+        @Override
+        public Shape create(double height, double parameter) {
+            return new OctagonalPrism(height, parameter);
+        }
+
+        @Override
+        public double baseArea(double parameter) {
+            return OctagonalPrism.baseArea(parameter);
+        }
+
+        @Override
+        public double volume(double height, double parameter) {
+            return OctagonalPrism.volume(height, parameter);
+        }
+
+        @Override
+        public double parameterOf(Shape shape) {
+            return ((Prism) shape).getSide();
+        }
+    },
+
+    /** A pentagonal prism, parameterized by its side length. */
+    PENTAGONAL_PRISM("PentagonalPrism", 4, PentagonalPrism.class) {
+        @Override
+        public Shape create(double height, double parameter) {
+            return new PentagonalPrism(height, parameter);
+        }
+
+        @Override
+        public double baseArea(double parameter) {
+            return PentagonalPrism.baseArea(parameter);
+        }
+
+        @Override
+        public double volume(double height, double parameter) {
+            return PentagonalPrism.volume(height, parameter);
+        }
+
+        @Override
+        public double parameterOf(Shape shape) {
+            return ((Prism) shape).getSide();
+        }
+    },
+
+    /** A square prism, parameterized by its side length. */
+    SQUARE_PRISM("SquarePrism", 5, SquarePrism.class) {
+        @Override
+        public Shape create(double height, double parameter) {
+            return new SquarePrism(height, parameter);
+        }
+
+        @Override
+        public double baseArea(double parameter) {
+            return SquarePrism.baseArea(parameter);
+        }
+
+        @Override
+        public double volume(double height, double parameter) {
+            return SquarePrism.volume(height, parameter);
+        }
+
+        @Override
+        public double parameterOf(Shape shape) {
+            return ((Prism) shape).getSide();
+        }
+    },
+
+    /** A triangular prism, parameterized by its side length. */
+    TRIANGULAR_PRISM("TriangularPrism", 6, TriangularPrism.class) {
+        @Override
+        public Shape create(double height, double parameter) {
+            return new TriangularPrism(height, parameter);
+        }
+
+        @Override
+        public double baseArea(double parameter) {
+            return TriangularPrism.baseArea(parameter);
+        }
+
+        @Override
+        public double volume(double height, double parameter) {
+            return TriangularPrism.volume(height, parameter);
+        }
+
+        @Override
+        public double parameterOf(Shape shape) {
+            return ((Prism) shape).getSide();
+        }
+    },
+
+    /** A square-based pyramid, parameterized by its side length. */
+    PYRAMID("Pyramid", 7, Pyramid.class) {
+        @Override
+        public Shape create(double height, double parameter) {
+            return new Pyramid(height, parameter);
+        }
+
+        @Override
+        public double baseArea(double parameter) {
+            return Pyramid.baseArea(parameter);
+        }
+
+        @Override
+        public double volume(double height, double parameter) {
+            return Pyramid.volume(height, parameter);
+        }
+
+        @Override
+        public double parameterOf(Shape shape) {
+            return ((Pyramid) shape).getSide();
+        }
+    };
+
+    private static final ShapeType[] VALUES = values();
+
+    /**
+     * The types indexed by their unsigned binary tag.
+     */
+    private static final ShapeType[] BY_TAG = new ShapeType[256];
+
+    static {
+        for (ShapeType type : VALUES) {
+            BY_TAG[type.tag & 0xFF] = type;
+        }
+    }
+
+    private final String fileName;
+    private final byte tag;
+    private final Class<? extends Shape> shapeClass;
+
+    /**
+     * @param fileName the name of the type as written in shape files
+     * @param tag the code identifying the type in binary shape files
+     * @param shapeClass the class of the shapes of this type
+     */
+    ShapeType(String fileName, int tag, Class<? extends Shape> shapeClass) {
+        this.fileName = fileName;
+        this.tag = (byte) tag;
+        this.shapeClass = shapeClass;
+    }
+
+    /**
+     * Creates a shape of this type.
+     *
+     * @param height the height of the shape
+     * @param parameter the type-specific parameter (radius or side length)
+     * @return the new shape
+     */
+    public abstract Shape create(double height, double parameter);
+
+    /**
+     * Returns the type-specific parameter of a shape of this type.
+     *
+     * @param shape a shape of this type
+     * @return its radius or side length
+     */
+    public abstract double parameterOf(Shape shape);
+
+    /**
+     * Computes the base area of a shape of this type with the same formula its
+     * constructor uses, so the value equals {@link Shape#getBaseArea()}.
+     *
+     * @param parameter the type-specific parameter (radius or side length)
+     * @return the area of the base
+     */
+    public abstract double baseArea(double parameter);
+
+    /**
+     * Computes the volume of a shape of this type with the same formula its
+     * constructor uses, so the value equals {@link Shape#getVolume()}.
+     *
+     * @param height the height of the shape
+     * @param parameter the type-specific parameter (radius or side length)
+     * @return the volume
+     */
+    public abstract double volume(double height, double parameter);
+
+    /**
+     * @return the name of the type as written in shape files
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * @return the code identifying the type in binary shape files
+     */
+    public byte getTag() {
+        return tag;
+    }
+
+    /**
+     * Returns the type of a shape.
+     *
+     * @param shape the shape
+     * @return its type
+     * @throws IllegalArgumentException if the shape is not one of the known types
+     */
+    public static ShapeType of(Shape shape) {
+        // A view of an off-heap record reports the type stored in the record
+        if (shape instanceof OffHeapShapeStore.View) {
+            return ((OffHeapShapeStore.View) shape).getType();
+        }
+        for (ShapeType type : VALUES) {
+            if (type.shapeClass == shape.getClass()) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown shape class: " + shape.getClass().getName());
+    }
+
+    /**
+     * Looks up a type by its binary tag.
+     *
+     * @param tag the tag to look up
+     * @return the matching type, or null if there is none
+     */
+    public static ShapeType fromTag(byte tag) {
+        return BY_TAG[tag & 0xFF];
+    }
+
+    /**
+     * Looks up a type by its file name, ignoring case.
+     *
+     * @param name the name to look up
+     * @return the matching type, or null if there is none
+     */
+    public static ShapeType fromName(String name) {
+        for (ShapeType type : VALUES) {
+            if (type.fileName.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
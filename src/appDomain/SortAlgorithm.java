@@ -0,0 +1,124 @@
+package appDomain;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A sorting algorithm that can be selected by name, together with what callers
+ * need to know to choose and benchmark it.
+ *
+ * The algorithms of {@link Sorts} are always available. Further algorithms are
+ * discovered with {@link java.util.ServiceLoader}: a jar on the classpath that
+ * lists its implementations in
+ * {@code META-INF/services/appDomain.SortAlgorithm} makes them selectable by
+ * name or alias wherever a sort type is accepted, such as the -s flag of
+ * {@link AppDriver}. See {@link SortAlgorithms}.
+ *
+ * Like the built-in sorts, an implementation puts a shape first when it is
+ * larger under the comparator.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public interface SortAlgorithm {
+
+    /**
+     * Typical growth of the running time with the number of elements.
+     */
+    enum Complexity {
+
+        /** Linear time, such as radix sort on fixed-width keys. */
+        LINEAR("O(n)"),
+
+        /** Linearithmic time, such as merge sort. */
+        LINEARITHMIC("O(n log n)"),
+
+        /** Quadratic time, such as insertion sort on unsorted input. */
+        QUADRATIC("O(n^2)");
+
+        private final String notation;
+
+        /**
+         * @param notation the big-O notation of the complexity
+         */
+        Complexity(String notation) {
+            this.notation = notation;
+        }
+
+        /**
+         * @return the big-O notation of the complexity
+         */
+        public String getNotation() {
+            return notation;
+        }
+    }
+
+    /**
+     * @return the unique lower-case name of the algorithm, such as "merge"
+     */
+    String getName();
+
+    /**
+     * @return further lower-case names the algorithm can be selected by, such as "m"
+     */
+    List<String> getAliases();
+
+    /**
+     * @return a short description for usage texts
+     */
+    String getDescription();
+
+    /**
+     * @return true if shapes that compare equal keep their relative order
+     */
+    boolean isStable();
+
+    /**
+     * @return true if the algorithm needs no more than O(log n) extra memory
+     */
+    boolean isInPlace();
+
+    /**
+     * @return true if the algorithm uses the worker threads set by
+     *         {@link Sorts#setParallelism(int)}
+     */
+    boolean isParallel();
+
+    /**
+     * @return the expected running time on typical input
+     */
+    Complexity getComplexity();
+
+    /**
+     * Sorts an array of shapes.
+     *
+     * @param arr the array to be sorted
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or
+     *         the algorithm does not support the comparator
+     */
+    void sort(Shape[] arr, Comparator<Shape> comp);
+
+    /**
+     * @return true if {@link #sortKeys(double[], int[], int)} is supported,
+     *         which lets metric orders be sorted on primitive keys and lets the
+     *         algorithm sort shape tables and off-heap stores
+     */
+    default boolean hasKeySort() {
+        return false;
+    }
+
+    /**
+     * Sorts an index array by precomputed keys. The resulting order must be
+     * exactly the one {@link #sort(Shape[], Comparator)} produces for the
+     * shapes the keys were taken from under a {@link MetricComparator}.
+     *
+     * @param keys the key of every element
+     * @param idx the element indices, sorted in place
+     * @param dir 1 for the ascending metric order, -1 for the reversed one
+     * @throws UnsupportedOperationException if the algorithm has no key-based variant
+     */
+    default void sortKeys(double[] keys, int[] idx, int dir) {
+        throw new UnsupportedOperationException(getName() + " sort has no key-based variant");
+    }
+}
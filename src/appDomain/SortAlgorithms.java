@@ -0,0 +1,136 @@
+package appDomain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * The registry of the sorting algorithms that can be selected by name.
+ *
+ * It holds the algorithms of {@link Sorts} followed by every
+ * {@link SortAlgorithm} found on the classpath through {@link ServiceLoader}.
+ * A discovered algorithm whose name or alias is already taken, or that cannot
+ * be loaded, is skipped with a warning, so the built-in names always mean the
+ * built-in algorithms.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class SortAlgorithms {
+
+    /**
+     * The algorithms in registration order.
+     */
+    private static final List<SortAlgorithm> ALGORITHMS;
+
+    /**
+     * The algorithms by name and by alias.
+     */
+    private static final Map<String, SortAlgorithm> BY_NAME;
+
+    static {
+        List<SortAlgorithm> algorithms = new ArrayList<>();
+        Map<String, SortAlgorithm> byName = new HashMap<>();
+
+        for (SortAlgorithm algorithm : StandardSortAlgorithm.values()) {
+            register(algorithm, algorithms, byName);
+        }
+
+        Iterator<SortAlgorithm> discovered = ServiceLoader.load(SortAlgorithm.class).iterator();
+        while (true) {
+            try {
+                if (!discovered.hasNext()) break;
+                register(discovered.next(), algorithms, byName);
+            } catch (ServiceConfigurationError e) {
+                System.err.println("Warning: Could not load sort algorithm: " + e.getMessage());
+            }
+        }
+
+        ALGORITHMS = Collections.unmodifiableList(algorithms);
+        BY_NAME = byName;
+    }
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private SortAlgorithms() {
+        throw new AssertionError("SortAlgorithms is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Adds an algorithm under its name and aliases unless one of them is taken.
+     */
+    private static void register(SortAlgorithm algorithm, List<SortAlgorithm> algorithms,
+            Map<String, SortAlgorithm> byName) {
+        List<String> names = new ArrayList<>();
+        names.add(algorithm.getName());
+        names.addAll(algorithm.getAliases());
+
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).toLowerCase(Locale.ROOT);
+            if (name.isEmpty() || byName.containsKey(name) || names.subList(0, i).contains(name)) {
+                System.err.println("Warning: Skipping sort algorithm " + algorithm.getClass().getName()
+                    + ": the name '" + name + "' is empty or already taken");
+                return;
+            }
+            names.set(i, name);
+        }
+
+        for (String name : names) {
+            byName.put(name, algorithm);
+        }
+        algorithms.add(algorithm);
+    }
+
+    /**
+     * @return every registered algorithm, built-in ones first
+     */
+    public static List<SortAlgorithm> all() {
+        return ALGORITHMS;
+    }
+
+    /**
+     * Looks up an algorithm by its name or an alias, ignoring case.
+     *
+     * @param name the name or alias
+     * @return the algorithm, or null if there is none
+     */
+    public static SortAlgorithm find(String name) {
+        return name == null ? null : BY_NAME.get(name.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Looks up an algorithm by its name or an alias, ignoring case.
+     *
+     * @param name the name or alias
+     * @return the algorithm
+     * @throws IllegalArgumentException if the name is null, empty or unknown
+     */
+    public static SortAlgorithm get(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Sort type cannot be null or empty");
+        }
+        SortAlgorithm algorithm = find(name);
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Unknown sort type: " + name + ". Supported types: " + names());
+        }
+        return algorithm;
+    }
+
+    /**
+     * @return the names of all registered algorithms, in registration order
+     */
+    public static List<String> names() {
+        List<String> names = new ArrayList<>();
+        for (SortAlgorithm algorithm : ALGORITHMS) {
+            names.add(algorithm.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,178 @@
+package appDomain;
+
+import java.util.Arrays;
+
+/**
+ * Immutable summary of the timings collected by a repeated benchmark run.
+ * All times are in nanoseconds. Percentiles use the nearest-rank method.
+ * When the JVM supports it, the bytes allocated by each measured run are
+ * recorded as well.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class SortStatistics {
+
+    private final long[] samples;
+    private final long[] sorted;
+    private final long[] allocatedBytes;
+    private final int warmupIterations;
+    private final double mean;
+    private final double standardDeviation;
+
+    /**
+     * Creates statistics for the measured samples.
+     *
+     * @param samples the measured durations in nanoseconds, in run order
+     * @param warmupIterations the number of unmeasured warm-up iterations that preceded them
+     * @throws IllegalArgumentException if there are no samples
+     */
+    public SortStatistics(long[] samples, int warmupIterations) {
+        this(samples, null, warmupIterations);
+    }
+
+    /**
+     * Creates statistics for the measured samples and their allocations.
+     *
+     * @param samples the measured durations in nanoseconds, in run order
+     * @param allocatedBytes the bytes allocated by each measured run, or null if unknown
+     * @param warmupIterations the number of unmeasured warm-up iterations that preceded them
+     * @throws IllegalArgumentException if there are no samples, or the allocation
+     *         count does not match the sample count
+     */
+    public SortStatistics(long[] samples, long[] allocatedBytes, int warmupIterations) {
+        if (samples == null || samples.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        if (allocatedBytes != null && allocatedBytes.length != samples.length) {
+            throw new IllegalArgumentException("Expected " + samples.length +
+                " allocation samples but got " + allocatedBytes.length);
+        }
+        this.samples = samples.clone();
+        this.allocatedBytes = allocatedBytes == null ? null : allocatedBytes.clone();
+        this.sorted = samples.clone();
+        Arrays.sort(this.sorted);
+        this.warmupIterations = warmupIterations;
+
+        double sum = 0;
+        for (long sample : samples) {
+            sum += sample;
+        }
+        this.mean = sum / samples.length;
+
+        double squares = 0;
+        for (long sample : samples) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        this.standardDeviation = samples.length > 1 ? Math.sqrt(squares / (samples.length - 1)) : 0.0;
+    }
+
+    /**
+     * Returns the value at the given percentile using the nearest-rank method.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the sample at that percentile in nanoseconds
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * @return the measured durations in nanoseconds, in run order
+     */
+    public long[] getSamples() {
+        return samples.clone();
+    }
+
+    /**
+     * @return the number of measured iterations
+     */
+    public int getIterations() {
+        return samples.length;
+    }
+
+    /**
+     * @return the number of warm-up iterations
+     */
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    /**
+     * @return the fastest measured iteration
+     */
+    public long getMin() {
+        return sorted[0];
+    }
+
+    /**
+     * @return the median measured iteration
+     */
+    public long getMedian() {
+        return percentile(50);
+    }
+
+    /**
+     * @return the 90th percentile
+     */
+    public long getP90() {
+        return percentile(90);
+    }
+
+    /**
+     * @return the 99th percentile
+     */
+    public long getP99() {
+        return percentile(99);
+    }
+
+    /**
+     * @return the slowest measured iteration
+     */
+    public long getMax() {
+        return sorted[sorted.length - 1];
+    }
+
+    /**
+     * @return the arithmetic mean of the measured iterations
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * @return the sample standard deviation of the measured iterations
+     */
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    /**
+     * @return true if allocations were recorded for the measured iterations
+     */
+    public boolean hasAllocationData() {
+        return allocatedBytes != null;
+    }
+
+    /**
+     * Returns the mean number of bytes allocated per measured iteration.
+     * Only allocations made by the sorting thread are counted, so work done
+     * by the worker threads of the parallel algorithms is not included.
+     *
+     * @return the mean allocated bytes, or -1 if allocations were not recorded
+     */
+    public double getMeanAllocatedBytes() {
+        if (allocatedBytes == null) {
+            return -1;
+        }
+        double sum = 0;
+        for (long bytes : allocatedBytes) {
+            sum += bytes;
+        }
+        return sum / allocatedBytes.length;
+    }
+}
@@ -0,0 +1,611 @@
+package appDomain;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Shapes kept in sorted order as they are added, so a growing working set
+ * never has to be sorted again as a whole.
+ *
+ * The shapes live in a B+-tree: leaves hold up to {@value #CAPACITY} shapes
+ * in order and are linked to the next leaf, and every inner node knows the
+ * first shape and the number of shapes below each of its children. Adding a
+ * shape descends to its leaf in O(log n) comparisons, the shape at a rank is
+ * found in O(log n) steps by the counts, the rank of a key in O(log n)
+ * comparisons by the first shapes, and a range of ranks is read along the
+ * leaf links.
+ *
+ * As in the sorts of {@link Sorts}, a shape comes first when it is larger
+ * under the comparator, and a shape is placed after every shape already in
+ * the index that it ties with. The index therefore holds exactly the order a
+ * stable sort such as merge sort gives the shapes in the order they were
+ * added, and {@link AppDriver} prints the same checkpoints from it.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class SortedShapeIndex implements Iterable<Shape> {
+
+    /**
+     * Maximum number of shapes in a leaf and of children of an inner node.
+     */
+    private static final int CAPACITY = 64;
+
+    /**
+     * Number of shapes or children a node receives when the tree is built
+     * from sorted shapes, leaving room for later inserts before it splits.
+     */
+    private static final int BULK_FILL = CAPACITY * 3 / 4;
+
+    /**
+     * A batch at least this fraction of the index (as a divisor) is merged
+     * in and the tree rebuilt instead of inserting its shapes one by one.
+     */
+    private static final int BULK_DIVISOR = 8;
+
+    private final Comparator<Shape> comparator;
+    private Node root;
+    private Leaf head;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param comparator the comparator to order the shapes by
+     * @throws IllegalArgumentException if the comparator is null
+     */
+    public SortedShapeIndex(Comparator<Shape> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        this.comparator = comparator;
+        clear();
+    }
+
+    /**
+     * Creates an index holding the given shapes.
+     *
+     * @param shapes the shapes
+     * @param comparator the comparator to order the shapes by
+     * @return the index
+     * @throws IllegalArgumentException if the array, a shape or the comparator is null
+     */
+    public static SortedShapeIndex of(Shape[] shapes, Comparator<Shape> comparator) {
+        SortedShapeIndex index = new SortedShapeIndex(comparator);
+        index.addAll(shapes);
+        return index;
+    }
+
+    /**
+     * Adds a shape after every shape in the index that it ties with.
+     * Time Complexity: O(log n)
+     *
+     * @param shape the shape to add
+     * @throws IllegalArgumentException if the shape is null
+     */
+    public void add(Shape shape) {
+        if (shape == null) {
+            throw new IllegalArgumentException("Shape cannot be null");
+        }
+        Node sibling = root.insert(shape, comparator);
+        if (sibling != null) {
+            Inner parent = new Inner();
+            parent.append(root);
+            parent.append(sibling);
+            root = parent;
+        }
+    }
+
+    /**
+     * Adds the shapes in order, as if {@link #add(Shape)} was called for each.
+     * A batch that is small next to the index is inserted shape by shape; a
+     * larger one is sorted on its own and merged with the index, which is then
+     * rebuilt in O(n + k).
+     * Time Complexity: O(k log n) for small batches, O(n + k log k) otherwise
+     *
+     * @param shapes the shapes to add
+     * @throws IllegalArgumentException if the array or a shape is null
+     */
+    public void addAll(Shape[] shapes) {
+        if (shapes == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        for (Shape shape : shapes) {
+            if (shape == null) {
+                throw new IllegalArgumentException("Shape cannot be null");
+            }
+        }
+
+        int size = size();
+        if (shapes.length < (long) size / BULK_DIVISOR || shapes.length == 0) {
+            for (Shape shape : shapes) {
+                add(shape);
+            }
+            return;
+        }
+
+        Shape[] batch = shapes.clone();
+        sortStably(batch);
+
+        // Merge, taking the shapes already in the index first on ties
+        Shape[] merged = new Shape[size + batch.length];
+        Iterator<Shape> existing = iterator();
+        Shape next = existing.hasNext() ? existing.next() : null;
+        int b = 0, k = 0;
+        while (next != null && b < batch.length) {
+            if (comparator.compare(batch[b], next) > 0) {
+                merged[k++] = batch[b++];
+            } else {
+                merged[k++] = next;
+                next = existing.hasNext() ? existing.next() : null;
+            }
+        }
+        while (next != null) {
+            merged[k++] = next;
+            next = existing.hasNext() ? existing.next() : null;
+        }
+        System.arraycopy(batch, b, merged, k, batch.length - b);
+
+        build(merged);
+    }
+
+    /**
+     * Removes every shape from the index.
+     */
+    public void clear() {
+        head = new Leaf();
+        root = head;
+    }
+
+    /**
+     * @return the number of shapes in the index
+     */
+    public int size() {
+        return root.size();
+    }
+
+    /**
+     * @return the comparator the shapes are ordered by
+     */
+    public Comparator<Shape> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the shape at a position of the sorted order.
+     * Time Complexity: O(log n)
+     *
+     * @param rank the position, from 0
+     * @return the shape
+     * @throws IndexOutOfBoundsException if the position does not exist
+     */
+    public Shape get(int rank) {
+        checkRank(rank, size());
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int c = 0;
+            while (rank >= inner.children[c].size()) {
+                rank -= inner.children[c].size();
+                c++;
+            }
+            node = inner.children[c];
+        }
+        return ((Leaf) node).items[rank];
+    }
+
+    /**
+     * Passes the shapes at positions fromRank..toRank-1 of the sorted order
+     * to the action, in order.
+     * Time Complexity: O(log n + toRank - fromRank)
+     *
+     * @param fromRank the first position, inclusive
+     * @param toRank the last position, exclusive
+     * @param action the action to perform on each shape
+     * @throws IllegalArgumentException if the range is invalid or the action is null
+     */
+    public void scan(int fromRank, int toRank, Consumer<? super Shape> action) {
+        Sorts.checkRange(size(), fromRank, toRank);
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        if (fromRank == toRank) {
+            return;
+        }
+
+        Node node = root;
+        int offset = fromRank;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int c = 0;
+            while (offset >= inner.children[c].size()) {
+                offset -= inner.children[c].size();
+                c++;
+            }
+            node = inner.children[c];
+        }
+
+        Leaf leaf = (Leaf) node;
+        for (int remaining = toRank - fromRank; remaining > 0; leaf = leaf.next, offset = 0) {
+            int end = Math.min(leaf.count, offset + remaining);
+            for (int i = offset; i < end; i++) {
+                action.accept(leaf.items[i]);
+            }
+            remaining -= end - offset;
+        }
+    }
+
+    /**
+     * Returns the position of the first shape that ties with the key under
+     * the comparator or, if none does, the position the key would take: the
+     * number of shapes that come before it.
+     * Time Complexity: O(log n)
+     *
+     * @param key a shape ranked as the value looked for, such as one built
+     *        with the wanted dimensions; it need not be in the index
+     * @return the first position of the key
+     * @throws IllegalArgumentException if the key is null
+     */
+    public int rankOf(Shape key) {
+        return locate(key, false);
+    }
+
+    /**
+     * Returns the position after the last shape that ties with the key under
+     * the comparator, which is the position {@link #add(Shape)} gives it.
+     * Time Complexity: O(log n)
+     *
+     * @param key a shape ranked as the value looked for; it need not be in the index
+     * @return the position after the last shape tying with the key
+     * @throws IllegalArgumentException if the key is null
+     */
+    public int rankAfter(Shape key) {
+        return locate(key, true);
+    }
+
+    /**
+     * Passes the shapes from the first that ties with from up to the last
+     * that ties with to to the action, in order. For an index by ascending
+     * volume these are the shapes whose volume lies between those of the two
+     * keys, both inclusive.
+     * Time Complexity: O(log n + k) for k matching shapes
+     *
+     * @param from the key the range starts at, inclusive
+     * @param to the key the range ends at, inclusive
+     * @param action the action to perform on each shape
+     * @throws IllegalArgumentException if a key or the action is null, or to
+     *         comes before from under the comparator
+     */
+    public void scan(Shape from, Shape to, Consumer<? super Shape> action) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (comparator.compare(from, to) < 0) {
+            throw new IllegalArgumentException("Range ends before it starts: " + to + " comes before " + from);
+        }
+        scan(rankOf(from), rankAfter(to), action);
+    }
+
+    /**
+     * @return the shapes in sorted order
+     */
+    public Shape[] toArray() {
+        Shape[] shapes = new Shape[size()];
+        int k = 0;
+        for (Leaf leaf = head; leaf != null; leaf = leaf.next) {
+            System.arraycopy(leaf.items, 0, shapes, k, leaf.count);
+            k += leaf.count;
+        }
+        return shapes;
+    }
+
+    /**
+     * Returns an iterator over the shapes in sorted order. The index must not
+     * be changed while it is in use.
+     *
+     * @return the iterator
+     */
+    @Override
+    public Iterator<Shape> iterator() {
+        return new Iterator<Shape>() {
+            private Leaf leaf = head;
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                while (leaf != null && i == leaf.count) {
+                    leaf = leaf.next;
+                    i = 0;
+                }
+                return leaf != null;
+            }
+
+            @Override
+            public Shape next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return leaf.items[i++];
+            }
+        };
+    }
+
+    /**
+     * Sorts a batch with a stable sort, on precomputed keys when the
+     * comparator allows it.
+     */
+    private void sortStably(Shape[] batch) {
+        if (comparator instanceof MetricComparator || comparator instanceof CompositeComparator) {
+            Sorts.radixSort(batch, comparator);
+        } else {
+            Sorts.timSort(batch, comparator);
+        }
+    }
+
+    /**
+     * Replaces the tree by one built bottom-up from shapes in sorted order.
+     */
+    private void build(Shape[] sorted) {
+        if (sorted.length == 0) {
+            clear();
+            return;
+        }
+
+        int leaves = (sorted.length + BULK_FILL - 1) / BULK_FILL;
+        Node[] level = new Node[leaves];
+        Leaf previous = null;
+        for (int l = 0; l < leaves; l++) {
+            Leaf leaf = new Leaf();
+            int from = l * BULK_FILL;
+            leaf.count = Math.min(BULK_FILL, sorted.length - from);
+            System.arraycopy(sorted, from, leaf.items, 0, leaf.count);
+            if (previous == null) {
+                head = leaf;
+            } else {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[l] = leaf;
+        }
+
+        while (level.length > 1) {
+            Node[] parents = new Node[(level.length + BULK_FILL - 1) / BULK_FILL];
+            for (int p = 0; p < parents.length; p++) {
+                Inner inner = new Inner();
+                for (int c = p * BULK_FILL, end = Math.min(c + BULK_FILL, level.length); c < end; c++) {
+                    inner.append(level[c]);
+                }
+                parents[p] = inner;
+            }
+            level = parents;
+        }
+        root = level[0];
+    }
+
+    /**
+     * Returns the first position of a key, or with afterTies the position
+     * after the shapes it ties with, descending by the first shapes of the
+     * children as {@link #add(Shape)} does.
+     */
+    private int locate(Shape key, boolean afterTies) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        Node node = root;
+        int rank = 0;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            // The last child whose first shape comes before the key (or ties
+            // with it, after ties); every shape of the children before it does too
+            int c = Math.max(0, (afterTies
+                ? upperBound(inner.firsts, 1, inner.count, key, comparator)
+                : lowerBound(inner.firsts, 1, inner.count, key, comparator)) - 1);
+            for (int i = 0; i < c; i++) {
+                rank += inner.children[i].size();
+            }
+            node = inner.children[c];
+        }
+        Leaf leaf = (Leaf) node;
+        return rank + (afterTies
+            ? upperBound(leaf.items, 0, leaf.count, key, comparator)
+            : lowerBound(leaf.items, 0, leaf.count, key, comparator));
+    }
+
+    /**
+     * Returns the number of leading shapes of items[0..count) that come
+     * before the shape, not counting those it ties with.
+     */
+    private static int lowerBound(Shape[] items, int from, int count, Shape shape, Comparator<Shape> comp) {
+        int lo = from, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comp.compare(items[mid], shape) > 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the number of leading shapes of items[0..count) that the shape
+     * is placed after: those it does not come before.
+     */
+    private static int upperBound(Shape[] items, int from, int count, Shape shape, Comparator<Shape> comp) {
+        int lo = from, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comp.compare(shape, items[mid]) > 0) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the rank is not below the size
+     */
+    private static void checkRank(int rank, int size) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " is outside the index of size " + size);
+        }
+    }
+
+    /**
+     * A node of the tree.
+     */
+    private abstract static class Node {
+
+        /**
+         * @return the number of shapes below this node
+         */
+        abstract int size();
+
+        /**
+         * @return the first shape below this node
+         */
+        abstract Shape first();
+
+        /**
+         * Inserts a shape below this node, splitting it if it is full.
+         *
+         * @return the node holding the upper half after a split, or null
+         */
+        abstract Node insert(Shape shape, Comparator<Shape> comp);
+    }
+
+    /**
+     * A leaf holding shapes in sorted order.
+     */
+    private static final class Leaf extends Node {
+        private final Shape[] items = new Shape[CAPACITY];
+        private int count;
+        private Leaf next;
+
+        @Override
+        int size() {
+            return count;
+        }
+
+        @Override
+        Shape first() {
+            return items[0];
+        }
+
+        @Override
+        Node insert(Shape shape, Comparator<Shape> comp) {
+            int pos = upperBound(items, 0, count, shape, comp);
+            if (count < CAPACITY) {
+                insertAt(pos, shape);
+                return null;
+            }
+
+            Leaf right = new Leaf();
+            int half = CAPACITY / 2;
+            right.count = CAPACITY - half;
+            System.arraycopy(items, half, right.items, 0, right.count);
+            Arrays.fill(items, half, CAPACITY, null);
+            count = half;
+            right.next = next;
+            next = right;
+
+            if (pos <= half) {
+                insertAt(pos, shape);
+            } else {
+                right.insertAt(pos - half, shape);
+            }
+            return right;
+        }
+
+        private void insertAt(int pos, Shape shape) {
+            System.arraycopy(items, pos, items, pos + 1, count - pos);
+            items[pos] = shape;
+            count++;
+        }
+    }
+
+    /**
+     * An inner node holding its children with the first shape of each and the
+     * number of shapes below them all.
+     */
+    private static final class Inner extends Node {
+        private final Node[] children = new Node[CAPACITY];
+        private final Shape[] firsts = new Shape[CAPACITY];
+        private int count;
+        private int size;
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        Shape first() {
+            return firsts[0];
+        }
+
+        /**
+         * Adds a child after the existing ones.
+         */
+        void append(Node child) {
+            children[count] = child;
+            firsts[count] = child.first();
+            count++;
+            size += child.size();
+        }
+
+        @Override
+        Node insert(Shape shape, Comparator<Shape> comp) {
+            // The last child whose first shape the new shape is placed after;
+            // the first child takes shapes that come before all of them
+            int c = Math.max(0, upperBound(firsts, 1, count, shape, comp) - 1);
+            Node child = children[c];
+            Node split = child.insert(shape, comp);
+            firsts[c] = child.first();
+            size++;
+            if (split == null) {
+                return null;
+            }
+            if (count < CAPACITY) {
+                insertAt(c + 1, split);
+                return null;
+            }
+
+            Inner right = new Inner();
+            int half = CAPACITY / 2;
+            for (int i = half; i < CAPACITY; i++) {
+                right.append(children[i]);
+                children[i] = null;
+                firsts[i] = null;
+            }
+            count = half;
+            size -= right.size;
+
+            if (c + 1 <= half) {
+                insertAt(c + 1, split);
+            } else {
+                right.insertAt(c + 1 - half, split);
+                right.size += split.size();
+                size -= split.size();
+            }
+            return right;
+        }
+
+        /**
+         * Inserts the split-off sibling of children[pos - 1], whose shapes
+         * are already counted in the size.
+         */
+        private void insertAt(int pos, Node child) {
+            System.arraycopy(children, pos, children, pos + 1, count - pos);
+            System.arraycopy(firsts, pos, firsts, pos + 1, count - pos);
+            children[pos] = child;
+            firsts[pos] = child.first();
+            count++;
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package appDomain;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BiConsumer;
 
 /**
- * Utility class providing various sorting algorithms for Shape arrays.
+ * Utility class providing various sorting algorithms.
  * Implements both simple and efficient sorting algorithms with consistent APIs.
- * All sorts are performed in-place and support custom comparators.
+ * The comparison sorts work on arrays of any element type and on subranges
+ * of them; every algorithm orders elements descending under the supplied
+ * comparator, placing an element before another when it compares greater.
+ * Merge, quick, heap and radix sort also come specialized for double, int and
+ * long arrays, sorting them into descending order without boxing or calls
+ * through a comparator. Shapes additionally get the key-based sorts, the
+ * columnar and off-heap variants and the benchmarking entry points.
  * 
  * @Team Link
  * @version 1.0
@@ -23,7 +33,7 @@ public final class Sorts {
     }
 
     /**
-     * Sorts an array of shapes using the bubble sort algorithm.
+     * Sorts an array using the bubble sort algorithm.
      * Time Complexity: O(n²) worst-case, O(n) best-case (when already sorted)
      * Space Complexity: O(1)
      * Stable: Yes
@@ -32,10 +42,25 @@ public final class Sorts {
      * @param comp the comparator to determine the order of elements
      * @throws IllegalArgumentException if the array or comparator is null
      */
-    public static void bubbleSort(Shape[] arr, Comparator<Shape> comp) {
+    public static <T> void bubbleSort(T[] arr, Comparator<? super T> comp) {
         validateInput(arr, comp);
+        bubbleSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using the bubble sort algorithm;
+     * see {@link #bubbleSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void bubbleSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
         
-        int n = arr.length;
+        int n = toIndex - fromIndex;
         boolean swapped;
         
         // Iterate through all elements
@@ -43,7 +68,7 @@ public final class Sorts {
             swapped = false;
             
             // Last i elements are already in place, so reduce range each iteration
-            for (int j = 0; j < n - i - 1; j++) {
+            for (int j = fromIndex; j < toIndex - i - 1; j++) {
                 // Compare adjacent elements and swap if they are in wrong order
                 // Using > 0 for descending order as per the original logic
                 if (comp.compare(arr[j], arr[j + 1]) < 0) {
@@ -58,7 +83,7 @@ public final class Sorts {
     }
 
     /**
-     * Sorts an array of shapes using the selection sort algorithm.
+     * Sorts an array using the selection sort algorithm.
      * Time Complexity: O(n²) in all cases
      * Space Complexity: O(1)
      * Stable: No
@@ -67,17 +92,30 @@ public final class Sorts {
      * @param comp the comparator to determine the order of elements
      * @throws IllegalArgumentException if the array or comparator is null
      */
-    public static void selectionSort(Shape[] arr, Comparator<Shape> comp) {
+    public static <T> void selectionSort(T[] arr, Comparator<? super T> comp) {
         validateInput(arr, comp);
-        
-        int n = arr.length;
+        selectionSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using the selection sort
+     * algorithm; see {@link #selectionSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void selectionSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
         
         // One by one move boundary of unsorted subarray
-        for (int i = 0; i < n - 1; i++) {
+        for (int i = fromIndex; i < toIndex - 1; i++) {
             int maxIdx = i; // Assume current position has maximum
             
             // Find the maximum element in remaining unsorted array
-            for (int j = i + 1; j < n; j++) {
+            for (int j = i + 1; j < toIndex; j++) {
                 // Using > 0 for descending order as per the original logic
                 if (comp.compare(arr[j], arr[maxIdx]) > 0) {
                     maxIdx = j;
@@ -90,7 +128,7 @@ public final class Sorts {
     }
 
     /**
-     * Sorts an array of shapes using the insertion sort algorithm.
+     * Sorts an array using the insertion sort algorithm.
      * Time Complexity: O(n²) worst-case, O(n) best-case
      * Space Complexity: O(1)
      * Stable: Yes
@@ -99,19 +137,32 @@ public final class Sorts {
      * @param comp the comparator to determine the order of elements
      * @throws IllegalArgumentException if the array or comparator is null
      */
-    public static void insertionSort(Shape[] arr, Comparator<Shape> comp) {
+    public static <T> void insertionSort(T[] arr, Comparator<? super T> comp) {
         validateInput(arr, comp);
+        insertionSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using the insertion sort
+     * algorithm; see {@link #insertionSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void insertionSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
         
-        int n = arr.length;
-        
-        // Start from the second element (index 1)
-        for (int i = 1; i < n; i++) {
-            Shape key = arr[i]; // Current element to be inserted
+        // Start from the second element of the range
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            T key = arr[i]; // Current element to be inserted
             int j = i - 1;
             
             // Move elements that are less than key to one position ahead
             // Using < 0 for descending order as per the original logic
-            while (j >= 0 && comp.compare(arr[j], key) < 0) {
+            while (j >= fromIndex && comp.compare(arr[j], key) < 0) {
                 arr[j + 1] = arr[j];
                 j--;
             }
@@ -122,7 +173,7 @@ public final class Sorts {
     }
 
     /**
-     * Sorts an array of shapes using the merge sort algorithm.
+     * Sorts an array using the merge sort algorithm.
      * Time Complexity: O(n log n) in all cases
      * Space Complexity: O(n)
      * Stable: Yes
@@ -131,13 +182,28 @@ public final class Sorts {
      * @param comp the comparator to determine the order of elements
      * @throws IllegalArgumentException if the array or comparator is null
      */
-    public static void mergeSort(Shape[] arr, Comparator<Shape> comp) {
+    public static <T> void mergeSort(T[] arr, Comparator<? super T> comp) {
         validateInput(arr, comp);
+        mergeSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using the merge sort algorithm;
+     * see {@link #mergeSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void mergeSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
         
-        // Base case: arrays with 0 or 1 elements are already sorted
-        if (arr.length < 2) return;
+        // Base case: ranges with 0 or 1 elements are already sorted
+        if (toIndex - fromIndex < 2) return;
         
-        mergeSortHelper(arr, 0, arr.length - 1, comp);
+        mergeSortHelper(arr, fromIndex, toIndex - 1, comp);
     }
 
     /**
@@ -148,7 +214,7 @@ public final class Sorts {
      * @param right the right index of the subarray
      * @param comp the comparator to determine the order of elements
      */
-    private static void mergeSortHelper(Shape[] arr, int left, int right, Comparator<Shape> comp) {
+    private static <T> void mergeSortHelper(T[] arr, int left, int right, Comparator<? super T> comp) {
         if (left < right) {
             // Find the middle point to divide the array into two halves
             int mid = left + (right - left) / 2; // Prevents integer overflow
@@ -171,14 +237,14 @@ public final class Sorts {
      * @param right the right index of the second subarray
      * @param comp the comparator to determine the order of elements
      */
-    private static void merge(Shape[] arr, int left, int mid, int right, Comparator<Shape> comp) {
+    private static <T> void merge(T[] arr, int left, int mid, int right, Comparator<? super T> comp) {
         // Sizes of two subarrays to be merged
         int n1 = mid - left + 1;
         int n2 = right - mid;
 
         // Create temporary arrays
-        Shape[] leftArray = new Shape[n1];
-        Shape[] rightArray = new Shape[n2];
+        T[] leftArray = newArray(n1);
+        T[] rightArray = newArray(n2);
 
         // Copy data to temporary arrays
         for (int i = 0; i < n1; i++)
@@ -206,8 +272,173 @@ public final class Sorts {
     }
 
     /**
-     * Sorts an array of shapes using the quick sort algorithm.
-     * Time Complexity: O(n log n) average-case, O(n²) worst-case
+     * Subarray size at or below which the tuned sorts switch to insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Ranges at least this long pick the quick sort pivot with Tukey's ninther
+     * instead of a plain median of three.
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * Sorts an array using a merge sort that allocates a single
+     * auxiliary buffer up front. The roles of the array and the buffer
+     * alternate between recursion levels (ping-pong), so every merge writes
+     * straight into its destination without copying its inputs first. Small
+     * runs are insertion sorted, and merges are skipped when the two halves are
+     * already in order, which makes presorted input linear.
+     * Time Complexity: O(n log n) worst-case, O(n) best-case (when already sorted)
+     * Space Complexity: O(n), allocated once
+     * Stable: Yes
+     *
+     * @param arr the array to be sorted
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null
+     */
+    public static <T> void bufferedMergeSort(T[] arr, Comparator<? super T> comp) {
+        validateInput(arr, comp);
+        bufferedMergeSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using the single-buffer merge
+     * sort; see {@link #bufferedMergeSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void bufferedMergeSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
+
+        if (toIndex - fromIndex < 2) return;
+
+        // Both arrays must start with the same contents for the ping-pong scheme;
+        // the buffer only holds the range, so positions in it are offset by fromIndex
+        T[] aux = Arrays.copyOfRange(arr, fromIndex, toIndex);
+        bufferedMergeSortHelper(aux, 0, arr, fromIndex, 0, toIndex - fromIndex - 1, comp);
+    }
+
+    /**
+     * Sorts positions left..right of src into the same positions of dst, where
+     * position k is src[srcBase + k] and dst[dstBase + k]. On entry both hold
+     * the same elements; the recursive calls swap the roles of the arrays so
+     * the sorted halves end up in src, ready to be merged into dst.
+     *
+     * @param src the array receiving the sorted halves
+     * @param srcBase the index of position 0 in src
+     * @param dst the array receiving the merged result
+     * @param dstBase the index of position 0 in dst
+     * @param left the first position of the subarray
+     * @param right the last position of the subarray
+     * @param comp the comparator to determine the order of elements
+     */
+    private static <T> void bufferedMergeSortHelper(T[] src, int srcBase, T[] dst, int dstBase,
+            int left, int right, Comparator<? super T> comp) {
+        if (right - left < INSERTION_SORT_THRESHOLD) {
+            insertionSortRange(dst, dstBase + left, dstBase + right, comp);
+            return;
+        }
+
+        int mid = left + (right - left) / 2;
+        bufferedMergeSortHelper(dst, dstBase, src, srcBase, left, mid, comp);
+        bufferedMergeSortHelper(dst, dstBase, src, srcBase, mid + 1, right, comp);
+
+        // Halves already in order: the last of the left run does not follow the first of the right
+        if (comp.compare(src[srcBase + mid], src[srcBase + mid + 1]) >= 0) {
+            System.arraycopy(src, srcBase + left, dst, dstBase + left, right - left + 1);
+            return;
+        }
+
+        int i = srcBase + left, j = srcBase + mid + 1;
+        int iEnd = srcBase + mid, jEnd = srcBase + right;
+        for (int k = dstBase + left, end = dstBase + right; k <= end; k++) {
+            if (i > iEnd) {
+                dst[k] = src[j++];
+            } else if (j > jEnd) {
+                dst[k] = src[i++];
+            } else if (comp.compare(src[i], src[j]) >= 0) {
+                // Using >= 0 for descending order as per the original logic
+                dst[k] = src[i++];
+            } else {
+                dst[k] = src[j++];
+            }
+        }
+    }
+
+    /**
+     * Insertion sorts arr[left..right]; see {@link #insertionSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the subarray
+     * @param left the left index of the subarray
+     * @param right the right index of the subarray
+     * @param comp the comparator to determine the order of elements
+     */
+    private static <T> void insertionSortRange(T[] arr, int left, int right, Comparator<? super T> comp) {
+        for (int i = left + 1; i <= right; i++) {
+            T key = arr[i];
+            int j = i - 1;
+
+            while (j >= left && comp.compare(arr[j], key) < 0) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+
+            arr[j + 1] = key;
+        }
+    }
+
+    /**
+     * Sorts an array using an adaptive natural-run merge sort in the
+     * style of TimSort. Existing runs in the input, whether in order or strictly
+     * in reverse order, are detected and kept; short runs are extended with
+     * binary insertion sort, and merges gallop through long stretches won by
+     * one run. Input made of a few presorted batches sorts in close to linear time.
+     * The sort itself is the JDK's TimSort, run through {@link TimSort}.
+     * Time Complexity: O(n log n) worst-case, O(n) best-case (when already sorted or reversed)
+     * Space Complexity: O(n)
+     * Stable: Yes
+     *
+     * @param arr the array to be sorted
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null
+     */
+    public static <T> void timSort(T[] arr, Comparator<? super T> comp) {
+        validateInput(arr, comp);
+        timSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using the adaptive natural-run
+     * merge sort; see {@link #timSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void timSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
+
+        TimSort.sort(arr, fromIndex, toIndex, comp);
+    }
+
+    /**
+     * Sorts an array using introsort, a quick sort that cannot degrade.
+     * The pivot is the median of three elements, or Tukey's ninther (median of
+     * three medians) on larger ranges, so presorted and reverse-sorted input
+     * partitions evenly. Partitioning is three-way (Bentley-McIlroy), so runs of
+     * equal keys are gathered around the pivot and never recursed into again.
+     * The smaller side is sorted recursively and the larger one iteratively,
+     * bounding the stack at O(log n), and ranges that still need partitioning
+     * after 2·log2(n) levels are finished with heap sort. Small ranges are
+     * insertion sorted.
+     * Time Complexity: O(n log n) worst-case, O(n) when all keys are equal
      * Space Complexity: O(log n) due to recursion stack
      * Stable: No
      * 
@@ -215,199 +446,1614 @@ public final class Sorts {
      * @param comp the comparator to determine the order of elements
      * @throws IllegalArgumentException if the array or comparator is null
      */
-    public static void quickSort(Shape[] arr, Comparator<Shape> comp) {
+    public static <T> void quickSort(T[] arr, Comparator<? super T> comp) {
         validateInput(arr, comp);
-        quickSortHelper(arr, 0, arr.length - 1, comp);
+        quickSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using introsort; see
+     * {@link #quickSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void quickSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
+
+        if (toIndex - fromIndex < 2) return;
+
+        quickSortHelper(arr, fromIndex, toIndex - 1, 2 * floorLog2(toIndex - fromIndex), comp);
     }
 
     /**
-     * Recursive helper method for quick sort.
+     * Sorts arr[low..high], recursing into the smaller partition and looping on
+     * the larger one.
      * 
      * @param arr the array to be sorted
      * @param low the starting index of the subarray
      * @param high the ending index of the subarray
+     * @param depthLimit the number of partitioning levels left before falling back to heap sort
      * @param comp the comparator to determine the order of elements
      */
-    private static void quickSortHelper(Shape[] arr, int low, int high, Comparator<Shape> comp) {
-        if (low < high) {
-            // Partition the array and get the pivot index
-            int pivotIndex = partition(arr, low, high, comp);
-            
-            // Recursively sort elements before and after partition
-            quickSortHelper(arr, low, pivotIndex - 1, comp);
-            quickSortHelper(arr, pivotIndex + 1, high, comp);
+    private static <T> void quickSortHelper(T[] arr, int low, int high, int depthLimit,
+                                        Comparator<? super T> comp) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                // Partitioning keeps going badly, so bound the remaining work
+                heapSortRange(arr, low, high, comp);
+                return;
+            }
+
+            long bounds = partition(arr, low, high, comp);
+            int lessEnd = (int) (bounds >>> 32);   // last index ordered before the pivot
+            int greaterStart = (int) bounds;       // first index ordered after the pivot
+
+            if (lessEnd - low < high - greaterStart) {
+                quickSortHelper(arr, low, lessEnd, depthLimit, comp);
+                low = greaterStart;
+            } else {
+                quickSortHelper(arr, greaterStart, high, depthLimit, comp);
+                high = lessEnd;
+            }
         }
+
+        insertionSortRange(arr, low, high, comp);
     }
 
     /**
-     * Partitions the array for quick sort using the last element as pivot.
+     * Partitions arr[low..high] three ways around a median-of-three (or ninther)
+     * pivot using the Bentley-McIlroy scheme: elements ordered before the pivot
+     * end up on the left, elements equal to it in the middle and elements
+     * ordered after it on the right.
      * 
      * @param arr the array to be partitioned
      * @param low the starting index
      * @param high the ending index
      * @param comp the comparator to determine the order of elements
-     * @return the final position of the pivot element
+     * @return the last index of the left part in the high 32 bits and the first
+     *         index of the right part in the low 32 bits
      */
-    private static int partition(Shape[] arr, int low, int high, Comparator<Shape> comp) {
-        Shape pivot = arr[high]; // Choose rightmost element as pivot
-        int i = low - 1; // Index of smaller element
-        
-        // Rearrange elements around pivot
-        for (int j = low; j < high; j++) {
-            // Using > 0 for descending order as per the original logic
-            if (comp.compare(arr[j], pivot) > 0) {
-                i++;
-                swap(arr, i, j);
+    private static <T> long partition(T[] arr, int low, int high, Comparator<? super T> comp) {
+        swap(arr, low, choosePivot(arr, low, high, comp));
+        T pivot = arr[low];
+
+        // arr[low..p] and arr[q..high] collect elements equal to the pivot while scanning
+        int i = low, j = high + 1;
+        int p = low, q = high + 1;
+
+        while (true) {
+            while (comp.compare(arr[++i], pivot) > 0) {
+                if (i == high) break;
             }
+            while (comp.compare(arr[--j], pivot) < 0) {
+                if (j == low) break;
+            }
+
+            if (i == j && comp.compare(arr[i], pivot) == 0) {
+                swap(arr, ++p, i);
+            }
+            if (i >= j) break;
+
+            swap(arr, i, j);
+            if (comp.compare(arr[i], pivot) == 0) swap(arr, ++p, i);
+            if (comp.compare(arr[j], pivot) == 0) swap(arr, --q, j);
         }
-        
-        // Place pivot in correct position
-        swap(arr, i + 1, high);
-        return i + 1;
+
+        // Move the equal elements from both ends into the middle
+        i = j + 1;
+        for (int k = low; k <= p; k++) {
+            swap(arr, k, j--);
+        }
+        for (int k = high; k >= q; k--) {
+            swap(arr, k, i++);
+        }
+
+        return ((long) j << 32) | (i & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the index of the pivot for arr[low..high]: the median of the
+     * first, middle and last elements, or Tukey's ninther on larger ranges.
+     */
+    private static <T> int choosePivot(T[] arr, int low, int high, Comparator<? super T> comp) {
+        int mid = low + (high - low) / 2;
+
+        if (high - low < NINTHER_THRESHOLD) {
+            return medianOfThree(arr, low, mid, high, comp);
+        }
+
+        int step = (high - low) / 8;
+        int first = medianOfThree(arr, low, low + step, low + 2 * step, comp);
+        int middle = medianOfThree(arr, mid - step, mid, mid + step, comp);
+        int last = medianOfThree(arr, high - 2 * step, high - step, high, comp);
+        return medianOfThree(arr, first, middle, last, comp);
+    }
+
+    /**
+     * Returns the index of the median of arr[a], arr[b] and arr[c].
+     */
+    private static <T> int medianOfThree(T[] arr, int a, int b, int c, Comparator<? super T> comp) {
+        if (comp.compare(arr[a], arr[b]) > 0) {
+            if (comp.compare(arr[b], arr[c]) > 0) return b;
+            return comp.compare(arr[a], arr[c]) > 0 ? c : a;
+        }
+        if (comp.compare(arr[a], arr[c]) > 0) return a;
+        return comp.compare(arr[b], arr[c]) > 0 ? c : b;
+    }
+
+    /**
+     * Returns floor(log2(n)) for a positive n.
+     */
+    static int floorLog2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
     }
 
     /**
-     * Sorts an array of shapes using the heap sort algorithm.
+     * Sorts an array using the heap sort algorithm.
+     * The heap keeps the element that sorts last at its root, so repeatedly
+     * moving the root to the end of the shrinking heap leaves the array in the
+     * same order as the other algorithms. Sifting is iterative and bottom-up
+     * (Floyd): the hole left by the root descends to a leaf with one comparison
+     * per level, and the displaced element then climbs back up, which usually
+     * takes only a step or two. This roughly halves the comparisons of the
+     * classic sift-down, which compares against both children at every level.
      * Time Complexity: O(n log n) in all cases
      * Space Complexity: O(1)
      * Stable: No
-     * 
+     *
      * @param arr the array to be sorted
      * @param comp the comparator to determine the order of elements
      * @throws IllegalArgumentException if the array or comparator is null
      */
-    public static void heapSort(Shape[] arr, Comparator<Shape> comp) {
+    public static <T> void heapSort(T[] arr, Comparator<? super T> comp) {
         validateInput(arr, comp);
-        
-        int n = arr.length;
-        
-        // Build max heap (rearrange array)
+        heapSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using the heap sort algorithm;
+     * see {@link #heapSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void heapSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
+
+        heapSortRange(arr, fromIndex, toIndex - 1, comp);
+    }
+
+    /**
+     * Heap sorts arr[low..high]; also used by quick sort once its depth limit
+     * is exhausted.
+     *
+     * @param arr the array containing the subarray
+     * @param low the starting index of the subarray
+     * @param high the ending index of the subarray
+     * @param comp the comparator to determine the order of elements
+     */
+    private static <T> void heapSortRange(T[] arr, int low, int high, Comparator<? super T> comp) {
+        int n = high - low + 1;
+
+        // Build the heap from the last parent upwards
         for (int i = n / 2 - 1; i >= 0; i--) {
-            heapify(arr, n, i, comp);
+            siftDown(arr, low, n, i, arr[low + i], comp);
         }
-        
-        // One by one extract elements from heap
-        for (int i = n - 1; i > 0; i--) {
-            // Move current root to end
-            swap(arr, 0, i);
-            
-            // Call max heapify on the reduced heap
-            heapify(arr, i, 0, comp);
+
+        // Move the root behind the heap and re-insert the element it displaced
+        for (int end = n - 1; end > 0; end--) {
+            T value = arr[low + end];
+            arr[low + end] = arr[low];
+            siftDown(arr, low, end, 0, value, comp);
         }
     }
 
     /**
-     * Maintains the max heap property for a subtree rooted at index i.
-     * 
-     * @param arr the array representing the heap
+     * Places value into the binary heap stored at arr[base..base+n), where heap
+     * index hole is vacant and both of its subtrees are valid heaps. A parent
+     * never sorts before its children.
+     *
+     * @param arr the array containing the heap
+     * @param base the array index of the heap root
      * @param n the size of the heap
-     * @param i the root index of the subtree
+     * @param hole the vacant heap index
+     * @param value the element to place
      * @param comp the comparator to determine the order of elements
      */
-    private static void heapify(Shape[] arr, int n, int i, Comparator<Shape> comp) {
-        int largest = i;     // Initialize largest as root
-        int left = 2 * i + 1; // Left child index
-        int right = 2 * i + 2; // Right child index
-        
-        // If left child is larger than root
-        if (left < n && comp.compare(arr[left], arr[largest]) > 0) {
-            largest = left;
-        }
-        
-        // If right child is larger than current largest
-        if (right < n && comp.compare(arr[right], arr[largest]) > 0) {
-            largest = right;
+    private static <T> void siftDown(T[] arr, int base, int n, int hole, T value,
+                                 Comparator<? super T> comp) {
+        int top = hole;
+
+        // Walk the hole down to a leaf, always promoting the child that sorts last
+        int child;
+        while ((child = 2 * hole + 1) < n) {
+            if (child + 1 < n && comp.compare(arr[base + child + 1], arr[base + child]) < 0) {
+                child++;
+            }
+            arr[base + hole] = arr[base + child];
+            hole = child;
         }
-        
-        // If largest is not root
-        if (largest != i) {
-            swap(arr, i, largest);
-            
-            // Recursively heapify the affected subtree
-            heapify(arr, n, largest, comp);
+
+        // Climb back up to where value belongs
+        while (hole > top) {
+            int parent = (hole - 1) / 2;
+            if (comp.compare(value, arr[base + parent]) >= 0) break;
+
+            arr[base + hole] = arr[base + parent];
+            hole = parent;
         }
-    }
 
-    // Dispatch table for sorting algorithms
-    private static final Map<String, BiConsumer<Shape[], Comparator<Shape>>> SORT_DISPATCH;
-    
-    static {
-        SORT_DISPATCH = new HashMap<>();
-        SORT_DISPATCH.put("bubble", Sorts::bubbleSort);
-        SORT_DISPATCH.put("selection", Sorts::selectionSort);
-        SORT_DISPATCH.put("insertion", Sorts::insertionSort);
-        SORT_DISPATCH.put("merge", Sorts::mergeSort);
-        SORT_DISPATCH.put("quick", Sorts::quickSort);
-        SORT_DISPATCH.put("heap", Sorts::heapSort);
+        arr[base + hole] = value;
     }
 
     /**
-     * Benchmarks the performance of a specified sorting algorithm.
-     * 
-     * @param arr the array to be sorted (will be modified)
+     * Sorts an array using heap sort on a 4-ary heap.
+     * Each node has four children stored next to each other, so the tree is half
+     * as deep as a binary heap and the children of a node usually share a cache
+     * line. Sifting is bottom-up as in {@link #heapSort(Object[], Comparator)}.
+     * Time Complexity: O(n log n) in all cases
+     * Space Complexity: O(1)
+     * Stable: No
+     *
+     * @param arr the array to be sorted
      * @param comp the comparator to determine the order of elements
-     * @param sortType the type of sort algorithm to use
-     * @return the time taken to sort the array in nanoseconds
-     * @throws IllegalArgumentException if the array, comparator, or sort type is invalid
+     * @throws IllegalArgumentException if the array or comparator is null
      */
-    public static long benchmarkSort(Shape[] arr, Comparator<Shape> comp, String sortType) {
+    public static <T> void quaternaryHeapSort(T[] arr, Comparator<? super T> comp) {
         validateInput(arr, comp);
-        
-        if (sortType == null || sortType.trim().isEmpty()) {
-            throw new IllegalArgumentException("Sort type cannot be null or empty");
+        quaternaryHeapSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using heap sort on a 4-ary heap;
+     * see {@link #quaternaryHeapSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void quaternaryHeapSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
+
+        int base = fromIndex;
+        int n = toIndex - fromIndex;
+        if (n < 2) return;
+
+        for (int i = (n - 2) / 4; i >= 0; i--) {
+            siftDownQuaternary(arr, base, n, i, arr[base + i], comp);
         }
-        
-        String normalizedSortType = sortType.toLowerCase();
-        BiConsumer<Shape[], Comparator<Shape>> sortAction = SORT_DISPATCH.get(normalizedSortType);
-        
-        if (sortAction == null) {
-            throw new IllegalArgumentException("Unknown sort type: " + sortType + 
-                ". Supported types: " + SORT_DISPATCH.keySet());
+
+        for (int end = n - 1; end > 0; end--) {
+            T value = arr[base + end];
+            arr[base + end] = arr[base];
+            siftDownQuaternary(arr, base, end, 0, value, comp);
         }
-        
-        long startTime = System.nanoTime();
-        sortAction.accept(arr, comp);
-        long endTime = System.nanoTime();
-        
-        return endTime - startTime;
     }
 
     /**
-     * Prints checkpoint elements from a sorted array for verification.
-     * Displays first element, every 1000th element, and last element.
-     * 
-     * @param arr the sorted array to display checkpoints from
-     * @throws IllegalArgumentException if the array is null or empty
+     * Places value into the 4-ary heap stored at arr[base..base+n), where heap
+     * index hole is vacant; see {@link #siftDown(Object[], int, int, int, Object, Comparator)}.
+     *
+     * @param arr the array containing the heap
+     * @param base the array index of the heap root
+     * @param n the size of the heap
+     * @param hole the vacant heap index
+     * @param value the element to place
+     * @param comp the comparator to determine the order of elements
      */
-    public static void printCheckpoints(Shape[] arr) {
-        if (arr == null || arr.length == 0) {
-            throw new IllegalArgumentException("Array cannot be null or empty");
+    private static <T> void siftDownQuaternary(T[] arr, int base, int n, int hole, T value,
+                                               Comparator<? super T> comp) {
+        int top = hole;
+
+        int first;
+        while ((first = 4 * hole + 1) < n) {
+            int last = Math.min(first + 3, n - 1);
+            int child = first;
+            for (int c = first + 1; c <= last; c++) {
+                if (comp.compare(arr[base + c], arr[base + child]) < 0) {
+                    child = c;
+                }
+            }
+            arr[base + hole] = arr[base + child];
+            hole = child;
         }
-        
-        System.out.println("First: " + arr[0]);
-        
-        // Print every 1000th element
-        for (int i = 1000; i < arr.length; i += 1000) {
-            System.out.println(i + "-th: " + arr[i]);
+
+        while (hole > top) {
+            int parent = (hole - 1) / 4;
+            if (comp.compare(value, arr[base + parent]) >= 0) break;
+
+            arr[base + hole] = arr[base + parent];
+            hole = parent;
         }
-        
-        System.out.println("Last: " + arr[arr.length - 1]);
+
+        arr[base + hole] = value;
     }
 
     /**
-     * Validates input parameters for sorting methods.
-     * 
-     * @param arr the array to validate
-     * @param comp the comparator to validate
-     * @throws IllegalArgumentException if array or comparator is null
+     * Number of worker threads used by the parallel algorithms.
      */
-    private static void validateInput(Shape[] arr, Comparator<Shape> comp) {
-        if (arr == null) {
-            throw new IllegalArgumentException("Array cannot be null");
+    private static volatile int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Pool the parallel algorithms run on, shared across calls so that no
+     * sort pays for starting and stopping threads; null until first needed.
+     */
+    private static ForkJoinPool pool;
+
+    /**
+     * Subarray size at or below which the parallel merge sort sorts and merges sequentially.
+     */
+    private static volatile int parallelMergeCutoff = 8192;
+
+    /**
+     * Sets the number of worker threads used by the parallel algorithms.
+     *
+     * @param threads the number of threads, at least 1
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public static void setParallelism(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + threads);
         }
-        if (comp == null) {
-            throw new IllegalArgumentException("Comparator cannot be null");
+        parallelism = threads;
+    }
+
+    /**
+     * @return the number of worker threads used by the parallel algorithms
+     */
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the pool shared by the parallel algorithms, creating it on first
+     * use and replacing it once {@link #setParallelism(int)} changes the
+     * thread count. Its workers are daemon threads, so it never has to be shut
+     * down.
+     *
+     * @return the pool, with {@link #getParallelism()} threads
+     */
+    static synchronized ForkJoinPool getPool() {
+        int threads = parallelism;
+        if (pool == null || pool.getParallelism() != threads) {
+            if (pool != null) {
+                // Lets sorts still running on the old pool finish
+                pool.shutdown();
+            }
+            pool = new ForkJoinPool(threads);
+        }
+        return pool;
+    }
+
+    /**
+     * Sets the subarray size at or below which the parallel merge sort
+     * falls back to the sequential merge sort.
+     *
+     * @param cutoff the sequential cutoff, at least 2
+     * @throws IllegalArgumentException if cutoff is less than 2
+     */
+    public static void setParallelMergeCutoff(int cutoff) {
+        if (cutoff < 2) {
+            throw new IllegalArgumentException("Parallel merge cutoff must be at least 2: " + cutoff);
         }
+        parallelMergeCutoff = cutoff;
+    }
+
+    /**
+     * @return the sequential cutoff of the parallel merge sort
+     */
+    public static int getParallelMergeCutoff() {
+        return parallelMergeCutoff;
+    }
+
+    /**
+     * Sorts an array using a parallel fork/join merge sort.
+     * Halves are sorted concurrently on the ForkJoinPool shared by the
+     * parallel algorithms and sized by {@link #setParallelism(int)}; subarrays at or below the sequential cutoff
+     * use the regular merge sort. Merges are parallel as well: the larger run
+     * is split at its middle element, the matching split point in the other run
+     * is found by binary search, and both sides are merged concurrently, so the
+     * top levels of the recursion do not serialize.
+     * Time Complexity: O(n log n) work, O(log³ n) span
+     * Space Complexity: O(n)
+     * Stable: Yes
+     *
+     * @param arr the array to be sorted
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null
+     */
+    public static <T> void parallelMergeSort(T[] arr, Comparator<? super T> comp) {
+        validateInput(arr, comp);
+        parallelMergeSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using the parallel fork/join
+     * merge sort; see {@link #parallelMergeSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void parallelMergeSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
+
+        if (toIndex - fromIndex < 2) return;
+
+        // The buffer only holds the range, so positions in it are offset by fromIndex
+        getPool().invoke(new MergeSortTask<>(arr, Sorts.<T>newArray(toIndex - fromIndex), fromIndex,
+            fromIndex, toIndex - 1, parallelMergeCutoff, comp));
+    }
+
+    /**
+     * Sorts an array using a parallel sample sort.
+     * A sorted random sample picks splitters that cut the order into a few
+     * buckets per thread; the elements are scattered into their buckets by
+     * all threads at once, and the buckets are then sorted concurrently with
+     * the adaptive merge sort of {@link #timSort(Object[], Comparator)} and
+     * simply follow one another. The thread count comes from
+     * {@link #setParallelism(int)}; small arrays are sorted on the calling
+     * thread. With a MetricComparator the registry sorts precomputed keys
+     * instead, radix sorting every bucket.
+     * Time Complexity: O(n log n)
+     * Space Complexity: O(n)
+     * Stable: Yes
+     *
+     * @param arr the array to be sorted
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null
+     */
+    public static <T> void parallelSampleSort(T[] arr, Comparator<? super T> comp) {
+        validateInput(arr, comp);
+        parallelSampleSort(arr, 0, arr.length, comp);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) using the parallel sample sort;
+     * see {@link #parallelSampleSort(Object[], Comparator)}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     * @throws IllegalArgumentException if the array or comparator is null, or the range is invalid
+     */
+    public static <T> void parallelSampleSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comp) {
+        validateInput(arr, fromIndex, toIndex, comp);
+
+        SampleSort.sort(arr, fromIndex, toIndex, comp, getPool());
+    }
+
+    /**
+     * Fork/join task sorting arr[left..right] for the parallel merge sort.
+     */
+    private static final class MergeSortTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] arr;
+        private final T[] aux;
+        /** The index of arr whose copy is held at index 0 of aux. */
+        private final int base;
+        private final int left;
+        private final int right;
+        private final int cutoff;
+        private final Comparator<? super T> comp;
+
+        MergeSortTask(T[] arr, T[] aux, int base, int left, int right, int cutoff, Comparator<? super T> comp) {
+            this.arr = arr;
+            this.aux = aux;
+            this.base = base;
+            this.left = left;
+            this.right = right;
+            this.cutoff = cutoff;
+            this.comp = comp;
+        }
+
+        @Override
+        protected void compute() {
+            if (right - left + 1 <= cutoff) {
+                mergeSortHelper(arr, left, right, comp);
+                return;
+            }
+
+            int mid = left + (right - left) / 2;
+            invokeAll(new MergeSortTask<>(arr, aux, base, left, mid, cutoff, comp),
+                      new MergeSortTask<>(arr, aux, base, mid + 1, right, cutoff, comp));
+
+            // Merge the sorted halves from the auxiliary copy back into arr
+            System.arraycopy(arr, left, aux, left - base, right - left + 1);
+            new MergeTask<>(aux, left - base, mid - base, mid + 1 - base, right - base, arr, left,
+                cutoff, comp).compute();
+        }
+    }
+
+    /**
+     * Fork/join task merging the sorted runs src[lo1..hi1] and src[lo2..hi2]
+     * into dest starting at destPos.
+     */
+    private static final class MergeTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] src;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final T[] dest;
+        private final int destPos;
+        private final int cutoff;
+        private final Comparator<? super T> comp;
+
+        MergeTask(T[] src, int lo1, int hi1, int lo2, int hi2, T[] dest, int destPos,
+                int cutoff, Comparator<? super T> comp) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dest = dest;
+            this.destPos = destPos;
+            this.cutoff = cutoff;
+            this.comp = comp;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = hi1 - lo1 + 1;
+            int n2 = hi2 - lo2 + 1;
+
+            if (n1 + n2 <= cutoff) {
+                mergeSequential();
+                return;
+            }
+
+            int split1;
+            int split2;
+            if (n1 >= n2) {
+                // Split the left run at its middle; right elements ordered strictly
+                // before the pivot go to the first half, keeping the merge stable
+                split1 = lo1 + (n1 - 1) / 2;
+                T pivot = src[split1];
+                int low = lo2, high = hi2 + 1;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (comp.compare(pivot, src[mid]) < 0) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                split2 = low;
+
+                int pivotPos = destPos + (split1 - lo1) + (split2 - lo2);
+                dest[pivotPos] = pivot;
+                invokeAll(new MergeTask<>(src, lo1, split1 - 1, lo2, split2 - 1, dest, destPos, cutoff, comp),
+                          new MergeTask<>(src, split1 + 1, hi1, split2, hi2, dest, pivotPos + 1, cutoff, comp));
+            } else {
+                // Split the right run at its middle; left elements ordered before
+                // or equal to the pivot go to the first half
+                split2 = lo2 + (n2 - 1) / 2;
+                T pivot = src[split2];
+                int low = lo1, high = hi1 + 1;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (comp.compare(src[mid], pivot) >= 0) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                split1 = low;
+
+                int pivotPos = destPos + (split1 - lo1) + (split2 - lo2);
+                dest[pivotPos] = pivot;
+                invokeAll(new MergeTask<>(src, lo1, split1 - 1, lo2, split2 - 1, dest, destPos, cutoff, comp),
+                          new MergeTask<>(src, split1, hi1, split2 + 1, hi2, dest, pivotPos + 1, cutoff, comp));
+            }
+        }
+
+        /**
+         * Merges the two runs on the current thread, as in {@link Sorts#merge}.
+         */
+        private void mergeSequential() {
+            int i = lo1, j = lo2, k = destPos;
+
+            while (i <= hi1 && j <= hi2) {
+                // Using >= 0 for descending order as per the original logic
+                if (comp.compare(src[i], src[j]) >= 0) {
+                    dest[k++] = src[i++];
+                } else {
+                    dest[k++] = src[j++];
+                }
+            }
+
+            while (i <= hi1) dest[k++] = src[i++];
+            while (j <= hi2) dest[k++] = src[j++];
+        }
+    }
+
+    /**
+     * Sorts an array of shapes using an LSD radix sort on the metric values.
+     * Each metric value is mapped to a 64-bit pattern whose unsigned order
+     * matches Double.compare, and the keys are distributed 11 bits at a time
+     * from the least significant end; see {@link KeySorts#radixSort}. The keys
+     * carry the original positions of their shapes, so the Shape references are
+     * moved once at the end. A {@link CompositeComparator} is sorted on the
+     * composite ranks of the shapes.
+     * Time Complexity: O(n) (at most 6 passes over the data)
+     * Space Complexity: O(n)
+     * Stable: Yes
+     *
+     * @param arr the array to be sorted
+     * @param comp the comparator to determine the order of elements; must be a MetricComparator
+     *        or a CompositeComparator
+     * @throws IllegalArgumentException if the array or comparator is null, or the comparator is
+     *         neither a MetricComparator nor a CompositeComparator
+     */
+    public static void radixSort(Shape[] arr, Comparator<Shape> comp) {
+        validateInput(arr, comp);
+
+        if (comp instanceof MetricComparator) {
+            keySort(arr, (MetricComparator) comp, KeySorts::radixSort);
+        } else if (comp instanceof CompositeComparator) {
+            keySort(arr, (CompositeComparator) comp, KeySorts::radixSort);
+        } else {
+            throw new IllegalArgumentException("Radix sort requires a MetricComparator " +
+                "(height, base area or volume ordering) or a CompositeComparator");
+        }
+    }
+
+    /**
+     * Sorts an array of doubles into descending order using merge sort,
+     * comparing the values directly. Values are ordered as by
+     * Double.compare, so NaN comes first and 0.0 comes before -0.0.
+     * Time Complexity: O(n log n) in all cases
+     * Space Complexity: O(n)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void mergeSort(double[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.mergeSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of doubles into descending
+     * order using merge sort; see {@link #mergeSort(double[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void mergeSort(double[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.mergeSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of ints into descending order using merge sort,
+     * comparing the values directly.
+     * Time Complexity: O(n log n) in all cases
+     * Space Complexity: O(n)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void mergeSort(int[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.mergeSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of ints into descending
+     * order using merge sort; see {@link #mergeSort(int[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void mergeSort(int[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.mergeSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of longs into descending order using merge sort,
+     * comparing the values directly.
+     * Time Complexity: O(n log n) in all cases
+     * Space Complexity: O(n)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void mergeSort(long[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.mergeSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of longs into descending
+     * order using merge sort; see {@link #mergeSort(long[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void mergeSort(long[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.mergeSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of doubles into descending order using introsort,
+     * comparing the values directly. Values are ordered as by
+     * Double.compare, so NaN comes first and 0.0 comes before -0.0.
+     * Time Complexity: O(n log n) in all cases
+     * Space Complexity: O(log n)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void quickSort(double[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.quickSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of doubles into descending
+     * order using introsort; see {@link #quickSort(double[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void quickSort(double[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.quickSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of ints into descending order using introsort,
+     * comparing the values directly.
+     * Time Complexity: O(n log n) in all cases
+     * Space Complexity: O(log n)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void quickSort(int[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.quickSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of ints into descending
+     * order using introsort; see {@link #quickSort(int[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void quickSort(int[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.quickSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of longs into descending order using introsort,
+     * comparing the values directly.
+     * Time Complexity: O(n log n) in all cases
+     * Space Complexity: O(log n)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void quickSort(long[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.quickSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of longs into descending
+     * order using introsort; see {@link #quickSort(long[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void quickSort(long[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.quickSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of doubles into descending order using heap sort,
+     * comparing the values directly. Values are ordered as by
+     * Double.compare, so NaN comes first and 0.0 comes before -0.0.
+     * Time Complexity: O(n log n) in all cases
+     * Space Complexity: O(1)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void heapSort(double[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.heapSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of doubles into descending
+     * order using heap sort; see {@link #heapSort(double[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void heapSort(double[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.heapSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of ints into descending order using heap sort,
+     * comparing the values directly.
+     * Time Complexity: O(n log n) in all cases
+     * Space Complexity: O(1)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void heapSort(int[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.heapSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of ints into descending
+     * order using heap sort; see {@link #heapSort(int[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void heapSort(int[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.heapSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of longs into descending order using heap sort,
+     * comparing the values directly.
+     * Time Complexity: O(n log n) in all cases
+     * Space Complexity: O(1)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void heapSort(long[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.heapSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of longs into descending
+     * order using heap sort; see {@link #heapSort(long[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void heapSort(long[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.heapSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of doubles into descending order using an LSD radix sort,
+     * comparing the values directly. Values are ordered as by
+     * Double.compare, so NaN comes first and 0.0 comes before -0.0.
+     * Time Complexity: O(n) (at most 6 passes over the data)
+     * Space Complexity: O(n)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void radixSort(double[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.radixSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of doubles into descending
+     * order using an LSD radix sort; see {@link #radixSort(double[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void radixSort(double[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.radixSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of ints into descending order using an LSD radix sort,
+     * comparing the values directly.
+     * Time Complexity: O(n) (at most 3 passes over the data)
+     * Space Complexity: O(n)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void radixSort(int[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.radixSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of ints into descending
+     * order using an LSD radix sort; see {@link #radixSort(int[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void radixSort(int[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.radixSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts an array of longs into descending order using an LSD radix sort,
+     * comparing the values directly.
+     * Time Complexity: O(n) (at most 6 passes over the data)
+     * Space Complexity: O(n)
+     *
+     * @param arr the array to be sorted
+     * @throws IllegalArgumentException if the array is null
+     */
+    public static void radixSort(long[] arr) {
+        validateArray(arr);
+        PrimitiveSorts.radixSort(arr, 0, arr.length - 1);
+    }
+
+    /**
+     * Sorts the range arr[fromIndex..toIndex) of longs into descending
+     * order using an LSD radix sort; see {@link #radixSort(long[])}.
+     *
+     * @param arr the array containing the range
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the array is null or the range is invalid
+     */
+    public static void radixSort(long[] arr, int fromIndex, int toIndex) {
+        validateArray(arr);
+        checkRange(arr.length, fromIndex, toIndex);
+        PrimitiveSorts.radixSort(arr, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * A sorting kernel over precomputed keys and a parallel index array.
+     */
+    @FunctionalInterface
+    interface KeySortKernel {
+        void sort(double[] keys, int[] idx, int dir);
+    }
+
+    /**
+     * Sorts an array of shapes on precomputed keys (Schwartzian transform).
+     * The metric of every shape is computed exactly once into a primitive array,
+     * the chosen algorithm sorts those keys together with a parallel index array,
+     * and the shapes are then permuted into the resulting order. The outcome is
+     * identical to sorting the shapes with the same algorithm and comparator.
+     * Time Complexity: that of the chosen algorithm, plus O(n) key extraction
+     * Space Complexity: O(n) for the keys, indices and permutation
+     *
+     * @param arr the array to be sorted
+     * @param comp the metric comparator defining the keys and their direction
+     * @param sortType the type of sort algorithm to use
+     * @throws IllegalArgumentException if the array, comparator or sort type is invalid
+     */
+    public static void keySort(Shape[] arr, MetricComparator comp, String sortType) {
+        validateInput(arr, comp);
+        keySort(arr, comp, getKeySortKernel(sortType));
+    }
+
+    /**
+     * Extracts the keys, runs the kernel and applies the resulting permutation.
+     */
+    private static void keySort(Shape[] arr, MetricComparator comp, KeySortKernel kernel) {
+        int n = arr.length;
+        double[] keys = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            keys[i] = comp.keyOf(arr[i]);
+        }
+
+        keySort(arr, keys, comp.isReversed() ? -1 : 1, kernel);
+    }
+
+    /**
+     * Sorts an array of shapes on their ranks under a composite comparator;
+     * see {@link CompositeComparator}.
+     */
+    private static void keySort(Shape[] arr, CompositeComparator comp, KeySortKernel kernel) {
+        // Ranks grow with the key values, which the comparator orders descending
+        keySort(arr, comp.rankKeys(arr), -1, kernel);
+    }
+
+    /**
+     * Runs the kernel on keys taken from the shapes in array order and applies
+     * the resulting permutation.
+     */
+    private static void keySort(Shape[] arr, double[] keys, int dir, KeySortKernel kernel) {
+        int n = arr.length;
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            idx[i] = i;
+        }
+
+        kernel.sort(keys, idx, dir);
+
+        Shape[] sorted = new Shape[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = arr[idx[i]];
+        }
+        System.arraycopy(sorted, 0, arr, 0, n);
+    }
+
+    /**
+     * Sorts the rows of a shape table by a metric.
+     * The rows are ordered exactly as the same algorithm and comparator would
+     * order the materialized shapes: the metric column is sorted by the
+     * key-based kernel of the algorithm, and the resulting permutation is then
+     * applied to every column in place. No Shape objects are created.
+     * Time Complexity: that of the chosen algorithm, plus O(n) to permute the rows
+     * Space Complexity: O(n) for the keys and indices
+     *
+     * @param table the table to be sorted
+     * @param comp the metric comparator defining the keys and their direction
+     * @param sortType the type of sort algorithm to use
+     * @throws IllegalArgumentException if the table, comparator or sort type is invalid
+     */
+    public static void sortTable(ShapeTable table, MetricComparator comp, String sortType) {
+        table.permute(sortedOrder(table, comp, sortType));
+    }
+
+    /**
+     * Returns the order a sort would put the rows of a shape table in, without
+     * moving them. Element i of the result is the row that sorts to position i.
+     *
+     * @param table the table to order
+     * @param comp the metric comparator defining the keys and their direction
+     * @param sortType the type of sort algorithm to use
+     * @return the permutation of the row indices in sorted order
+     * @throws IllegalArgumentException if the table, comparator or sort type is invalid
+     */
+    public static int[] sortedOrder(ShapeTable table, MetricComparator comp, String sortType) {
+        validateInput(table, comp);
+        return sortedOrder(table, comp, getKeySortKernel(sortType));
+    }
+
+    /**
+     * Copies the metric column, runs the kernel and returns the index array.
+     */
+    private static int[] sortedOrder(ShapeTable table, MetricComparator comp, KeySortKernel kernel) {
+        int n = table.size();
+        double[] keys = Arrays.copyOf(table.column(comp.getMetric()), n);
+        int[] idx = identity(n);
+
+        kernel.sort(keys, idx, comp.isReversed() ? -1 : 1);
+        return idx;
+    }
+
+    /**
+     * Sorts the shapes of an off-heap store.
+     * For a MetricComparator the metric of every record is extracted into a
+     * primitive key array and sorted by the key-based kernel of the algorithm;
+     * a CompositeComparator is sorted the same way on the composite ranks of
+     * the records (see {@link CompositeComparator}).
+     * Any other comparator is applied to two flyweight views of the store,
+     * which merge sort supports. Either way the records are then permuted in
+     * place, so the heap only holds primitive key and index arrays, however
+     * many shapes the store holds.
+     *
+     * @param store the store to be sorted
+     * @param comp the comparator to determine the order of elements
+     * @param sortType the type of sort algorithm to use
+     * @throws IllegalArgumentException if the store, comparator or sort type is invalid, or the
+     *         comparator is neither a MetricComparator nor a CompositeComparator and the
+     *         sort type is not merge
+     */
+    public static void sortStore(OffHeapShapeStore store, Comparator<Shape> comp, String sortType) {
+        store.permute(sortedOrder(store, comp, sortType));
+    }
+
+    /**
+     * Returns the order a sort would put the records of an off-heap store in,
+     * without moving them. Element i of the result is the row that sorts to
+     * position i.
+     *
+     * @param store the store to order
+     * @param comp the comparator to determine the order of elements
+     * @param sortType the type of sort algorithm to use
+     * @return the permutation of the row indices in sorted order
+     * @throws IllegalArgumentException if the store, comparator or sort type is invalid, or the
+     *         comparator is neither a MetricComparator nor a CompositeComparator and the
+     *         sort type is not merge
+     */
+    public static int[] sortedOrder(OffHeapShapeStore store, Comparator<Shape> comp, String sortType) {
+        validateInput(store, comp);
+
+        if (comp instanceof MetricComparator) {
+            MetricComparator metricComp = (MetricComparator) comp;
+            KeySortKernel kernel = getKeySortKernel(sortType);
+
+            double[] keys = store.metricColumn(metricComp.getMetric());
+            int[] idx = identity(store.size());
+            kernel.sort(keys, idx, metricComp.isReversed() ? -1 : 1);
+            return idx;
+        }
+        if (comp instanceof CompositeComparator) {
+            KeySortKernel kernel = getKeySortKernel(sortType);
+
+            // Ranks grow with the key values, which the comparator orders descending
+            double[] keys = ((CompositeComparator) comp).rankKeys(store);
+            int[] idx = identity(store.size());
+            kernel.sort(keys, idx, -1);
+            return idx;
+        }
+
+        if (sortType == null || sortType.trim().isEmpty()) {
+            throw new IllegalArgumentException("Sort type cannot be null or empty");
+        }
+        if (!sortType.equalsIgnoreCase("merge")) {
+            throw new IllegalArgumentException("Off-heap shapes can only be sorted with merge sort " +
+                "unless the comparator is a MetricComparator or a CompositeComparator: " + sortType);
+        }
+        return viewMergeSort(store, comp);
+    }
+
+    /**
+     * Merge sort over the row indices of a store, comparing two flyweight
+     * views moved to the rows being merged. Being stable, it yields the same
+     * order as {@link #mergeSort} on the materialized shapes.
+     * Time Complexity: O(n log n)
+     * Space Complexity: O(n) for the indices and one merge buffer
+     */
+    private static int[] viewMergeSort(OffHeapShapeStore store, Comparator<Shape> comp) {
+        int n = store.size();
+        int[] idx = identity(n);
+        if (n < 2) return idx;
+
+        viewMergeSortHelper(idx, new int[n], 0, n - 1, store.view(), store.view(), comp);
+        return idx;
+    }
+
+    private static void viewMergeSortHelper(int[] idx, int[] buffer, int left, int right,
+            OffHeapShapeStore.View a, OffHeapShapeStore.View b, Comparator<Shape> comp) {
+        if (left >= right) return;
+
+        int mid = left + (right - left) / 2;
+        viewMergeSortHelper(idx, buffer, left, mid, a, b, comp);
+        viewMergeSortHelper(idx, buffer, mid + 1, right, a, b, comp);
+
+        System.arraycopy(idx, left, buffer, left, right - left + 1);
+
+        int i = left, j = mid + 1, k = left;
+        while (i <= mid && j <= right) {
+            // Using >= 0 for descending order, as in merge
+            if (comp.compare(a.moveTo(buffer[i]), b.moveTo(buffer[j])) >= 0) {
+                idx[k++] = buffer[i++];
+            } else {
+                idx[k++] = buffer[j++];
+            }
+        }
+        while (i <= mid) idx[k++] = buffer[i++];
+        while (j <= right) idx[k++] = buffer[j++];
+    }
+
+    /**
+     * @return the array 0, 1, ..., n-1
+     */
+    private static int[] identity(int n) {
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            idx[i] = i;
+        }
+        return idx;
+    }
+
+    /**
+     * Benchmarks the performance of a specified sorting algorithm.
+     * 
+     * @param arr the array to be sorted (will be modified)
+     * @param comp the comparator to determine the order of elements
+     * @param sortType the type of sort algorithm to use
+     * @return the time taken to sort the array in nanoseconds
+     * @throws IllegalArgumentException if the array, comparator, or sort type is invalid
+     */
+    public static long benchmarkSort(Shape[] arr, Comparator<Shape> comp, String sortType) {
+        validateInput(arr, comp);
+
+        BiConsumer<Shape[], Comparator<Shape>> sortAction = getSortAction(sortType, comp);
+
+        long startTime = System.nanoTime();
+        sortAction.accept(arr, comp);
+        long endTime = System.nanoTime();
+
+        return endTime - startTime;
+    }
+
+    /**
+     * Benchmarks a sorting algorithm over repeated runs.
+     * The warm-up iterations let the JIT compile the sort before anything is
+     * measured. Every iteration sorts a fresh copy of the input, so each run
+     * sees the same unsorted data; the last sorted copy is written back into
+     * the array so callers can inspect the result as with a single run.
+     *
+     * @param arr the array to be sorted (will be modified)
+     * @param comp the comparator to determine the order of elements
+     * @param sortType the type of sort algorithm to use
+     * @param warmupIterations the number of unmeasured runs, at least 0
+     * @param measuredIterations the number of measured runs, at least 1
+     * @return the timing statistics of the measured runs
+     * @throws IllegalArgumentException if the array, comparator, sort type or iteration counts are invalid
+     */
+    public static SortStatistics benchmarkSort(Shape[] arr, Comparator<Shape> comp, String sortType,
+            int warmupIterations, int measuredIterations) {
+        validateInput(arr, comp);
+
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Warm-up iterations cannot be negative: " + warmupIterations);
+        }
+        if (measuredIterations < 1) {
+            throw new IllegalArgumentException("Measured iterations must be at least 1: " + measuredIterations);
+        }
+
+        BiConsumer<Shape[], Comparator<Shape>> sortAction = getSortAction(sortType, comp);
+        Shape[] work = new Shape[arr.length];
+
+        for (int i = 0; i < warmupIterations; i++) {
+            System.arraycopy(arr, 0, work, 0, arr.length);
+            sortAction.accept(work, comp);
+        }
+
+        long[] samples = new long[measuredIterations];
+        long[] allocations = ALLOCATION_BEAN != null ? new long[measuredIterations] : null;
+        for (int i = 0; i < measuredIterations; i++) {
+            System.arraycopy(arr, 0, work, 0, arr.length);
+
+            long startBytes = allocatedBytes();
+            long startTime = System.nanoTime();
+            sortAction.accept(work, comp);
+            samples[i] = System.nanoTime() - startTime;
+            if (allocations != null) {
+                allocations[i] = allocatedBytes() - startBytes;
+            }
+        }
+
+        System.arraycopy(work, 0, arr, 0, arr.length);
+        return new SortStatistics(samples, allocations, warmupIterations);
+    }
+
+    /**
+     * Benchmarks sorting a shape table over repeated runs.
+     * Like {@link #benchmarkSort(Shape[], Comparator, String, int, int)}, every
+     * iteration sorts a fresh copy of the table, and the table is left in the
+     * sorted order afterwards. Copying the table is not measured.
+     *
+     * @param table the table to be sorted (will be modified)
+     * @param comp the metric comparator defining the keys and their direction
+     * @param sortType the type of sort algorithm to use
+     * @param warmupIterations the number of unmeasured runs, at least 0
+     * @param measuredIterations the number of measured runs, at least 1
+     * @return the timing statistics of the measured runs
+     * @throws IllegalArgumentException if the table, comparator, sort type or iteration counts are invalid
+     */
+    public static SortStatistics benchmarkSort(ShapeTable table, MetricComparator comp, String sortType,
+            int warmupIterations, int measuredIterations) {
+        validateInput(table, comp);
+
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Warm-up iterations cannot be negative: " + warmupIterations);
+        }
+        if (measuredIterations < 1) {
+            throw new IllegalArgumentException("Measured iterations must be at least 1: " + measuredIterations);
+        }
+
+        KeySortKernel kernel = getKeySortKernel(sortType);
+
+        // Compute the metric column once, so every copy starts with it as a
+        // Shape array starts with the metrics computed by the constructors
+        table.column(comp.getMetric());
+
+        for (int i = 0; i < warmupIterations; i++) {
+            ShapeTable work = table.copy();
+            work.permute(sortedOrder(work, comp, kernel));
+        }
+
+        long[] samples = new long[measuredIterations];
+        long[] allocations = ALLOCATION_BEAN != null ? new long[measuredIterations] : null;
+        int[] order = null;
+        for (int i = 0; i < measuredIterations; i++) {
+            ShapeTable work = table.copy();
+
+            long startBytes = allocatedBytes();
+            long startTime = System.nanoTime();
+            order = sortedOrder(work, comp, kernel);
+            work.permute(order);
+            samples[i] = System.nanoTime() - startTime;
+            if (allocations != null) {
+                allocations[i] = allocatedBytes() - startBytes;
+            }
+        }
+
+        table.permute(order);
+        return new SortStatistics(samples, allocations, warmupIterations);
+    }
+
+    /**
+     * Benchmarks sorting an off-heap store over repeated runs.
+     * Every run but the last measured one sorts a copy of the store in new
+     * direct memory; the last one sorts the store itself, which leaves it in
+     * sorted order. A single measured run therefore needs no extra memory.
+     * Copying the store is not measured.
+     *
+     * @param store the store to be sorted (will be modified)
+     * @param comp the comparator to determine the order of elements
+     * @param sortType the type of sort algorithm to use
+     * @param warmupIterations the number of unmeasured runs, at least 0
+     * @param measuredIterations the number of measured runs, at least 1
+     * @return the timing statistics of the measured runs
+     * @throws IllegalArgumentException if the store, comparator, sort type or iteration counts are invalid
+     */
+    public static SortStatistics benchmarkSort(OffHeapShapeStore store, Comparator<Shape> comp, String sortType,
+            int warmupIterations, int measuredIterations) {
+        validateInput(store, comp);
+
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Warm-up iterations cannot be negative: " + warmupIterations);
+        }
+        if (measuredIterations < 1) {
+            throw new IllegalArgumentException("Measured iterations must be at least 1: " + measuredIterations);
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            sortStore(store.copy(), comp, sortType);
+        }
+
+        long[] samples = new long[measuredIterations];
+        long[] allocations = ALLOCATION_BEAN != null ? new long[measuredIterations] : null;
+        for (int i = 0; i < measuredIterations; i++) {
+            OffHeapShapeStore work = i == measuredIterations - 1 ? store : store.copy();
+
+            long startBytes = allocatedBytes();
+            long startTime = System.nanoTime();
+            sortStore(work, comp, sortType);
+            samples[i] = System.nanoTime() - startTime;
+            if (allocations != null) {
+                allocations[i] = allocatedBytes() - startBytes;
+            }
+        }
+
+        return new SortStatistics(samples, allocations, warmupIterations);
+    }
+
+    /**
+     * Per-thread allocation counter of the JVM, or null if it is not available.
+     */
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+    /**
+     * Looks up the per-thread allocation counter and enables it if needed.
+     *
+     * @return the allocation counter, or null if the JVM does not provide one
+     */
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+                if (allocationBean.isThreadAllocatedMemorySupported()) {
+                    allocationBean.setThreadAllocatedMemoryEnabled(true);
+                    return allocationBean;
+                }
+            }
+        } catch (UnsupportedOperationException | SecurityException | LinkageError e) {
+            // Allocation tracking is optional; benchmarks simply omit it
+        }
+        return null;
+    }
+
+    /**
+     * @return the bytes allocated so far by the current thread, or 0 if unknown
+     */
+    private static long allocatedBytes() {
+        return ALLOCATION_BEAN != null ? ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    /**
+     * Looks up the sort action for a sort type and comparator in the
+     * {@link SortAlgorithms} registry.
+     * Metric and composite comparators are routed to the key-based variant of
+     * the algorithm.
+     *
+     * @param sortType the type of sort algorithm to use
+     * @param comp the comparator the array will be sorted with
+     * @return the matching sort action
+     * @throws IllegalArgumentException if the sort type is null, empty or unknown
+     */
+    private static BiConsumer<Shape[], Comparator<Shape>> getSortAction(String sortType, Comparator<Shape> comp) {
+        SortAlgorithm algorithm = SortAlgorithms.get(sortType);
+
+        if (algorithm.hasKeySort() && comp instanceof MetricComparator) {
+            return (a, c) -> keySort(a, (MetricComparator) c, algorithm::sortKeys);
+        }
+        if (algorithm.hasKeySort() && comp instanceof CompositeComparator) {
+            return (a, c) -> keySort(a, (CompositeComparator) c, algorithm::sortKeys);
+        }
+        return algorithm::sort;
+    }
+
+    /**
+     * Looks up the key-based kernel for a sort type.
+     *
+     * @param sortType the type of sort algorithm to use
+     * @return the matching kernel
+     * @throws IllegalArgumentException if the sort type is null, empty or has no key-based variant
+     */
+    private static KeySortKernel getKeySortKernel(String sortType) {
+        SortAlgorithm algorithm = SortAlgorithms.find(sortType);
+        if (algorithm == null || !algorithm.hasKeySort()) {
+            if (sortType == null || sortType.trim().isEmpty()) {
+                throw new IllegalArgumentException("Sort type cannot be null or empty");
+            }
+            List<String> supported = new ArrayList<>();
+            for (SortAlgorithm candidate : SortAlgorithms.all()) {
+                if (candidate.hasKeySort()) {
+                    supported.add(candidate.getName());
+                }
+            }
+            throw new IllegalArgumentException("Unknown key sort type: " + sortType +
+                ". Supported types: " + supported);
+        }
+        return algorithm::sortKeys;
+    }
+
+    /**
+     * Validates input parameters for sorting methods.
+     * 
+     * @param arr the array to validate
+     * @param comp the comparator to validate
+     * @throws IllegalArgumentException if array or comparator is null
+     */
+    private static void validateInput(Object[] arr, Comparator<?> comp) {
+        if (arr == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        if (comp == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+    }
+
+    /**
+     * Validates the array of a primitive sorting method.
+     *
+     * @param arr the array to validate
+     * @throws IllegalArgumentException if array is null
+     */
+    private static void validateArray(Object arr) {
+        if (arr == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+    }
+
+    /**
+     * Validates input parameters for the subrange sorting methods.
+     *
+     * @param arr the array to validate
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @param comp the comparator to validate
+     * @throws IllegalArgumentException if array or comparator is null, or the range is invalid
+     */
+    private static void validateInput(Object[] arr, int fromIndex, int toIndex, Comparator<?> comp) {
+        validateInput(arr, comp);
+        checkRange(arr.length, fromIndex, toIndex);
+    }
+
+    /**
+     * Validates a subrange of an array.
+     *
+     * @param length the length of the array
+     * @param fromIndex the first index of the range, inclusive
+     * @param toIndex the last index of the range, exclusive
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    static void checkRange(int length, int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > length || fromIndex > toIndex) {
+            throw new IllegalArgumentException("Invalid range [" + fromIndex + ", " + toIndex
+                + ") for array of length " + length);
+        }
+    }
+
+    /**
+     * Validates input parameters for the table sorting methods.
+     *
+     * @param table the table to validate
+     * @param comp the comparator to validate
+     * @throws IllegalArgumentException if table or comparator is null
+     */
+    private static void validateInput(ShapeTable table, MetricComparator comp) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        if (comp == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+    }
+
+    /**
+     * Validates input parameters for the off-heap sorting methods.
+     *
+     * @param store the store to validate
+     * @param comp the comparator to validate
+     * @throws IllegalArgumentException if store or comparator is null
+     */
+    private static void validateInput(OffHeapShapeStore store, Comparator<Shape> comp) {
+        if (store == null) {
+            throw new IllegalArgumentException("Store cannot be null");
+        }
+        if (comp == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+    }
+
+    /**
+     * Creates an array to hold elements of type T. Only arrays that never
+     * leave this class are created this way, so the erased element type is safe.
+     *
+     * @param length the length of the array
+     * @return the new array
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(int length) {
+        return (T[]) new Object[length];
     }
 
     /**
@@ -417,8 +2063,8 @@ public final class Sorts {
      * @param i the index of the first element
      * @param j the index of the second element
      */
-    private static void swap(Shape[] arr, int i, int j) {
-        Shape temp = arr[i];
+    private static <T> void swap(T[] arr, int i, int j) {
+        T temp = arr[i];
         arr[i] = arr[j];
         arr[j] = temp;
     }
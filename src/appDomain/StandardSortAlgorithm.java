@@ -0,0 +1,146 @@
+package appDomain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static appDomain.SortAlgorithm.Complexity.LINEAR;
+import static appDomain.SortAlgorithm.Complexity.LINEARITHMIC;
+import static appDomain.SortAlgorithm.Complexity.QUADRATIC;
+
+/**
+ * The sorting algorithms implemented in {@link Sorts}, with their metadata and
+ * the key-based kernels of {@link KeySorts} where one exists.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+enum StandardSortAlgorithm implements SortAlgorithm {
+
+    BUBBLE("bubble", "Bubble sort", QUADRATIC, true, true, false,
+        Sorts::bubbleSort, KeySorts::bubbleSort, "b"),
+
+    SELECTION("selection", "Selection sort", QUADRATIC, false, true, false,
+        Sorts::selectionSort, KeySorts::selectionSort, "s"),
+
+    INSERTION("insertion", "Insertion sort", QUADRATIC, true, true, false,
+        Sorts::insertionSort, KeySorts::insertionSort, "i"),
+
+    MERGE("merge", "Merge sort", LINEARITHMIC, true, false, false,
+        Sorts::mergeSort, KeySorts::mergeSort, "m"),
+
+    QUICK("quick", "Quick sort", LINEARITHMIC, false, true, false,
+        Sorts::quickSort, KeySorts::quickSort, "q"),
+
+    HEAP("heap", "Heap sort", LINEARITHMIC, false, true, false,
+        Sorts::heapSort, KeySorts::heapSort, "h", "z"),
+
+    HEAP4("heap4", "Heap sort on a 4-ary heap", LINEARITHMIC, false, true, false,
+        Sorts::quaternaryHeapSort, KeySorts::quaternaryHeapSort, "h4"),
+
+    RADIX("radix", "Radix sort on the metric values", LINEAR, true, false, false,
+        Sorts::radixSort, KeySorts::radixSort, "r"),
+
+    PARALLEL_MERGE("parallelmerge", "Parallel fork/join merge sort", LINEARITHMIC, true, false, true,
+        Sorts::parallelMergeSort, null, "pm"),
+
+    PARALLEL_SAMPLE("parallelsample", "Parallel sample sort into per-thread buckets", LINEARITHMIC, true, false, true,
+        Sorts::parallelSampleSort, KeySorts::parallelSampleSort, "ps"),
+
+    BUFFERED_MERGE("bufferedmerge", "Merge sort with a single reusable buffer", LINEARITHMIC, true, false, false,
+        Sorts::bufferedMergeSort, null, "bm"),
+
+    TIM("tim", "Adaptive natural-run merge sort (TimSort)", LINEARITHMIC, true, false, false,
+        Sorts::timSort, null, "t", "timsort");
+
+    private final String name;
+    private final String description;
+    private final Complexity complexity;
+    private final boolean stable;
+    private final boolean inPlace;
+    private final boolean parallel;
+    private final BiConsumer<Shape[], Comparator<Shape>> sorter;
+    private final Sorts.KeySortKernel kernel;
+    private final List<String> aliases;
+
+    /**
+     * @param name the name of the algorithm
+     * @param description a short description for usage texts
+     * @param complexity the expected running time
+     * @param stable whether equal shapes keep their order
+     * @param inPlace whether at most O(log n) extra memory is used
+     * @param parallel whether the worker threads are used
+     * @param sorter the sort over shapes
+     * @param kernel the sort over precomputed keys, or null if there is none
+     * @param aliases further names of the algorithm
+     */
+    StandardSortAlgorithm(String name, String description, Complexity complexity, boolean stable,
+            boolean inPlace, boolean parallel, BiConsumer<Shape[], Comparator<Shape>> sorter,
+            Sorts.KeySortKernel kernel, String... aliases) {
+        this.name = name;
+        this.description = description;
+        this.complexity = complexity;
+        this.stable = stable;
+        this.inPlace = inPlace;
+        this.parallel = parallel;
+        this.sorter = sorter;
+        this.kernel = kernel;
+        this.aliases = Collections.unmodifiableList(Arrays.asList(aliases));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public boolean isStable() {
+        return stable;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return inPlace;
+    }
+
+    @Override
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    @Override
+    public Complexity getComplexity() {
+        return complexity;
+    }
+
+    @Override
+    public void sort(Shape[] arr, Comparator<Shape> comp) {
+        sorter.accept(arr, comp);
+    }
+
+    @Override
+    public boolean hasKeySort() {
+        return kernel != null;
+    }
+
+    @Override
+    public void sortKeys(double[] keys, int[] idx, int dir) {
+        if (kernel == null) {
+            SortAlgorithm.super.sortKeys(keys, idx, dir);
+            return;
+        }
+        kernel.sort(keys, idx, dir);
+    }
+}
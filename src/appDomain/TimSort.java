@@ -0,0 +1,45 @@
+package appDomain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * Adaptive, stable natural-run merge sort (TimSort), the implementation behind
+ * {@link Sorts#timSort(Object[], Comparator)} and the buckets of the parallel
+ * sample sort.
+ *
+ * The JDK already ships a TimSort as the object sort of {@link Arrays}, so
+ * this class runs that one rather than keeping a copy of it: runs that are
+ * already in order or strictly reversed are kept, short runs are extended
+ * with binary insertion sort, and merges gallop once one run keeps winning,
+ * which makes presorted and batch-sorted input close to linear.
+ *
+ * Like the other algorithms in {@link Sorts}, elements are ordered descending
+ * under the supplied comparator, so the JDK sort is given the reversed
+ * comparator. It is stable, so equal elements keep their order either way.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+final class TimSort {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private TimSort() {
+        throw new AssertionError("TimSort is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Sorts a[lo..hi) descending under the comparator.
+     *
+     * @param a the array containing the range
+     * @param lo the first index of the range, inclusive
+     * @param hi the last index of the range, exclusive
+     * @param comp the comparator to determine the order of elements
+     */
+    static <T> void sort(T[] a, int lo, int hi, Comparator<? super T> comp) {
+        Arrays.sort(a, lo, hi, Collections.reverseOrder(comp));
+    }
+}
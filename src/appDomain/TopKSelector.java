@@ -0,0 +1,256 @@
+package appDomain;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Selects the first K shapes of the sorted order without sorting everything.
+ *
+ * Shapes are offered one at a time to a bounded heap holding the K best seen
+ * so far, whose root is the one of them that would be sorted last. A new shape
+ * only enters the heap by displacing that root, so selection takes O(n log K)
+ * time and O(K) memory. As in the sorts of {@link Sorts}, a shape comes first
+ * when it is larger under the comparator; ties go to the shape seen first, so
+ * the result is exactly the first K shapes a stable sort would produce.
+ *
+ * Shape files are streamed through the heap, so the whole file is never held
+ * in memory. With a {@link MetricComparator} every shape is ranked by its
+ * metric computed from the file data, and only shapes that enter the heap are
+ * created.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class TopKSelector {
+
+    /**
+     * Room reserved up front for the heap of a file, whose size is not known;
+     * it grows up to K as needed.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private TopKSelector() {
+        throw new AssertionError("TopKSelector is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Selects the first K shapes of an array in sorted order.
+     *
+     * @param arr the shapes to select from (not modified)
+     * @param comp the comparator to determine the order of elements
+     * @param k the number of shapes to select, at least 1
+     * @return the selected shapes in sorted order; fewer than K if the array is shorter
+     * @throws IllegalArgumentException if the array or comparator is null, or K is less than 1
+     */
+    public static Shape[] select(Shape[] arr, Comparator<Shape> comp, int k) {
+        if (arr == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        Heap heap = new Heap(comp, k, arr.length);
+        for (Shape shape : arr) {
+            heap.offer(shape);
+        }
+        return heap.drain();
+    }
+
+    /**
+     * Selects the first K shapes of a text or binary shape file in sorted
+     * order, reading the file as a stream.
+     *
+     * @param filename the path to the shapes data file
+     * @param comp the comparator to determine the order of elements
+     * @param k the number of shapes to select, at least 1
+     * @return the selected shapes in sorted order; fewer than K if the file holds fewer
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the comparator is null, or K is less than 1
+     */
+    public static Shape[] select(String filename, Comparator<Shape> comp, int k) throws IOException {
+        Heap heap = new Heap(comp, k, INITIAL_CAPACITY);
+        try (ShapeReader reader = ShapeReader.open(filename)) {
+            while (reader.read(heap, Integer.MAX_VALUE) > 0) {
+                // The heap keeps what it needs as the shapes are read
+            }
+        }
+        return heap.drain();
+    }
+
+    /**
+     * A heap of at most K shapes whose root is the one sorted last. Each shape
+     * carries the position it was offered at to break ties, and its metric when
+     * the comparator orders by one.
+     */
+    private static final class Heap implements ShapeSink {
+
+        private final Comparator<Shape> comp;
+
+        /** The metric compared by, or null for other comparators. */
+        private final ShapeMetric metric;
+
+        /** 1 for ascending metric order, -1 for reversed. */
+        private final int dir;
+
+        private final int k;
+        private Shape[] shapes;
+        private double[] keys;
+        private long[] positions;
+        private int size;
+
+        /** Number of shapes offered so far. */
+        private long offered;
+
+        /**
+         * @param comp the comparator to determine the order of elements
+         * @param k the number of shapes to keep
+         * @param capacity the room to reserve, grown up to K as needed
+         */
+        Heap(Comparator<Shape> comp, int k, int capacity) {
+            if (comp == null) {
+                throw new IllegalArgumentException("Comparator cannot be null");
+            }
+            if (k < 1) {
+                throw new IllegalArgumentException("K must be at least 1: " + k);
+            }
+            this.comp = comp;
+            if (comp instanceof MetricComparator) {
+                MetricComparator metricComp = (MetricComparator) comp;
+                metric = metricComp.getMetric();
+                dir = metricComp.isReversed() ? -1 : 1;
+            } else {
+                metric = null;
+                dir = 1;
+            }
+            this.k = k;
+            capacity = Math.max(1, Math.min(k, capacity));
+            shapes = new Shape[capacity];
+            keys = metric != null ? new double[capacity] : null;
+            positions = new long[capacity];
+        }
+
+        /**
+         * Offers a shape described by its type and dimensions. Metric
+         * comparators rank it without creating it.
+         */
+        @Override
+        public void add(ShapeType type, double height, double parameter) {
+            if (metric == null) {
+                offer(type.create(height, parameter));
+                return;
+            }
+
+            double key = metric.of(type, height, parameter);
+            long position = offered++;
+            if (size < k) {
+                push(type.create(height, parameter), key, position);
+            } else if (dir * Double.compare(key, keys[0]) > 0) {
+                // Ties stay out: the shape in the heap was offered earlier
+                replaceRoot(type.create(height, parameter), key, position);
+            }
+        }
+
+        /**
+         * Offers a shape.
+         *
+         * @param shape the shape
+         */
+        void offer(Shape shape) {
+            double key = metric != null ? metric.of(shape) : 0;
+            long position = offered++;
+            if (size < k) {
+                push(shape, key, position);
+            } else if (metric != null ? dir * Double.compare(key, keys[0]) > 0 : comp.compare(shape, shapes[0]) > 0) {
+                replaceRoot(shape, key, position);
+            }
+        }
+
+        private void push(Shape shape, double key, long position) {
+            if (size == shapes.length) {
+                int capacity = (int) Math.min(k, shapes.length * 2L);
+                shapes = Arrays.copyOf(shapes, capacity);
+                if (keys != null) keys = Arrays.copyOf(keys, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+            }
+            int i = size++;
+            set(i, shape, key, position);
+            siftUp(i);
+        }
+
+        private void replaceRoot(Shape shape, double key, long position) {
+            set(0, shape, key, position);
+            siftDown(0, size);
+        }
+
+        private void set(int i, Shape shape, double key, long position) {
+            shapes[i] = shape;
+            if (keys != null) keys[i] = key;
+            positions[i] = position;
+        }
+
+        /**
+         * @return true if the shape at i is sorted after the one at j
+         */
+        private boolean after(int i, int j) {
+            int c = metric != null
+                ? dir * Double.compare(keys[i], keys[j])
+                : comp.compare(shapes[i], shapes[j]);
+            return c < 0 || (c == 0 && positions[i] > positions[j]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!after(i, parent)) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int n) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= n) break;
+                if (child + 1 < n && after(child + 1, child)) {
+                    child++;
+                }
+                if (!after(child, i)) break;
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Shape shape = shapes[i];
+            shapes[i] = shapes[j];
+            shapes[j] = shape;
+            if (keys != null) {
+                double key = keys[i];
+                keys[i] = keys[j];
+                keys[j] = key;
+            }
+            long position = positions[i];
+            positions[i] = positions[j];
+            positions[j] = position;
+        }
+
+        /**
+         * Empties the heap into an array in sorted order. The root is always
+         * the shape sorted last of those left, so it is moved to the end of
+         * the unsorted part, as in heap sort.
+         *
+         * @return the kept shapes, first in sorted order at index 0
+         */
+        Shape[] drain() {
+            int n = size;
+            for (int end = n - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            size = 0;
+
+            return Arrays.copyOf(shapes, n);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package benchmark;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import appDomain.Shape;
+import appDomain.ShapeComparator;
+import appDomain.ShapeMetric;
+import benchmark.ShapeGenerator.Distribution;
+
+/**
+ * Measures the cost of a single comparison for the shape comparators.
+ * Every comparator compares neighbouring shapes of a mixed-type array, so the
+ * getter calls see all seven Shape subclasses just as they do during a sort.
+ *
+ * The rows range from the generic library comparators, through a comparator
+ * that goes through the {@link ShapeMetric} constant bodies, to the final
+ * comparators of {@link ShapeComparator}; the last row compares precomputed
+ * keys as the key-based sorts do, which is the floor the dispatch overhead is
+ * measured against. All comparators are warmed up before any is measured, so
+ * each is timed at the same call site a shared sort kernel would see, after it
+ * has met every comparator type.
+ *
+ * Usage: java benchmark.ComparatorBenchmark [-n&lt;shapes&gt;] [-c&lt;comparisons&gt;] [-w&lt;warmup&gt;] [-i&lt;iterations&gt;]
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class ComparatorBenchmark {
+
+    private static final int DEFAULT_SHAPES = 1 << 16;
+    private static final int DEFAULT_COMPARISONS = 50_000_000;
+    private static final int DEFAULT_WARMUP = 3;
+    private static final int DEFAULT_ITERATIONS = 5;
+    private static final long SEED = 304L;
+
+    /**
+     * Sink for comparison results so the loops cannot be optimized away.
+     */
+    private static volatile int sink;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ComparatorBenchmark() {
+        throw new AssertionError("ComparatorBenchmark is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Entry point of the comparator benchmark.
+     *
+     * @param args benchmark options, see the class documentation
+     */
+    public static void main(String[] args) {
+        int shapes = DEFAULT_SHAPES;
+        int comparisons = DEFAULT_COMPARISONS;
+        int warmup = DEFAULT_WARMUP;
+        int iterations = DEFAULT_ITERATIONS;
+
+        for (String arg : args) {
+            if (arg.length() < 2) {
+                System.err.println("Warning: Invalid argument format: " + arg);
+                continue;
+            }
+
+            String flag = arg.substring(0, 2).toLowerCase();
+            String value = arg.substring(2);
+
+            switch (flag) {
+                case "-n":
+                    shapes = Integer.parseInt(value);
+                    break;
+                case "-c":
+                    comparisons = Integer.parseInt(value);
+                    break;
+                case "-w":
+                    warmup = Integer.parseInt(value);
+                    break;
+                case "-i":
+                    iterations = Integer.parseInt(value);
+                    break;
+                default:
+                    System.err.println("Warning: Unknown flag: " + flag);
+                    break;
+            }
+        }
+
+        // The comparison loop indexes with a mask, so round down to a power of two
+        shapes = Integer.highestOneBit(Math.max(2, shapes));
+
+        Map<String, Comparator<Shape>> comparators = new LinkedHashMap<>();
+        comparators.put("naturalOrder().reversed()", Comparator.<Shape>naturalOrder().reversed());
+        comparators.put("comparingDouble(getBaseArea).reversed()",
+            Comparator.comparingDouble(Shape::getBaseArea).reversed());
+        comparators.put("comparingDouble(getVolume).reversed()",
+            Comparator.comparingDouble(Shape::getVolume).reversed());
+        for (ShapeMetric metric : ShapeMetric.values()) {
+            comparators.put("ShapeMetric." + metric + ".of reversed",
+                (s1, s2) -> Double.compare(metric.of(s2), metric.of(s1)));
+        }
+        for (ShapeMetric metric : ShapeMetric.values()) {
+            comparators.put("ShapeComparator." + metric + "_DESCENDING",
+                ShapeComparator.of(metric, true));
+        }
+
+        Shape[] input = ShapeGenerator.generate(shapes, Distribution.RANDOM, ShapeComparator.VOLUME_ASCENDING, SEED);
+        double[] keys = new double[input.length];
+        for (int i = 0; i < input.length; i++) {
+            keys[i] = input[i].getVolume();
+        }
+
+        for (int i = 0; i < warmup; i++) {
+            for (Comparator<Shape> comp : comparators.values()) {
+                run(input, comp, comparisons);
+            }
+            runKeys(keys, comparisons);
+        }
+
+        System.out.printf("%-45s %12s%n", "Comparator", "ns/compare");
+        for (Map.Entry<String, Comparator<Shape>> entry : comparators.entrySet()) {
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < iterations; i++) {
+                best = Math.min(best, run(input, entry.getValue(), comparisons));
+            }
+            System.out.printf("%-45s %12.3f%n", entry.getKey(), (double) best / comparisons);
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < iterations; i++) {
+            best = Math.min(best, runKeys(keys, comparisons));
+        }
+        System.out.printf("%-45s %12.3f%n", "precomputed keys (Double.compare)", (double) best / comparisons);
+    }
+
+    /**
+     * Performs the given number of comparisons and returns the elapsed nanoseconds.
+     */
+    private static long run(Shape[] input, Comparator<Shape> comp, int comparisons) {
+        int mask = input.length - 1;
+        int acc = 0;
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < comparisons; i++) {
+            acc += comp.compare(input[i & mask], input[(i + 1) & mask]);
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        sink += acc;
+        return elapsed;
+    }
+
+    /**
+     * Performs the given number of descending comparisons of precomputed keys
+     * and returns the elapsed nanoseconds.
+     */
+    private static long runKeys(double[] keys, int comparisons) {
+        int mask = keys.length - 1;
+        int acc = 0;
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < comparisons; i++) {
+            acc += Double.compare(keys[(i + 1) & mask], keys[i & mask]);
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        sink += acc;
+        return elapsed;
+    }
+}
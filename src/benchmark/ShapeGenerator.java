@@ -0,0 +1,181 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import appDomain.Shape;
+import shapes.*;
+
+/**
+ * Generates synthetic Shape arrays for benchmarking the sorting algorithms.
+ * Every distribution is reproducible for a given seed so that repeated runs
+ * (and runs across releases) sort exactly the same input.
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class ShapeGenerator {
+
+    /**
+     * Upper bound for generated heights and parameters, matching the
+     * value range found in the sample files under res/.
+     */
+    private static final double MAX_DIMENSION = 40000.0;
+
+    /**
+     * Number of distinct height/parameter values used by the duplicates distribution.
+     */
+    private static final int DISTINCT_VALUES = 16;
+
+    /**
+     * Input distributions supported by the generator.
+     */
+    public enum Distribution {
+        /** Uniformly random shape types and dimensions. */
+        RANDOM,
+        /** Already in the order the sorts produce for the chosen comparator. */
+        SORTED,
+        /** The exact reverse of the sorted order. */
+        REVERSED,
+        /** Dimensions drawn from a handful of values, producing many ties. */
+        DUPLICATES,
+        /** Type mix and three-decimal precision of res/shapes2.txt. */
+        SHAPES2;
+
+        /**
+         * Parses a distribution name (case-insensitive).
+         *
+         * @param name the distribution name
+         * @return the matching distribution
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Distribution parse(String name) {
+            for (Distribution d : values()) {
+                if (d.name().equalsIgnoreCase(name)) {
+                    return d;
+                }
+            }
+            throw new IllegalArgumentException("Unknown distribution: " + name +
+                ". Supported distributions: " + Arrays.toString(values()));
+        }
+    }
+
+    /**
+     * Relative type frequencies observed in res/shapes2.txt, in the order
+     * Cone, Cylinder, OctagonalPrism, PentagonalPrism, Pyramid, SquarePrism, TriangularPrism.
+     */
+    private static final int[] SHAPES2_WEIGHTS = {143, 151, 152, 136, 120, 141, 164};
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ShapeGenerator() {
+        throw new AssertionError("ShapeGenerator is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Generates an array of shapes following the requested distribution.
+     *
+     * @param size the number of shapes to generate
+     * @param distribution the input distribution
+     * @param comp the comparator the array will be sorted with (used for sorted/reversed inputs)
+     * @param seed the random seed
+     * @return the generated array
+     */
+    public static Shape[] generate(int size, Distribution distribution, Comparator<Shape> comp, long seed) {
+        Random random = new Random(seed);
+        Shape[] shapes = new Shape[size];
+
+        for (int i = 0; i < size; i++) {
+            switch (distribution) {
+                case DUPLICATES:
+                    shapes[i] = createShape(random.nextInt(7),
+                        distinctValue(random), distinctValue(random));
+                    break;
+                case SHAPES2:
+                    shapes[i] = createShape(weightedType(random),
+                        roundedValue(random), roundedValue(random));
+                    break;
+                default:
+                    shapes[i] = createShape(random.nextInt(7),
+                        randomValue(random), randomValue(random));
+                    break;
+            }
+        }
+
+        if (distribution == Distribution.SORTED || distribution == Distribution.REVERSED) {
+            // The sorts in Sorts order elements descending under the comparator
+            Comparator<Shape> sortedOrder = comp.reversed();
+            Arrays.sort(shapes, distribution == Distribution.SORTED ? sortedOrder : comp);
+        }
+
+        return shapes;
+    }
+
+    /**
+     * Creates a shape of the given type index.
+     *
+     * @param type the type index (0-6)
+     * @param height the height dimension
+     * @param parameter the radius or side length
+     * @return the new shape
+     */
+    private static Shape createShape(int type, double height, double parameter) {
+        switch (type) {
+            case 0:
+                return new Cone(height, parameter);
+            case 1:
+                return new Cylinder(height, parameter);
+            case 2:
+                return new OctagonalPrism(height, parameter);
+            case 3:
+                return new PentagonalPrism(height, parameter);
+            case 4:
+                return new Pyramid(height, parameter);
+            case 5:
+                return new SquarePrism(height, parameter);
+            default:
+                return new TriangularPrism(height, parameter);
+        }
+    }
+
+    /**
+     * Returns a strictly positive uniformly distributed dimension.
+     */
+    private static double randomValue(Random random) {
+        return MAX_DIMENSION - random.nextDouble() * MAX_DIMENSION;
+    }
+
+    /**
+     * Returns a dimension rounded to three decimals, as written in the sample files.
+     */
+    private static double roundedValue(Random random) {
+        return Math.max(0.001, Math.round(randomValue(random) * 1000.0) / 1000.0);
+    }
+
+    /**
+     * Returns one of a small set of dimensions.
+     */
+    private static double distinctValue(Random random) {
+        return (random.nextInt(DISTINCT_VALUES) + 1) * (MAX_DIMENSION / DISTINCT_VALUES);
+    }
+
+    /**
+     * Picks a type index according to the shapes2 frequencies.
+     */
+    private static int weightedType(Random random) {
+        int total = 0;
+        for (int weight : SHAPES2_WEIGHTS) {
+            total += weight;
+        }
+
+        int pick = random.nextInt(total);
+        for (int type = 0; type < SHAPES2_WEIGHTS.length; type++) {
+            pick -= SHAPES2_WEIGHTS[type];
+            if (pick < 0) {
+                return type;
+            }
+        }
+        return SHAPES2_WEIGHTS.length - 1;
+    }
+}
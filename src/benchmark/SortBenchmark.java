@@ -0,0 +1,324 @@
+package benchmark;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import appDomain.Shape;
+import appDomain.ShapeComparator;
+import appDomain.SortAlgorithm;
+import appDomain.SortAlgorithms;
+import appDomain.SortStatistics;
+import appDomain.Sorts;
+import benchmark.ShapeGenerator.Distribution;
+
+/**
+ * Benchmark harness for the sorting algorithms registered in {@link SortAlgorithms}.
+ * Runs every selected algorithm over generated inputs for each combination of
+ * size, comparator and distribution, with warm-up and measurement iterations,
+ * and writes the results as JSON in the layout produced by JMH's JSON result
+ * format so that existing tooling can track regressions between releases.
+ *
+ * Usage: java benchmark.SortBenchmark [-n&lt;sizes&gt;] [-s&lt;algorithms&gt;] [-t&lt;comparators&gt;]
+ *        [-d&lt;distributions&gt;] [-w&lt;warmup&gt;] [-i&lt;iterations&gt;] [-q&lt;quadratic limit&gt;] [-p&lt;threads&gt;] [-o&lt;file&gt;]
+ * All list values are comma separated, e.g. -n1000,100000 -smerge,quick -th,v
+ *
+ * @Team Link
+ * @version 1.0
+ */
+public final class SortBenchmark {
+
+    private static final int[] DEFAULT_SIZES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+    private static final String[] DEFAULT_COMPARATORS = {"height", "area", "volume"};
+    private static final int DEFAULT_WARMUP = 3;
+    private static final int DEFAULT_ITERATIONS = 5;
+
+    /**
+     * Largest input size run for the O(n²) algorithms by default; beyond this a
+     * single iteration takes hours.
+     */
+    private static final int DEFAULT_QUADRATIC_LIMIT = 100_000;
+
+    private static final long SEED = 304L;
+
+    /**
+     * Sink for measured results; see {@link #consume(Shape[])}.
+     */
+    private static volatile int sink;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private SortBenchmark() {
+        throw new AssertionError("SortBenchmark is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Entry point of the benchmark harness.
+     *
+     * @param args benchmark options, see the class documentation
+     */
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        // Every registered algorithm, including those discovered on the classpath
+        String[] algorithms = SortAlgorithms.names().toArray(new String[0]);
+        String[] comparators = DEFAULT_COMPARATORS;
+        Distribution[] distributions = Distribution.values();
+        int warmup = DEFAULT_WARMUP;
+        int iterations = DEFAULT_ITERATIONS;
+        int quadraticLimit = DEFAULT_QUADRATIC_LIMIT;
+        String output = null;
+
+        try {
+            for (String arg : args) {
+                if (arg.length() < 2) {
+                    System.err.println("Warning: Invalid argument format: " + arg);
+                    continue;
+                }
+
+                String flag = arg.substring(0, 2).toLowerCase();
+                String value = arg.substring(2);
+
+                switch (flag) {
+                    case "-n":
+                        sizes = parseInts(value);
+                        break;
+                    case "-s":
+                        algorithms = value.split(",");
+                        for (int i = 0; i < algorithms.length; i++) {
+                            algorithms[i] = SortAlgorithms.get(algorithms[i]).getName();
+                        }
+                        break;
+                    case "-t":
+                        comparators = value.toLowerCase().split(",");
+                        break;
+                    case "-d":
+                        String[] names = value.split(",");
+                        distributions = new Distribution[names.length];
+                        for (int i = 0; i < names.length; i++) {
+                            distributions[i] = Distribution.parse(names[i]);
+                        }
+                        break;
+                    case "-w":
+                        warmup = Integer.parseInt(value);
+                        break;
+                    case "-i":
+                        iterations = Integer.parseInt(value);
+                        break;
+                    case "-q":
+                        quadraticLimit = Integer.parseInt(value);
+                        break;
+                    case "-o":
+                        output = value;
+                        break;
+                    case "-p":
+                        Sorts.setParallelism(Integer.parseInt(value));
+                        break;
+                    default:
+                        System.err.println("Warning: Unknown flag: " + flag);
+                        break;
+                }
+            }
+
+            if (warmup < 0 || iterations < 1) {
+                throw new IllegalArgumentException("Warm-up must be >= 0 and iterations >= 1");
+            }
+
+            List<String> results = new ArrayList<>();
+            for (String compareType : comparators) {
+                Comparator<Shape> comp = getComparator(compareType);
+                for (Distribution distribution : distributions) {
+                    for (int size : sizes) {
+                        Shape[] input = ShapeGenerator.generate(size, distribution, comp, SEED);
+                        for (String algorithm : algorithms) {
+                            if (isQuadratic(algorithm) && size > quadraticLimit) {
+                                System.err.printf("Skipping %s sort at %d elements (limit %d)%n",
+                                    algorithm, size, quadraticLimit);
+                                continue;
+                            }
+                            results.add(run(algorithm, input, comp, compareType, distribution, warmup, iterations));
+                        }
+                    }
+                }
+            }
+
+            writeJson(results, output);
+
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs one benchmark configuration and returns its JSON result entry.
+     *
+     * @param algorithm the sort algorithm name
+     * @param input the unsorted input; never modified
+     * @param comp the comparator
+     * @param compareType the comparator name for reporting
+     * @param distribution the input distribution for reporting
+     * @param warmup the number of warm-up iterations
+     * @param iterations the number of measured iterations
+     * @return the JSON object describing the result
+     */
+    private static String run(String algorithm, Shape[] input, Comparator<Shape> comp, String compareType,
+            Distribution distribution, int warmup, int iterations) {
+        System.err.printf("Benchmarking %s sort: size=%d comparator=%s distribution=%s%n",
+            algorithm, input.length, compareType, distribution.name().toLowerCase());
+
+        Shape[] work = input.clone();
+        SortStatistics statistics = Sorts.benchmarkSort(work, comp, algorithm, warmup, iterations);
+        consume(work);
+
+        return toJson(algorithm, input.length, compareType, distribution, statistics);
+    }
+
+    /**
+     * Consumes the result of a measured iteration so the sort cannot be
+     * optimized away, in the spirit of JMH's Blackhole.
+     */
+    private static void consume(Shape[] arr) {
+        if (arr.length > 0) {
+            sink ^= System.identityHashCode(arr[0]) ^ System.identityHashCode(arr[arr.length - 1]);
+        }
+    }
+
+    /**
+     * Returns true for the O(n²) algorithms.
+     */
+    private static boolean isQuadratic(String algorithm) {
+        return SortAlgorithms.get(algorithm).getComplexity() == SortAlgorithm.Complexity.QUADRATIC;
+    }
+
+    /**
+     * Builds the same descending comparators that AppDriver uses.
+     *
+     * @param compareType h/height, a/area or v/volume
+     * @return the comparator
+     * @throws IllegalArgumentException for invalid compare types
+     */
+    private static Comparator<Shape> getComparator(String compareType) {
+        switch (compareType) {
+            case "h":
+            case "height":
+                return ShapeComparator.HEIGHT_DESCENDING;
+            case "a":
+            case "area":
+                return ShapeComparator.BASE_AREA_DESCENDING;
+            case "v":
+            case "volume":
+                return ShapeComparator.VOLUME_DESCENDING;
+            default:
+                throw new IllegalArgumentException("Invalid compare type: " + compareType +
+                    ". Valid options are: h/height, a/area, v/volume");
+        }
+    }
+
+    /**
+     * Formats one result entry following JMH's JSON result layout.
+     */
+    private static String toJson(String algorithm, int size, String compareType, Distribution distribution,
+            SortStatistics statistics) {
+        long[] samples = statistics.getSamples();
+
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("size", String.valueOf(size));
+        params.put("comparator", compareType);
+        params.put("distribution", distribution.name().toLowerCase());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("    {\n");
+        sb.append("        \"benchmark\" : \"appDomain.Sorts.").append(algorithm).append("Sort\",\n");
+        sb.append("        \"mode\" : \"ss\",\n");
+        sb.append("        \"threads\" : 1,\n");
+        sb.append("        \"warmupIterations\" : ").append(statistics.getWarmupIterations()).append(",\n");
+        sb.append("        \"measurementIterations\" : ").append(statistics.getIterations()).append(",\n");
+        sb.append("        \"params\" : {\n");
+        int p = 0;
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            sb.append("            \"").append(entry.getKey()).append("\" : \"").append(entry.getValue()).append('"');
+            sb.append(++p < params.size() ? ",\n" : "\n");
+        }
+        sb.append("        },\n");
+        sb.append("        \"primaryMetric\" : {\n");
+        sb.append("            \"score\" : ").append(format(statistics.getMean())).append(",\n");
+        sb.append("            \"scoreError\" : ").append(format(statistics.getStandardDeviation())).append(",\n");
+        sb.append("            \"scoreUnit\" : \"ms/op\",\n");
+        sb.append("            \"scorePercentiles\" : {\n");
+        sb.append("                \"0.0\" : ").append(format(statistics.getMin())).append(",\n");
+        sb.append("                \"50.0\" : ").append(format(statistics.getMedian())).append(",\n");
+        sb.append("                \"90.0\" : ").append(format(statistics.getP90())).append(",\n");
+        sb.append("                \"99.0\" : ").append(format(statistics.getP99())).append(",\n");
+        sb.append("                \"100.0\" : ").append(format(statistics.getMax())).append("\n");
+        sb.append("            },\n");
+        sb.append("            \"rawData\" : [\n                [ ");
+        for (int i = 0; i < samples.length; i++) {
+            sb.append(i > 0 ? ", " : "").append(format(samples[i]));
+        }
+        sb.append(" ]\n            ]\n");
+        if (statistics.hasAllocationData()) {
+            // Allocation per operation, named as by JMH's GC profiler
+            sb.append("        },\n");
+            sb.append("        \"secondaryMetrics\" : {\n");
+            sb.append("            \"\u00b7gc.alloc.rate.norm\" : {\n");
+            sb.append("                \"score\" : ")
+                .append(String.format(Locale.ROOT, "%.1f", statistics.getMeanAllocatedBytes())).append(",\n");
+            sb.append("                \"scoreUnit\" : \"B/op\"\n");
+            sb.append("            }\n");
+        }
+        sb.append("        }\n");
+        sb.append("    }");
+        return sb.toString();
+    }
+
+    /**
+     * Formats a duration in nanoseconds as milliseconds for JSON output,
+     * independently of the default locale.
+     */
+    private static String format(double nanos) {
+        return String.format(Locale.ROOT, "%.6f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Writes the collected results as a JSON array to the file, or to standard output.
+     */
+    private static void writeJson(List<String> results, String output) throws IOException {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            sb.append(results.get(i)).append(i < results.size() - 1 ? ",\n" : "\n");
+        }
+        sb.append("]\n");
+
+        if (output == null) {
+            System.out.print(sb);
+            return;
+        }
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(output))) {
+            writer.print(sb);
+        }
+        System.err.println("Results written to " + output);
+    }
+
+    /**
+     * Parses a comma separated list of positive integers.
+     */
+    private static int[] parseInts(String value) {
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim().replace("_", ""));
+            if (result[i] <= 0) {
+                throw new IllegalArgumentException("Sizes must be positive: " + parts[i]);
+            }
+        }
+        return result;
+    }
+}
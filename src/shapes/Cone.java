@@ -10,10 +10,8 @@ public class Cone extends Shape {
     
     /**
      * The radius of the circular base of the cone.
-     * FieldMayBeFinal warning suppressed as radius is set in constructor and not modified.
      */
-    @SuppressWarnings("FieldMayBeFinal")
-    private double radius;
+    private final double radius;
     
     /**
      * Constructs a new Cone with the specified height and radius.
@@ -22,30 +20,40 @@ public class Cone extends Shape {
      * @param radius the radius of the circular base of the cone
      */
     public Cone(double height, double radius) {
-        super(height);
+        super(height, baseArea(radius), volume(height, radius));
         this.radius = radius;
     }
     
     /**
-     * Calculates and returns the base area of the cone.
+     * Returns the radius of the circular base of the cone.
+     *
+     * @return the radius of the circular base of the cone
+     */
+    public double getRadius() {
+        return radius;
+    }
+    
+    /**
+     * Calculates the base area of a cone.
      * The base area is the area of the circular base.
      * Formula: π × radius²
      *
+     * @param radius the radius of the circular base
      * @return the area of the circular base of the cone
      */
-    @Override
-    public double getBaseArea() {
+    public static double baseArea(double radius) {
         return Math.PI * Math.pow(radius, 2);
     }
     
     /**
-     * Calculates and returns the volume of the cone.
+     * Calculates the volume of a cone.
      * Formula: (1/3) × π × radius² × height
      *
+     * @param height the vertical height of the cone
+     * @param radius the radius of the circular base
      * @return the volume of the cone
      */
-    @Override
-    public double getVolume() {
+    public static double volume(double height, double radius) {
         return (1.0/3.0) * Math.PI * Math.pow(radius, 2) * height;
     }
 }
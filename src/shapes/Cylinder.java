@@ -10,7 +10,7 @@ public class Cylinder extends Shape{
     /**
      * The radius of the circular base of the cylinder.
      */
-    private double radius;
+    private final double radius;
     
     /**
      * Constructs a new Cylinder with the specified height and radius.
@@ -19,30 +19,40 @@ public class Cylinder extends Shape{
      * @param radius the radius of the circular base of the cylinder
      */
     public Cylinder(double height,double radius) {
-        super(height);
+        super(height, baseArea(radius), volume(height, radius));
         this.radius = radius;
     }
     
     /**
-     * Calculates and returns the base area of the cylinder.
+     * Returns the radius of the circular base of the cylinder.
+     *
+     * @return the radius of the circular base of the cylinder
+     */
+    public double getRadius() {
+        return radius;
+    }
+    
+    /**
+     * Calculates the base area of a cylinder.
      * The base area is the area of one circular base.
      * Formula: π × radius²
      *
+     * @param radius the radius of the circular base
      * @return the area of one circular base of the cylinder
      */
-    @Override
-    public double getBaseArea() {
+    public static double baseArea(double radius) {
         return Math.PI * Math.pow(radius, 2);
     }
     
     /**
-     * Calculates and returns the volume of the cylinder.
+     * Calculates the volume of a cylinder.
      * Formula: π × radius² × height
      *
+     * @param height the height of the cylinder
+     * @param radius the radius of the circular base
      * @return the volume of the cylinder
      */
-    @Override
-    public double getVolume() {
+    public static double volume(double height, double radius) {
         return Math.PI * Math.pow(radius, 2) * height;
     }
 
@@ -14,29 +14,30 @@ public class OctagonalPrism extends Prism {
      * @param side the length of one side of the regular octagon base
      */
     public OctagonalPrism(double height, double side) {
-        super(height, side);
+        super(height, side, baseArea(side));
     }
     
     /**
-     * Calculates and returns the base area of the octagonal prism.
+     * Calculates the base area of an octagonal prism.
      * Formula for area of a regular octagon: 2 × (1 + √2) × side²
      *
+     * @param side the length of one side of the base polygon
      * @return the area of one octagonal base of the prism
      */
-    @Override
-    public double getBaseArea() {
+    public static double baseArea(double side) {
         return 2 * (1 + Math.sqrt(2)) * Math.pow(side, 2);
     }
 
     /**
-     * Calculates and returns the volume of the octagonal prism.
+     * Calculates the volume of an octagonal prism.
      * Formula: base area × height
      *
+     * @param height the height of the prism
+     * @param side the length of one side of the base polygon
      * @return the volume of the octagonal prism
      */
-    @Override
-    public double getVolume() {
-        return getBaseArea() * height;
+    public static double volume(double height, double side) {
+        return baseArea(side) * height;
     }
 
 }
@@ -14,30 +14,31 @@ public class PentagonalPrism extends Prism {
      * @param side the length of one side of the regular pentagon base
      */
     public PentagonalPrism(double height, double side) {
-        super(height, side);
+        super(height, side, baseArea(side));
     }
     
     /**
-     * Calculates and returns the base area of the pentagonal prism.
+     * Calculates the base area of a pentagonal prism.
      * Formula for area of a regular pentagon: (5 × side² × tan(54°)) ÷ 4
      * Note: Math.tan requires radians, so degrees are converted using Math.toRadians
      *
+     * @param side the length of one side of the base polygon
      * @return the area of one pentagonal base of the prism
      */
-    @Override
-    public double getBaseArea() {
+    public static double baseArea(double side) {
         return (5 * Math.pow(side, 2) * Math.tan(Math.toRadians(54))) / 4;
     }
 
     /**
-     * Calculates and returns the volume of the pentagonal prism.
+     * Calculates the volume of a pentagonal prism.
      * Formula: base area × height
      *
+     * @param height the height of the prism
+     * @param side the length of one side of the base polygon
      * @return the volume of the pentagonal prism
      */
-    @Override
-    public double getVolume() {
-        return getBaseArea() * height;
+    public static double volume(double height, double side) {
+        return baseArea(side) * height;
     }
 
 }
@@ -14,16 +14,28 @@ public abstract class Prism extends Shape {
      * For regular polygonal prisms, this represents the length of one side
      * of the regular polygon that forms the base.
      */
-    protected double side;
+    protected final double side;
     
     /**
-     * Constructs a new Prism with the specified height and side length.
+     * Constructs a new Prism with the specified height, side length and base area.
+     * The volume of every prism is its base area times its height, so it is
+     * derived here once from the base area the subclass computed.
      *
      * @param height the height of the prism (distance between the two parallel bases)
      * @param side the length of one side of the base polygon
+     * @param baseArea the area of one base polygon
      */
-    public Prism(double height, double side) {
-        super(height);
+    public Prism(double height, double side, double baseArea) {
+        super(height, baseArea, baseArea * height);
         this.side = side;
     }
+
+    /**
+     * Returns the length of one side of the base polygon.
+     *
+     * @return the side length of the base polygon
+     */
+    public double getSide() {
+        return side;
+    }
 }
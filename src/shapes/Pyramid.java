@@ -12,7 +12,7 @@ public class Pyramid extends Shape {
     /**
      * The length of one side of the square base of the pyramid.
      */
-    private double side;
+    private final double side;
     
     /**
      * Constructs a new Pyramid with the specified height and base side length.
@@ -21,30 +21,40 @@ public class Pyramid extends Shape {
      * @param side the length of one side of the square base
      */
     public Pyramid(double height, double side) {
-        super(height);
+        super(height, baseArea(side), volume(height, side));
         this.side = side;
     }
     
     /**
-     * Calculates and returns the base area of the pyramid.
+     * Returns the length of one side of the square base.
+     *
+     * @return the length of one side of the square base
+     */
+    public double getSide() {
+        return side;
+    }
+    
+    /**
+     * Calculates the base area of a pyramid.
      * The base area is the area of the square base.
      * Formula: side²
      *
+     * @param side the length of one side of the square base
      * @return the area of the square base of the pyramid
      */
-    @Override
-    public double getBaseArea() {
+    public static double baseArea(double side) {
         return Math.pow(side, 2);
     }
 
     /**
-     * Calculates and returns the volume of the pyramid.
+     * Calculates the volume of a pyramid.
      * Formula: (1/3) × base area × height
      *
+     * @param height the vertical height of the pyramid
+     * @param side the length of one side of the square base
      * @return the volume of the pyramid
      */
-    @Override
-    public double getVolume() {
+    public static double volume(double height, double side) {
         return (1.0 / 3.0) * Math.pow(side, 2) * height;
     }
 }
@@ -15,28 +15,29 @@ public class SquarePrism extends Prism {
      * @param side the length of one side of the square base
      */
     public SquarePrism(double height, double side) {
-        super(height, side);
+        super(height, side, baseArea(side));
     }
     
     /**
-     * Calculates and returns the base area of the square prism.
+     * Calculates the base area of a square prism.
      * Formula for area of a square: side²
      *
+     * @param side the length of one side of the base polygon
      * @return the area of one square base of the prism
      */
-    @Override
-    public double getBaseArea() {
+    public static double baseArea(double side) {
         return Math.pow(side, 2);
     }
 
     /**
-     * Calculates and returns the volume of the square prism.
+     * Calculates the volume of a square prism.
      * Formula: base area × height
      *
+     * @param height the height of the prism
+     * @param side the length of one side of the base polygon
      * @return the volume of the square prism
      */
-    @Override
-    public double getVolume() {
-        return getBaseArea() * height;
+    public static double volume(double height, double side) {
+        return baseArea(side) * height;
     }
 }
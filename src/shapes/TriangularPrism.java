@@ -15,28 +15,29 @@ public class TriangularPrism extends Prism {
      * @param side the length of one side of the equilateral triangle base
      */
     public TriangularPrism(double height, double side) {
-        super(height, side);
+        super(height, side, baseArea(side));
     }
     
     /**
-     * Calculates and returns the base area of the triangular prism.
+     * Calculates the base area of a triangular prism.
      * Formula for area of an equilateral triangle: (√3 / 4) × side²
      *
+     * @param side the length of one side of the base polygon
      * @return the area of one triangular base of the prism
      */
-    @Override
-    public double getBaseArea() {
+    public static double baseArea(double side) {
         return (Math.sqrt(3) / 4) * Math.pow(side, 2);
     }
 
     /**
-     * Calculates and returns the volume of the triangular prism.
+     * Calculates the volume of a triangular prism.
      * Formula: base area × height
      *
+     * @param height the height of the prism
+     * @param side the length of one side of the base polygon
      * @return the volume of the triangular prism
      */
-    @Override
-    public double getVolume() {
-        return getBaseArea() * height;
+    public static double volume(double height, double side) {
+        return baseArea(side) * height;
     }
 }